@@ -0,0 +1,124 @@
+package com.github.mdaliazam.graphql.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+
+/**
+ * The association helpers and the sets of books of a publisher and an author
+ * holding the given number of persisted books, and the set of authors of a
+ * publisher, in memory, without the application, e.g.
+ * {@code -p books=1000,500000 -p authors=100,50000}. Adding and removing an
+ * entity should not take longer with the size of the set; looking up a random
+ * one does, by the cache misses of the larger set, though far from linearly.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AssociationBenchmark {
+
+	@Param({ "1000", "500000" })
+	public int books;
+
+	private Publisher publisher;
+
+	private Author author;
+
+	@Setup
+	public void setUp() {
+		publisher = new Publisher("publisher");
+		publisher.setId(1L);
+		author = new Author("author");
+		author.setId(1L);
+		for (long id = 1; id <= books; id++) {
+			Book book = book(id);
+			publisher.addBooks(book);
+			author.addBooks(book);
+		}
+	}
+
+	@Benchmark
+	public boolean contains() {
+		// an equal copy, as loaded by another session
+		return publisher.getBooks().contains(book(ThreadLocalRandom.current().nextLong(books) + 1));
+	}
+
+	@Benchmark
+	public Publisher addRemovePersisted() {
+		Book book = book(books + 1L);
+		publisher.addBooks(book);
+		return publisher.removeBooks(book);
+	}
+
+	@Benchmark
+	public Author addRemoveTransient() {
+		// hashed before being persisted, like the book of a new cascade
+		Book book = new Book("title", isbn(books + 2L));
+		author.addBooks(book);
+		return author.removeBooks(book);
+	}
+
+	@Benchmark
+	public boolean containsAuthor(Authors authors) {
+		return authors.publisher.getAuthors().contains(author(ThreadLocalRandom.current().nextLong(authors.authors) + 1));
+	}
+
+	@Benchmark
+	public Publisher addRemoveAuthor(Authors authors) {
+		Author author = author(authors.authors + 1L);
+		authors.publisher.addAuthors(author);
+		return authors.publisher.removeAuthors(author);
+	}
+
+	/**
+	 * A publisher holding the given number of persisted authors
+	 */
+	@State(Scope.Benchmark)
+	public static class Authors {
+
+		@Param({ "100", "50000" })
+		public int authors;
+
+		private Publisher publisher;
+
+		@Setup
+		public void setUp() {
+			publisher = new Publisher("publisher");
+			publisher.setId(1L);
+			for (long id = 1; id <= authors; id++) {
+				publisher.addAuthors(author(id));
+			}
+		}
+	}
+
+	private static Author author(long id) {
+		Author author = new Author("author " + id);
+		author.setId(id);
+		return author;
+	}
+
+	private static Book book(long id) {
+		Book book = new Book("title " + id, isbn(id));
+		book.setId(id);
+		return book;
+	}
+
+	private static String isbn(long id) {
+		return Long.toString(9_780_000_000_000L + id);
+	}
+}
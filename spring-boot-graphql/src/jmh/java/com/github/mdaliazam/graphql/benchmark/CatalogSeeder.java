@@ -0,0 +1,70 @@
+package com.github.mdaliazam.graphql.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.github.mdaliazam.graphql.domain.Isbn;
+import com.github.mdaliazam.graphql.repository.SequenceMigration;
+
+/**
+ * Fills an empty database with a regular catalog: every publisher has the same
+ * number of authors and every author the same number of books. Ids are
+ * assigned from 1, so that benchmarks can pick existing ids at random, and the
+ * sequences restarted after them, so that the entities saved by the benchmarks
+ * get new ids. The books have their normalized ISBN, as if saved through the
+ * services.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class CatalogSeeder {
+
+	private static final int BATCH_SIZE = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final SequenceMigration sequenceMigration;
+
+	public CatalogSeeder(JdbcTemplate jdbcTemplate, SequenceMigration sequenceMigration) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.sequenceMigration = sequenceMigration;
+	}
+
+	/**
+	 * Inserts the publishers, authors and books, then moves the sequences past
+	 * their ids
+	 *
+	 * @param publishers Number of publishers
+	 * @param authorsPerPublisher Number of authors of every publisher
+	 * @param booksPerAuthor Number of books of every author
+	 */
+	public void seed(int publishers, int authorsPerPublisher, int booksPerAuthor) {
+		long authors = (long) publishers * authorsPerPublisher;
+		insert("insert into publisher (id, name) values (?, ?)", publishers,
+				publisher -> new Object[] { publisher, "Publisher " + publisher });
+		insert("insert into author (id, name, publisher_id) values (?, ?, ?)", authors,
+				author -> new Object[] { author, "Author " + author, (author - 1) / authorsPerPublisher + 1 });
+		insert("insert into book (id, title, i_sbn, isbn13, author_id, publisher_id) values (?, ?, ?, ?, ?, ?)",
+				authors * booksPerAuthor, book -> {
+					long author = (book - 1) / booksPerAuthor + 1;
+					String isbn = String.format("978%010d", book);
+					return new Object[] { book, "Book " + book, isbn, Isbn.normalize(isbn), author,
+							(author - 1) / authorsPerPublisher + 1 };
+				});
+		sequenceMigration.migrate();
+	}
+
+	private void insert(String sql, long count, LongFunction<Object[]> row) {
+		List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+		for (long id = 1; id <= count; id++) {
+			batch.add(row.apply(id));
+			if (batch.size() == BATCH_SIZE || id == count) {
+				jdbcTemplate.batchUpdate(sql, batch);
+				batch.clear();
+			}
+		}
+	}
+}
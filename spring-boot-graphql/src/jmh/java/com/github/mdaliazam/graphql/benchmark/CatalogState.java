@@ -0,0 +1,76 @@
+package com.github.mdaliazam.graphql.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.github.mdaliazam.graphql.RestGraphqlApplication;
+import com.github.mdaliazam.graphql.repository.SequenceMigration;
+import com.github.mdaliazam.graphql.service.search.CatalogIndex;
+
+/**
+ * Runs the application against an in-memory H2 database seeded with a catalog
+ * of the size given by the benchmark parameters, e.g.
+ * {@code -p publishers=1000 -p booksPerAuthor=50}. The search indexes are
+ * built once the catalog is seeded.
+ *
+ * @see CatalogSeeder
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+	@Param("100")
+	public int publishers;
+
+	@Param("10")
+	public int authorsPerPublisher;
+
+	@Param("20")
+	public int booksPerAuthor;
+
+	private ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = new SpringApplicationBuilder(RestGraphqlApplication.class).profiles("jmh").run();
+		new CatalogSeeder(context.getBean(JdbcTemplate.class), context.getBean(SequenceMigration.class))
+				.seed(publishers, authorsPerPublisher, booksPerAuthor);
+		context.getBeansOfType(CatalogIndex.class).values().forEach(CatalogIndex::rebuild);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	public long randomPublisherId() {
+		return ThreadLocalRandom.current().nextLong(publishers) + 1;
+	}
+
+	public long randomAuthorId() {
+		return ThreadLocalRandom.current().nextLong((long) publishers * authorsPerPublisher) + 1;
+	}
+
+	public long randomBookId() {
+		return ThreadLocalRandom.current().nextLong((long) publishers * authorsPerPublisher * booksPerAuthor) + 1;
+	}
+
+	public long bookCount() {
+		return (long) publishers * authorsPerPublisher * booksPerAuthor;
+	}
+}
@@ -0,0 +1,63 @@
+package com.github.mdaliazam.graphql.benchmark;
+
+import java.util.Collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import graphql.ExecutionResult;
+import graphql.kickstart.execution.GraphQLInvoker;
+import graphql.kickstart.execution.GraphQLRequest;
+import graphql.kickstart.servlet.input.GraphQLInvocationInputFactory;
+
+/**
+ * Nested queries executed through the real schema, with the same
+ * instrumentation, data loaders and document cache as the GraphQL servlet
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@State(Scope.Benchmark)
+public class GraphQLBenchmark {
+
+	private static final String BOOK = "query ($id: Int) { bookById(id: $id) "
+			+ "{ title ISBN author { name } publisher { name } } }";
+
+	private static final String AUTHOR = "query ($id: Int) { authorById(id: $id) "
+			+ "{ name publisher { name } books { title } } }";
+
+	private static final String PUBLISHER = "query ($id: Int) { publisherById(id: $id) "
+			+ "{ name authors { name books { title } } } }";
+
+	private GraphQLInvoker invoker;
+
+	private GraphQLInvocationInputFactory invocationInputFactory;
+
+	@Setup
+	public void setUp(CatalogState catalog) {
+		invoker = catalog.getBean(GraphQLInvoker.class);
+		invocationInputFactory = catalog.getBean(GraphQLInvocationInputFactory.class);
+	}
+
+	@Benchmark
+	public ExecutionResult bookWithAuthorAndPublisher(CatalogState catalog) {
+		return execute(BOOK, catalog.randomBookId());
+	}
+
+	@Benchmark
+	public ExecutionResult authorWithBooks(CatalogState catalog) {
+		return execute(AUTHOR, catalog.randomAuthorId());
+	}
+
+	@Benchmark
+	public ExecutionResult publisherWithAuthorsAndBooks(CatalogState catalog) {
+		return execute(PUBLISHER, catalog.randomPublisherId());
+	}
+
+	private ExecutionResult execute(String query, long id) {
+		GraphQLRequest request = new GraphQLRequest(query, Collections.singletonMap("id", id), null);
+		return invoker.query(invocationInputFactory.create(request)).getResult();
+	}
+}
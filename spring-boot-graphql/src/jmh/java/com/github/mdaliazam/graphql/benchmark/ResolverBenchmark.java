@@ -0,0 +1,111 @@
+package com.github.mdaliazam.graphql.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.resolver.EntityQueryResolver;
+
+import graphql.execution.MergedSelectionSet;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.SelectedField;
+
+/**
+ * Root queries of {@link EntityQueryResolver} called directly, without the
+ * GraphQL engine, selecting only scalar fields. Random ids are requested, so
+ * the share served by the resolver result cache depends on the catalog size.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@State(Scope.Benchmark)
+public class ResolverBenchmark {
+
+	private EntityQueryResolver resolver;
+
+	private DataFetchingEnvironment environment;
+
+	@Setup
+	public void setUp(CatalogState catalog) {
+		resolver = catalog.getBean(EntityQueryResolver.class);
+		environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().selectionSet(new ScalarSelectionSet())
+				.build();
+	}
+
+	@Benchmark
+	public Publisher publisherById(CatalogState catalog) {
+		return resolver.getPublisherById(catalog.randomPublisherId(), environment).join();
+	}
+
+	@Benchmark
+	public Author authorById(CatalogState catalog) {
+		return resolver.getAuthorById(catalog.randomAuthorId(), environment).join();
+	}
+
+	@Benchmark
+	public Book bookById(CatalogState catalog) {
+		return resolver.getBookById(catalog.randomBookId(), environment).join();
+	}
+
+	/**
+	 * Selection set without any object field, which plans no association fetch
+	 */
+	private static class ScalarSelectionSet implements DataFetchingFieldSelectionSet {
+
+		@Override
+		public MergedSelectionSet get() {
+			return MergedSelectionSet.newMergedSelectionSet().build();
+		}
+
+		@Override
+		public Map<String, Map<String, Object>> getArguments() {
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public Map<String, GraphQLFieldDefinition> getDefinitions() {
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public boolean contains(String fieldGlobPattern) {
+			return false;
+		}
+
+		@Override
+		public boolean containsAnyOf(String fieldGlobPattern, String... fieldGlobPatterns) {
+			return false;
+		}
+
+		@Override
+		public boolean containsAllOf(String fieldGlobPattern, String... fieldGlobPatterns) {
+			return false;
+		}
+
+		@Override
+		public List<SelectedField> getFields() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<SelectedField> getFields(String fieldGlobPattern) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public SelectedField getField(String fqFieldName) {
+			return null;
+		}
+	}
+}
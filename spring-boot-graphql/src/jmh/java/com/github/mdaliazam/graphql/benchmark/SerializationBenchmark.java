@@ -0,0 +1,61 @@
+package com.github.mdaliazam.graphql.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.PublisherService;
+
+/**
+ * Jackson serialization of the entities as returned by the REST resources, with
+ * their managed collections loaded and the back-references left out
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+	private ObjectMapper objectMapper;
+
+	private Book book;
+
+	private Author author;
+
+	private Publisher publisher;
+
+	@Setup
+	public void setUp(CatalogState catalog) {
+		objectMapper = catalog.getBean(ObjectMapper.class);
+		book = catalog.getBean(BookService.class).findOne(1L).orElseThrow();
+		author = catalog.getBean(AuthorService.class).findOne(1L, Collections.singleton("books")).orElseThrow();
+		publisher = catalog.getBean(PublisherService.class)
+				.findOne(1L, Arrays.asList("books", "authors", "authors.books")).orElseThrow();
+	}
+
+	@Benchmark
+	public byte[] book() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(book);
+	}
+
+	@Benchmark
+	public byte[] author() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(author);
+	}
+
+	@Benchmark
+	public byte[] publisher() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(publisher);
+	}
+}
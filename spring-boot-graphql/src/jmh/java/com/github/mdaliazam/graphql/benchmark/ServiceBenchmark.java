@@ -0,0 +1,43 @@
+package com.github.mdaliazam.graphql.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.BookService;
+
+/**
+ * Random pages of {@link BookService#findAll(org.springframework.data.domain.Pageable)},
+ * as requested by {@code GET /api/books}
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+	@Param("20")
+	public int pageSize;
+
+	private BookService bookService;
+
+	private int pages;
+
+	@Setup
+	public void setUp(CatalogState catalog) {
+		bookService = catalog.getBean(BookService.class);
+		pages = (int) Math.max(1, catalog.bookCount() / pageSize);
+	}
+
+	@Benchmark
+	public Page<Book> findAllBooks() {
+		return bookService.findAll(PageRequest.of(ThreadLocalRandom.current().nextInt(pages), pageSize));
+	}
+}
@@ -0,0 +1,65 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.cache.CacheManager;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+
+/**
+ * In-process Ehcache (JCache) regions backing the Hibernate second-level and
+ * query caches. The regions are created up front with the size and expiry
+ * configured in {@link CacheProperties}, and are exposed through Spring's cache
+ * manager so that their statistics show up in the actuator metrics.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+	/**
+	 * Entity, collection and query cache regions used by Hibernate
+	 */
+	public static final List<String> REGIONS = Arrays.asList(Publisher.class.getName(),
+			Publisher.class.getName() + ".books", Publisher.class.getName() + ".authors", Author.class.getName(),
+			Author.class.getName() + ".books", Book.class.getName(), RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+			RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+	@Bean
+	public JCacheManagerCustomizer cacheManagerCustomizer(CacheProperties cacheProperties) {
+		return cacheManager -> REGIONS.forEach(name -> {
+			CacheProperties.Region region = cacheProperties.getRegion(name);
+			cacheManager.createCache(name,
+					Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+							.newCacheConfigurationBuilder(Object.class, Object.class,
+									ResourcePoolsBuilder.heap(region.getMaxEntries()))
+							.withExpiry(region.getTimeToLive().isZero() ? ExpiryPolicyBuilder.noExpiration()
+									: ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive()))));
+			cacheManager.enableStatistics(name, true);
+		});
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager cacheManager) {
+		return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+	}
+}
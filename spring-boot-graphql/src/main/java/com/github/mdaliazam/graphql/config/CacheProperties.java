@@ -0,0 +1,76 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size and expiry settings of the Hibernate second-level cache regions and of
+ * the GraphQL resolver result cache, bound from the {@code application.cache}
+ * properties. Regions without their own entry fall back to the defaults.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@ConfigurationProperties(prefix = "application.cache")
+public class CacheProperties {
+
+	private final Region defaults = new Region();
+
+	private final Map<String, Region> regions = new HashMap<>();
+
+	private final Region resolver = new Region();
+
+	public Region getDefaults() {
+		return defaults;
+	}
+
+	public Map<String, Region> getRegions() {
+		return regions;
+	}
+
+	public Region getResolver() {
+		return resolver;
+	}
+
+	/**
+	 * Returns the settings of the given region
+	 *
+	 * @param name Name of the cache region
+	 * @return The settings of the region, or the defaults
+	 */
+	public Region getRegion(String name) {
+		return regions.getOrDefault(name, defaults);
+	}
+
+	/**
+	 * Settings of one cache region
+	 */
+	public static class Region {
+
+		private long maxEntries = 10000;
+
+		/**
+		 * Time to live of the entries, zero for entries that never expire
+		 */
+		private Duration timeToLive = Duration.ofHours(1);
+
+		public long getMaxEntries() {
+			return maxEntries;
+		}
+
+		public void setMaxEntries(long maxEntries) {
+			this.maxEntries = maxEntries;
+		}
+
+		public Duration getTimeToLive() {
+			return timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.github.mdaliazam.graphql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size and shape of the synthetic catalog written by the {@code generate}
+ * profile, bound from the {@code application.generator} properties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@ConfigurationProperties(prefix = "application.generator")
+public class GeneratorProperties {
+
+	/**
+	 * Seed of the titles and names, the same seed and sizes give the same catalog
+	 */
+	private long seed = 42;
+
+	private int publishers = 1000;
+
+	private long authors = 100000;
+
+	private long books = 1000000;
+
+	/**
+	 * Zipf exponent of the number of books per publisher, zero for uniform sizes
+	 */
+	private double publisherSkew = 1.1;
+
+	/**
+	 * Zipf exponent of the number of books per author within a publisher
+	 */
+	private double authorSkew = 0.8;
+
+	/**
+	 * Number of rows per JDBC batch
+	 */
+	private int batchSize = 5000;
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public int getPublishers() {
+		return publishers;
+	}
+
+	public void setPublishers(int publishers) {
+		this.publishers = publishers;
+	}
+
+	public long getAuthors() {
+		return authors;
+	}
+
+	public void setAuthors(long authors) {
+		this.authors = authors;
+	}
+
+	public long getBooks() {
+		return books;
+	}
+
+	public void setBooks(long books) {
+		this.books = books;
+	}
+
+	public double getPublisherSkew() {
+		return publisherSkew;
+	}
+
+	public void setPublisherSkew(double publisherSkew) {
+		this.publisherSkew = publisherSkew;
+	}
+
+	public double getAuthorSkew() {
+		return authorSkew;
+	}
+
+	public void setAuthorSkew(double authorSkew) {
+		this.authorSkew = authorSkew;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+}
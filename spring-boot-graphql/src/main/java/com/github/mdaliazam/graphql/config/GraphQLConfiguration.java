@@ -0,0 +1,73 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mdaliazam.graphql.execution.PersistedQueryStore;
+import com.github.mdaliazam.graphql.execution.SqlStatistics;
+import com.github.mdaliazam.graphql.execution.TimingInstrumentation;
+import com.github.mdaliazam.graphql.web.graphql.PersistedQueryFilter;
+
+import graphql.kickstart.spring.web.boot.GraphQLServletProperties;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Configuration of the GraphQL request processing
+ *
+ * @see GraphQLProperties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Configuration
+@EnableConfigurationProperties(GraphQLProperties.class)
+public class GraphQLConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "application.graphql.persisted-queries", name = "enabled", matchIfMissing = true)
+	public FilterRegistrationBean<PersistedQueryFilter> persistedQueryFilter(PersistedQueryStore persistedQueryStore,
+			ObjectMapper objectMapper, GraphQLProperties graphQLProperties,
+			GraphQLServletProperties graphQLServletProperties) {
+		FilterRegistrationBean<PersistedQueryFilter> registration = new FilterRegistrationBean<>(
+				new PersistedQueryFilter(persistedQueryStore, objectMapper, graphQLProperties));
+		registration.addUrlPatterns(graphQLServletProperties.getServletMapping());
+		return registration;
+	}
+
+	/**
+	 * Stops recording new operation names once there are max-operations of them,
+	 * as they are chosen by the clients
+	 */
+	@Bean
+	public MeterFilter graphQLOperationsMeterFilter(GraphQLProperties graphQLProperties) {
+		return MeterFilter.maximumAllowableTags(TimingInstrumentation.REQUEST_METRIC, "operation",
+				graphQLProperties.getTiming().getMaxOperations(), MeterFilter.deny());
+	}
+
+	/**
+	 * Hooks the {@link SqlStatistics} of the operations into Hibernate
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "application.graphql.sql", name = "enabled", matchIfMissing = true)
+	public HibernatePropertiesCustomizer sqlStatisticsCustomizer() {
+		SqlStatistics.Inspector inspector = new SqlStatistics.Inspector();
+		IntegratorProvider integratorProvider = () -> List.of(inspector);
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+			hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+					SqlStatistics.SessionListener.class.getName());
+			hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, integratorProvider);
+		};
+	}
+}
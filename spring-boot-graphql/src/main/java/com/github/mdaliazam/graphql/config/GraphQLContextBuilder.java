@@ -0,0 +1,50 @@
+package com.github.mdaliazam.graphql.config;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.websocket.Session;
+import javax.websocket.server.HandshakeRequest;
+
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.resolver.dataloader.DataLoaderRegistryFactory;
+
+import graphql.kickstart.execution.context.DefaultGraphQLContext;
+import graphql.kickstart.execution.context.GraphQLContext;
+import graphql.kickstart.servlet.context.DefaultGraphQLServletContext;
+import graphql.kickstart.servlet.context.DefaultGraphQLWebSocketContext;
+import graphql.kickstart.servlet.context.GraphQLServletContextBuilder;
+
+/**
+ * Builds the GraphQL context of every request with its own DataLoaderRegistry,
+ * as required by the {@code PER_REQUEST_WITH_INSTRUMENTATION} context setting
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class GraphQLContextBuilder implements GraphQLServletContextBuilder {
+
+	private final DataLoaderRegistryFactory dataLoaderRegistryFactory;
+
+	public GraphQLContextBuilder(DataLoaderRegistryFactory dataLoaderRegistryFactory) {
+		this.dataLoaderRegistryFactory = dataLoaderRegistryFactory;
+	}
+
+	@Override
+	public GraphQLContext build(HttpServletRequest request, HttpServletResponse response) {
+		return DefaultGraphQLServletContext.createServletContext(dataLoaderRegistryFactory.create(), null)
+				.with(request).with(response).build();
+	}
+
+	@Override
+	public GraphQLContext build(Session session, HandshakeRequest handshakeRequest) {
+		return DefaultGraphQLWebSocketContext.createWebSocketContext(dataLoaderRegistryFactory.create(), null)
+				.with(session).with(handshakeRequest).build();
+	}
+
+	@Override
+	public GraphQLContext build() {
+		return new DefaultGraphQLContext(dataLoaderRegistryFactory.create(), null);
+	}
+}
@@ -0,0 +1,490 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the GraphQL request processing, bound from the
+ * {@code application.graphql} properties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@ConfigurationProperties(prefix = "application.graphql")
+public class GraphQLProperties {
+
+	private final PersistedQueries persistedQueries = new PersistedQueries();
+
+	private final DocumentCache documentCache = new DocumentCache();
+
+	private final Cost cost = new Cost();
+
+	private final Pagination pagination = new Pagination();
+
+	private final Executor executor = new Executor();
+
+	private final Subscriptions subscriptions = new Subscriptions();
+
+	private final Timing timing = new Timing();
+
+	private final Sql sql = new Sql();
+
+	public PersistedQueries getPersistedQueries() {
+		return persistedQueries;
+	}
+
+	public DocumentCache getDocumentCache() {
+		return documentCache;
+	}
+
+	public Cost getCost() {
+		return cost;
+	}
+
+	public Pagination getPagination() {
+		return pagination;
+	}
+
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	public Subscriptions getSubscriptions() {
+		return subscriptions;
+	}
+
+	public Timing getTiming() {
+		return timing;
+	}
+
+	public Sql getSql() {
+		return sql;
+	}
+
+	/**
+	 * Persisted and automatic persisted queries
+	 */
+	public static class PersistedQueries {
+
+		private boolean enabled = true;
+
+		/**
+		 * Whether clients may send (and register) queries that are not among the
+		 * registered documents. Turn off to only allow whitelisted operations.
+		 */
+		private boolean allowUnregistered = true;
+
+		/**
+		 * Location pattern of the registered query documents
+		 */
+		private String location = "classpath*:graphql/persisted/*.graphql";
+
+		/**
+		 * Maximum number of queries registered by clients at runtime
+		 */
+		private long maxEntries = 10000;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isAllowUnregistered() {
+			return allowUnregistered;
+		}
+
+		public void setAllowUnregistered(boolean allowUnregistered) {
+			this.allowUnregistered = allowUnregistered;
+		}
+
+		public String getLocation() {
+			return location;
+		}
+
+		public void setLocation(String location) {
+			this.location = location;
+		}
+
+		public long getMaxEntries() {
+			return maxEntries;
+		}
+
+		public void setMaxEntries(long maxEntries) {
+			this.maxEntries = maxEntries;
+		}
+	}
+
+	/**
+	 * Cache of parsed and validated query documents
+	 */
+	public static class DocumentCache {
+
+		private long maxEntries = 1000;
+
+		public long getMaxEntries() {
+			return maxEntries;
+		}
+
+		public void setMaxEntries(long maxEntries) {
+			this.maxEntries = maxEntries;
+		}
+	}
+
+	/**
+	 * Static cost model evaluated before a query is executed. Fields are keyed by
+	 * {@code Type.field}, e.g. {@code Publisher.authors}.
+	 */
+	public static class Cost {
+
+		private boolean enabled = true;
+
+		/**
+		 * Maximum cost of a query, zero for no limit
+		 */
+		private long maxCost = 2000;
+
+		/**
+		 * Maximum nesting of fields, zero for no limit
+		 */
+		private int maxDepth = 6;
+
+		/**
+		 * Assumed number of elements of list fields without a "first" or "limit" argument
+		 */
+		private int defaultListSize = 10;
+
+		/**
+		 * Cost of fields returning objects, scalar fields are free by default
+		 */
+		private int defaultFieldCost = 1;
+
+		private final Map<String, Integer> fieldCosts = new HashMap<>();
+
+		private final Map<String, Integer> listSizes = new HashMap<>();
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public long getMaxCost() {
+			return maxCost;
+		}
+
+		public void setMaxCost(long maxCost) {
+			this.maxCost = maxCost;
+		}
+
+		public int getMaxDepth() {
+			return maxDepth;
+		}
+
+		public void setMaxDepth(int maxDepth) {
+			this.maxDepth = maxDepth;
+		}
+
+		public int getDefaultListSize() {
+			return defaultListSize;
+		}
+
+		public void setDefaultListSize(int defaultListSize) {
+			this.defaultListSize = defaultListSize;
+		}
+
+		public int getDefaultFieldCost() {
+			return defaultFieldCost;
+		}
+
+		public void setDefaultFieldCost(int defaultFieldCost) {
+			this.defaultFieldCost = defaultFieldCost;
+		}
+
+		public Map<String, Integer> getFieldCosts() {
+			return fieldCosts;
+		}
+
+		public Map<String, Integer> getListSizes() {
+			return listSizes;
+		}
+	}
+
+	/**
+	 * Sizes of the pages of the connections and of the paged list fields
+	 */
+	public static class Pagination {
+
+		/**
+		 * Number of elements of a page whose size is not given
+		 */
+		private int defaultPageSize = 20;
+
+		/**
+		 * Maximum number of elements of a page, larger sizes are rejected before
+		 * anything is read
+		 */
+		private int maxPageSize = 500;
+
+		public int getDefaultPageSize() {
+			return defaultPageSize;
+		}
+
+		public void setDefaultPageSize(int defaultPageSize) {
+			this.defaultPageSize = defaultPageSize;
+		}
+
+		public int getMaxPageSize() {
+			return maxPageSize;
+		}
+
+		public void setMaxPageSize(int maxPageSize) {
+			this.maxPageSize = maxPageSize;
+		}
+	}
+
+	/**
+	 * Thread pool resolving the root fields, the connections and the data loader
+	 * batches, so that independent fields are fetched in parallel. When the pool
+	 * and its queue are full, fields are resolved on the calling thread.
+	 */
+	public static class Executor {
+
+		/**
+		 * Whether to resolve asynchronously, or on the request thread
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Threads kept alive, best close to the size of the connection pool since
+		 * most of the resolvers wait for a connection
+		 */
+		private int coreSize = 10;
+
+		/**
+		 * Threads started once the queue is full
+		 */
+		private int maxSize = 20;
+
+		private int queueCapacity = 500;
+
+		private Duration keepAlive = Duration.ofSeconds(60);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getCoreSize() {
+			return coreSize;
+		}
+
+		public void setCoreSize(int coreSize) {
+			this.coreSize = coreSize;
+		}
+
+		public int getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public int getQueueCapacity() {
+			return queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public Duration getKeepAlive() {
+			return keepAlive;
+		}
+
+		public void setKeepAlive(Duration keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+	}
+
+	/**
+	 * Delivery of the subscription events. Every subscriber has its own bounded
+	 * buffer of the events it has not requested yet.
+	 */
+	public static class Subscriptions {
+
+		/**
+		 * What to do with an event for a subscriber whose buffer is full
+		 */
+		public enum Overflow {
+			/**
+			 * Discard the new event
+			 */
+			DROP,
+			/**
+			 * Discard the oldest buffered event, so that the subscriber catches up
+			 * with the latest events
+			 */
+			LATEST
+		}
+
+		private int bufferSize = 256;
+
+		private Overflow overflow = Overflow.LATEST;
+
+		/**
+		 * Threads sending the events to the subscribers
+		 */
+		private int deliveryThreads = 2;
+
+		public int getBufferSize() {
+			return bufferSize;
+		}
+
+		public void setBufferSize(int bufferSize) {
+			this.bufferSize = bufferSize;
+		}
+
+		public Overflow getOverflow() {
+			return overflow;
+		}
+
+		public void setOverflow(Overflow overflow) {
+			this.overflow = overflow;
+		}
+
+		public int getDeliveryThreads() {
+			return deliveryThreads;
+		}
+
+		public void setDeliveryThreads(int deliveryThreads) {
+			this.deliveryThreads = deliveryThreads;
+		}
+	}
+
+	/**
+	 * Timing of the operations, of their phases and of the resolved fields
+	 */
+	public static class Timing {
+
+		private boolean enabled = true;
+
+		/**
+		 * Whether to also time the fields of scalar and enum types, which are mostly
+		 * plain getters
+		 */
+		private boolean leafFields = false;
+
+		/**
+		 * Whether to publish percentile histograms of the timers
+		 */
+		private boolean percentileHistogram = true;
+
+		/**
+		 * Maximum number of operation names tagging the operation timers, the
+		 * operations named afterwards are not timed
+		 */
+		private int maxOperations = 100;
+
+		/**
+		 * Request header asking for the timings in the {@code timing} response
+		 * extension
+		 */
+		private String debugHeader = "X-GraphQL-Timing";
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isLeafFields() {
+			return leafFields;
+		}
+
+		public void setLeafFields(boolean leafFields) {
+			this.leafFields = leafFields;
+		}
+
+		public boolean isPercentileHistogram() {
+			return percentileHistogram;
+		}
+
+		public void setPercentileHistogram(boolean percentileHistogram) {
+			this.percentileHistogram = percentileHistogram;
+		}
+
+		public int getMaxOperations() {
+			return maxOperations;
+		}
+
+		public void setMaxOperations(int maxOperations) {
+			this.maxOperations = maxOperations;
+		}
+
+		public String getDebugHeader() {
+			return debugHeader;
+		}
+
+		public void setDebugHeader(String debugHeader) {
+			this.debugHeader = debugHeader;
+		}
+	}
+
+	/**
+	 * Statistics of the SQL statements run by every operation
+	 */
+	public static class Sql {
+
+		private boolean enabled = true;
+
+		/**
+		 * Number of times the same statement may run for the same field of an
+		 * operation before it is reported as repeated (N+1)
+		 */
+		private int repeatedThreshold = 5;
+
+		/**
+		 * Whether to log the repeated statements with the path of the field running
+		 * them
+		 */
+		private boolean logRepeated = true;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getRepeatedThreshold() {
+			return repeatedThreshold;
+		}
+
+		public void setRepeatedThreshold(int repeatedThreshold) {
+			this.repeatedThreshold = repeatedThreshold;
+		}
+
+		public boolean isLogRepeated() {
+			return logRepeated;
+		}
+
+		public void setLogRepeated(boolean logRepeated) {
+			this.logRepeated = logRepeated;
+		}
+	}
+}
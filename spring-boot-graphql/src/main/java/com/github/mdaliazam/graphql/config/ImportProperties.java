@@ -0,0 +1,40 @@
+package com.github.mdaliazam.graphql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the streaming imports, bound from the {@code application.import}
+ * properties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@ConfigurationProperties(prefix = "application.import")
+public class ImportProperties {
+
+	/**
+	 * Number of rows written in one transaction
+	 */
+	private int chunkSize = 1000;
+
+	/**
+	 * Most errors reported for one chunk, the others are only counted
+	 */
+	private int maxReportedErrors = 100;
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public int getMaxReportedErrors() {
+		return maxReportedErrors;
+	}
+
+	public void setMaxReportedErrors(int maxReportedErrors) {
+		this.maxReportedErrors = maxReportedErrors;
+	}
+}
@@ -0,0 +1,49 @@
+package com.github.mdaliazam.graphql.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.mdaliazam.graphql.web.limit.AdaptiveLimiter;
+import com.github.mdaliazam.graphql.web.limit.ConcurrencyLimitFilter;
+
+import graphql.kickstart.spring.web.boot.GraphQLServletProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Puts one adaptive concurrency limit in front of the GraphQL servlet and the
+ * REST resources, which share the connection pool
+ *
+ * @see LimiterProperties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.limiter", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LimiterProperties.class)
+public class LimiterConfiguration {
+
+	@Bean
+	public AdaptiveLimiter adaptiveLimiter(LimiterProperties limiterProperties, MeterRegistry meterRegistry) {
+		return new AdaptiveLimiter(limiterProperties, meterRegistry);
+	}
+
+	/**
+	 * Rejects the excess requests before the other filters, e.g. the persisted
+	 * queries, do any work, but after the client is bound for the replicas
+	 */
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveLimiter adaptiveLimiter,
+			LimiterProperties limiterProperties, GraphQLServletProperties graphQLServletProperties) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+				new ConcurrencyLimitFilter(adaptiveLimiter, limiterProperties));
+		registration.addUrlPatterns(graphQLServletProperties.getServletMapping(), "/api/*");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registration;
+	}
+}
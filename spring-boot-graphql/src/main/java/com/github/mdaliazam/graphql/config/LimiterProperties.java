@@ -0,0 +1,142 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the adaptive concurrency limit of the {@code /graphql} and
+ * {@code /api} requests, bound from the {@code application.limiter}
+ * properties
+ *
+ * @see com.github.mdaliazam.graphql.web.limit.AdaptiveLimiter
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@ConfigurationProperties(prefix = "application.limiter")
+public class LimiterProperties {
+
+	private boolean enabled = true;
+
+	private int initialLimit = 20;
+
+	private int minLimit = 4;
+
+	private int maxLimit = 200;
+
+	/**
+	 * Ratio of the latency to the baseline latency tolerated before the limit
+	 * is lowered
+	 */
+	private double tolerance = 2.0;
+
+	/**
+	 * Weight of a new estimate in the limit, from 0 (never change) to 1
+	 */
+	private double smoothing = 0.2;
+
+	/**
+	 * Ratio the limit is multiplied by when requests wait for a pooled
+	 * connection or fail
+	 */
+	private double backoffRatio = 0.9;
+
+	/**
+	 * Number of requests over which the baseline latency is averaged
+	 */
+	private int baselineWindow = 500;
+
+	/**
+	 * Sent in the {@code Retry-After} header of the rejected requests
+	 */
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+	/**
+	 * Paths not limited, e.g. the long running imports and exports whose latency
+	 * says nothing of the load
+	 */
+	private List<String> excludedPaths = new ArrayList<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getInitialLimit() {
+		return initialLimit;
+	}
+
+	public void setInitialLimit(int initialLimit) {
+		this.initialLimit = initialLimit;
+	}
+
+	public int getMinLimit() {
+		return minLimit;
+	}
+
+	public void setMinLimit(int minLimit) {
+		this.minLimit = minLimit;
+	}
+
+	public int getMaxLimit() {
+		return maxLimit;
+	}
+
+	public void setMaxLimit(int maxLimit) {
+		this.maxLimit = maxLimit;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	public double getSmoothing() {
+		return smoothing;
+	}
+
+	public void setSmoothing(double smoothing) {
+		this.smoothing = smoothing;
+	}
+
+	public double getBackoffRatio() {
+		return backoffRatio;
+	}
+
+	public void setBackoffRatio(double backoffRatio) {
+		this.backoffRatio = backoffRatio;
+	}
+
+	public int getBaselineWindow() {
+		return baselineWindow;
+	}
+
+	public void setBaselineWindow(int baselineWindow) {
+		this.baselineWindow = baselineWindow;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
+	public void setRetryAfter(Duration retryAfter) {
+		this.retryAfter = retryAfter;
+	}
+
+	public List<String> getExcludedPaths() {
+		return excludedPaths;
+	}
+
+	public void setExcludedPaths(List<String> excludedPaths) {
+		this.excludedPaths = excludedPaths;
+	}
+}
@@ -0,0 +1,70 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.mdaliazam.graphql.datasource.ReplicaPinningFilter;
+import com.github.mdaliazam.graphql.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the {@code spring.datasource} pool with the pools of the primary and
+ * of the read replicas, routed by {@link ReplicaRoutingDataSource}. The pools
+ * are monitored as {@code hikaricp.*} meters tagged with their names,
+ * {@code primary} and {@code replica-1}, {@code replica-2}...
+ *
+ * @see ReplicaProperties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replicas", name = "enabled")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfiguration {
+
+	@Bean
+	public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+			ReplicaProperties replicaProperties, MeterRegistry meterRegistry) {
+		MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+		HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+				.build();
+		primary.setPoolName("primary");
+		primary.setMetricsTrackerFactory(metrics);
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for (ReplicaProperties.Instance instance : replicaProperties.getInstances()) {
+			HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class).url(instance.getUrl())
+					.username(instance.getUsername()).password(instance.getPassword())
+					.driverClassName(instance.getDriverClassName()).build();
+			replica.setPoolName("replica-" + (replicas.size() + 1));
+			replica.setMaximumPoolSize(instance.getMaximumPoolSize());
+			replica.setReadOnly(true);
+			replica.setMetricsTrackerFactory(metrics);
+			replicas.add(replica);
+		}
+		return new ReplicaRoutingDataSource(primary, replicas, replicaProperties);
+	}
+
+	/**
+	 * Binds the client of every request, before any other filter may read
+	 */
+	@Bean
+	public FilterRegistrationBean<ReplicaPinningFilter> replicaPinningFilter(ReplicaProperties replicaProperties) {
+		FilterRegistrationBean<ReplicaPinningFilter> registration = new FilterRegistrationBean<>(
+				new ReplicaPinningFilter(replicaProperties));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
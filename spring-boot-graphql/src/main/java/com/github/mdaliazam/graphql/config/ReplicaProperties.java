@@ -0,0 +1,188 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the read replicas, bound from the
+ * {@code application.datasource.replicas} properties. The primary is the
+ * {@code spring.datasource}.
+ *
+ * @see com.github.mdaliazam.graphql.datasource.ReplicaRoutingDataSource
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@ConfigurationProperties(prefix = "application.datasource.replicas")
+public class ReplicaProperties {
+
+	/**
+	 * How a read-only transaction picks its replica
+	 */
+	public enum Balance {
+		/**
+		 * Each replica in turn
+		 */
+		ROUND_ROBIN,
+		/**
+		 * The replica with the fewest connections in use, ties broken in turn
+		 */
+		LEAST_BUSY
+	}
+
+	private boolean enabled = false;
+
+	private Balance balance = Balance.ROUND_ROBIN;
+
+	/**
+	 * Time a client reads from the primary after a write, which should exceed
+	 * the replication lag
+	 */
+	private Duration pinAfterWrite = Duration.ofSeconds(5);
+
+	/**
+	 * Cookie telling until when a client reads from the primary
+	 */
+	private String pinCookie = "read-primary-until";
+
+	/**
+	 * Query returning the replication lag of a replica in seconds, or null not to
+	 * check it
+	 */
+	private String lagQuery;
+
+	/**
+	 * Replicas lagging further behind are not read until they catch up
+	 */
+	private Duration maxLag = Duration.ofSeconds(5);
+
+	private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+	private List<Instance> instances = new ArrayList<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Balance getBalance() {
+		return balance;
+	}
+
+	public void setBalance(Balance balance) {
+		this.balance = balance;
+	}
+
+	public Duration getPinAfterWrite() {
+		return pinAfterWrite;
+	}
+
+	public void setPinAfterWrite(Duration pinAfterWrite) {
+		this.pinAfterWrite = pinAfterWrite;
+	}
+
+	public String getPinCookie() {
+		return pinCookie;
+	}
+
+	public void setPinCookie(String pinCookie) {
+		this.pinCookie = pinCookie;
+	}
+
+	public String getLagQuery() {
+		return lagQuery;
+	}
+
+	public void setLagQuery(String lagQuery) {
+		this.lagQuery = lagQuery;
+	}
+
+	public Duration getMaxLag() {
+		return maxLag;
+	}
+
+	public void setMaxLag(Duration maxLag) {
+		this.maxLag = maxLag;
+	}
+
+	public Duration getLagCheckInterval() {
+		return lagCheckInterval;
+	}
+
+	public void setLagCheckInterval(Duration lagCheckInterval) {
+		this.lagCheckInterval = lagCheckInterval;
+	}
+
+	public List<Instance> getInstances() {
+		return instances;
+	}
+
+	public void setInstances(List<Instance> instances) {
+		this.instances = instances;
+	}
+
+	/**
+	 * The connection pool of one replica
+	 */
+	public static class Instance {
+
+		private String url;
+
+		private String username;
+
+		private String password;
+
+		/**
+		 * Detected from the url if not set
+		 */
+		private String driverClassName;
+
+		private int maximumPoolSize = 10;
+
+		public String getUrl() {
+			return url;
+		}
+
+		public void setUrl(String url) {
+			this.url = url;
+		}
+
+		public String getUsername() {
+			return username;
+		}
+
+		public void setUsername(String username) {
+			this.username = username;
+		}
+
+		public String getPassword() {
+			return password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+
+		public String getDriverClassName() {
+			return driverClassName;
+		}
+
+		public void setDriverClassName(String driverClassName) {
+			this.driverClassName = driverClassName;
+		}
+
+		public int getMaximumPoolSize() {
+			return maximumPoolSize;
+		}
+
+		public void setMaximumPoolSize(int maximumPoolSize) {
+			this.maximumPoolSize = maximumPoolSize;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.github.mdaliazam.graphql.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.mdaliazam.graphql.domain.PooledSequenceGenerator;
+
+/**
+ * Hands the sequence settings over to the id generators of the entities
+ *
+ * @see SequenceProperties
+ * @see PooledSequenceGenerator
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Configuration
+@EnableConfigurationProperties(SequenceProperties.class)
+public class SequenceConfiguration {
+
+	@Bean
+	public HibernatePropertiesCustomizer hibernateSequenceCustomizer(SequenceProperties sequenceProperties) {
+		return hibernateProperties -> {
+			hibernateProperties.put(PooledSequenceGenerator.ALLOCATION_SIZE, sequenceProperties.getAllocationSize());
+			hibernateProperties.put(PooledSequenceGenerator.OPTIMIZER, sequenceProperties.getOptimizer());
+			sequenceProperties.getAllocationSizes().forEach((sequence, allocationSize) -> hibernateProperties
+					.put(PooledSequenceGenerator.ALLOCATION_SIZE + "." + sequence, allocationSize));
+		};
+	}
+}
@@ -0,0 +1,54 @@
+package com.github.mdaliazam.graphql.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Allocation of the entity ids from their sequences, bound from the
+ * {@code application.sequence} properties
+ *
+ * @see com.github.mdaliazam.graphql.domain.PooledSequenceGenerator
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@ConfigurationProperties(prefix = "application.sequence")
+public class SequenceProperties {
+
+	/**
+	 * Number of ids taken from a sequence at once
+	 */
+	private int allocationSize = 50;
+
+	/**
+	 * Allocation size of single sequences, e.g. {@code book_seq}
+	 */
+	private final Map<String, Integer> allocationSizes = new HashMap<>();
+
+	/**
+	 * Hibernate optimizer of the sequences, "pooled-lo" or "pooled"
+	 */
+	private String optimizer = "pooled-lo";
+
+	public int getAllocationSize() {
+		return allocationSize;
+	}
+
+	public void setAllocationSize(int allocationSize) {
+		this.allocationSize = allocationSize;
+	}
+
+	public Map<String, Integer> getAllocationSizes() {
+		return allocationSizes;
+	}
+
+	public String getOptimizer() {
+		return optimizer;
+	}
+
+	public void setOptimizer(String optimizer) {
+		this.optimizer = optimizer;
+	}
+}
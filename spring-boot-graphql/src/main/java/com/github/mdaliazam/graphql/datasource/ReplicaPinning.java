@@ -0,0 +1,106 @@
+package com.github.mdaliazam.graphql.datasource;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tells the {@link ReplicaRoutingDataSource} whether the client of the current
+ * request must read from the primary, because it wrote recently and the
+ * replicas may not have its changes yet.
+ * <p>
+ * The client of a request is bound by the {@link ReplicaPinningFilter}, and
+ * follows the tasks of the request onto other threads through
+ * {@link #propagate(Runnable)}.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public final class ReplicaPinning {
+
+	private static final ThreadLocal<Client> CURRENT = new ThreadLocal<>();
+
+	private ReplicaPinning() {
+	}
+
+	/**
+	 * @return the client of the current request, or null outside of a request
+	 */
+	public static Client current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Binds the given client to the current thread
+	 *
+	 * @return the client bound before, to be restored
+	 */
+	static Client bind(Client client) {
+		Client previous = CURRENT.get();
+		CURRENT.set(client);
+		return previous;
+	}
+
+	static void restore(Client previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	/**
+	 * Wraps the given task so that it runs with the client of the current thread
+	 */
+	public static Runnable propagate(Runnable task) {
+		Client client = CURRENT.get();
+		if (client == null) {
+			return task;
+		}
+		return () -> {
+			Client previous = bind(client);
+			try {
+				task.run();
+			} finally {
+				restore(previous);
+			}
+		};
+	}
+
+	/**
+	 * The client of a request
+	 */
+	public static class Client {
+
+		private volatile boolean pinned;
+
+		private final AtomicBoolean wrote = new AtomicBoolean();
+
+		private final Runnable onFirstWrite;
+
+		/**
+		 * @param pinned       whether the client wrote recently
+		 * @param onFirstWrite tells the client to read from the primary for a
+		 *                     while, once per request
+		 */
+		Client(boolean pinned, Runnable onFirstWrite) {
+			this.pinned = pinned;
+			this.onFirstWrite = onFirstWrite;
+		}
+
+		/**
+		 * @return whether the client reads from the primary
+		 */
+		public boolean isPinned() {
+			return pinned;
+		}
+
+		/**
+		 * Pins the client to the primary once a write of its request is committed
+		 */
+		void wrote() {
+			pinned = true;
+			if (wrote.compareAndSet(false, true)) {
+				onFirstWrite.run();
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.github.mdaliazam.graphql.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import com.github.mdaliazam.graphql.config.ReplicaProperties;
+import com.github.mdaliazam.graphql.datasource.ReplicaPinning.Client;
+
+/**
+ * Binds the client of every request for the {@link ReplicaRoutingDataSource}.
+ * <p>
+ * Once a request has written, its response sets a cookie holding the time
+ * until which the client reads from the primary, e.g. the client that added a
+ * book reads it back from the primary although the replicas may not have it
+ * yet. The cookie expires by then, and only routes the reads of its client.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class ReplicaPinningFilter extends OncePerRequestFilter {
+
+	private final Logger log = LoggerFactory.getLogger(ReplicaPinningFilter.class);
+
+	private final String cookieName;
+
+	private final Duration pinAfterWrite;
+
+	public ReplicaPinningFilter(ReplicaProperties replicaProperties) {
+		this.cookieName = replicaProperties.getPinCookie();
+		this.pinAfterWrite = replicaProperties.getPinAfterWrite();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Client previous = ReplicaPinning.bind(new Client(isPinned(request), () -> pin(response)));
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReplicaPinning.restore(previous);
+		}
+	}
+
+	private boolean isPinned(HttpServletRequest request) {
+		Cookie cookie = WebUtils.getCookie(request, cookieName);
+		if (cookie == null) {
+			return false;
+		}
+		try {
+			return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private void pin(HttpServletResponse response) {
+		if (response.isCommitted()) {
+			log.debug("Cannot pin the client to the primary, the response is committed");
+			return;
+		}
+		Cookie cookie = new Cookie(cookieName, Long.toString(System.currentTimeMillis() + pinAfterWrite.toMillis()));
+		cookie.setPath("/");
+		cookie.setHttpOnly(true);
+		cookie.setMaxAge((int) Math.max(1, pinAfterWrite.toSeconds()));
+		response.addCookie(cookie);
+	}
+}
@@ -0,0 +1,229 @@
+package com.github.mdaliazam.graphql.datasource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.mdaliazam.graphql.config.ReplicaProperties;
+import com.github.mdaliazam.graphql.config.ReplicaProperties.Balance;
+import com.github.mdaliazam.graphql.datasource.ReplicaPinning.Client;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Sends the read-only transactions, e.g. the {@code readOnly} service methods,
+ * to the replica pools and everything else to the primary pool.
+ * <p>
+ * The connection is only taken from a pool when the first statement runs, by
+ * then the transaction tells whether it is read-only: Hibernate asks for the
+ * connection as the transaction begins, before Spring marks it read-only.
+ * <p>
+ * A replica is skipped while it lags behind more than allowed, if its lag is
+ * checked, and the primary is read when no replica is available or when the
+ * client of the request wrote recently, see {@link ReplicaPinning}. A
+ * connection asked for with explicit credentials is always taken from the
+ * primary.
+ *
+ * @see ReplicaProperties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+	private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	private final HikariDataSource primary;
+
+	private final List<Replica> replicas;
+
+	private final Balance balance;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private final ScheduledExecutorService lagChecker;
+
+	public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+			ReplicaProperties replicaProperties) {
+		this.primary = primary;
+		this.replicas = replicas.stream().map(Replica::new).collect(Collectors.toList());
+		this.balance = replicaProperties.getBalance();
+		setTargetDataSource(new Router());
+		String lagQuery = replicaProperties.getLagQuery();
+		if (lagQuery == null || lagQuery.isBlank() || replicas.isEmpty()) {
+			this.lagChecker = null;
+			return;
+		}
+		this.lagChecker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-"));
+		long interval = replicaProperties.getLagCheckInterval().toMillis();
+		lagChecker.scheduleWithFixedDelay(() -> this.replicas
+				.forEach(replica -> replica.checkLag(lagQuery, replicaProperties.getMaxLag())), 0, interval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void close() {
+		if (lagChecker != null) {
+			lagChecker.shutdownNow();
+		}
+		replicas.forEach(replica -> replica.pool.close());
+		primary.close();
+	}
+
+	/**
+	 * Picks the pool of the current transaction
+	 */
+	private Connection connect() throws SQLException {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			pinAfterCommit();
+			return primary.getConnection();
+		}
+		Client client = ReplicaPinning.current();
+		Replica replica = client != null && client.isPinned() ? null : pick();
+		if (replica == null) {
+			return primary.getConnection();
+		}
+		try {
+			return replica.pool.getConnection();
+		} catch (SQLException e) {
+			log.warn("Reading from the primary, as {} is not available: {}", replica.pool.getPoolName(),
+					e.getMessage());
+			return primary.getConnection();
+		}
+	}
+
+	/**
+	 * Pins the client of the request to the primary once its read-write
+	 * transaction commits. The connections taken outside of a transaction, e.g.
+	 * by lazy loading while the response is written, only read.
+	 */
+	private void pinAfterCommit() {
+		Client client = ReplicaPinning.current();
+		if (client == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				client.wrote();
+			}
+		});
+	}
+
+	/**
+	 * @return the replica to read from, or null if none is available
+	 */
+	private Replica pick() {
+		List<Replica> available = new ArrayList<>(replicas.size());
+		for (Replica replica : replicas) {
+			if (!replica.lagging) {
+				available.add(replica);
+			}
+		}
+		if (available.isEmpty()) {
+			return null;
+		}
+		int start = Math.floorMod(next.getAndIncrement(), available.size());
+		if (balance == Balance.ROUND_ROBIN) {
+			return available.get(start);
+		}
+		Replica leastBusy = null;
+		int fewest = Integer.MAX_VALUE;
+		for (int i = 0; i < available.size(); i++) {
+			Replica replica = available.get((start + i) % available.size());
+			int active = replica.activeConnections();
+			if (active < fewest) {
+				leastBusy = replica;
+				fewest = active;
+			}
+		}
+		return leastBusy;
+	}
+
+	/**
+	 * The pool of a replica, and whether it lags too far behind to be read
+	 */
+	private class Replica {
+
+		private final HikariDataSource pool;
+
+		private volatile boolean lagging;
+
+		Replica(HikariDataSource pool) {
+			this.pool = pool;
+		}
+
+		int activeConnections() {
+			HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+			return bean == null ? 0 : bean.getActiveConnections();
+		}
+
+		/**
+		 * Reads the lag of the replica in seconds, a replica whose lag cannot be
+		 * read being considered lagging
+		 */
+		void checkLag(String lagQuery, Duration maxLag) {
+			boolean wasLagging = lagging;
+			try (Connection connection = pool.getConnection();
+					Statement statement = connection.createStatement();
+					ResultSet resultSet = statement.executeQuery(lagQuery)) {
+				// no lag is reported when there was nothing to replay
+				double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+				lagging = lag * 1000 > maxLag.toMillis();
+				if (lagging != wasLagging) {
+					log.warn("{} is {} s behind the primary, {}", pool.getPoolName(), lag,
+							lagging ? "reading from the others" : "reading from it again");
+				}
+			} catch (SQLException | RuntimeException e) {
+				lagging = true;
+				if (!wasLagging) {
+					log.warn("Cannot read the lag of {}, reading from the others: {}", pool.getPoolName(),
+							e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * The pools behind the lazy connections
+	 */
+	private class Router extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return connect();
+		}
+
+		/**
+		 * Connects to the primary whatever the transaction, as the pools have
+		 * their own credentials: only those of the primary are accepted
+		 */
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			if (!Objects.equals(username, primary.getUsername()) || !Objects.equals(password, primary.getPassword())) {
+				throw new SQLException("Cannot connect to " + primary.getPoolName() + " as " + username);
+			}
+			pinAfterCommit();
+			return primary.getConnection();
+		}
+	}
+}
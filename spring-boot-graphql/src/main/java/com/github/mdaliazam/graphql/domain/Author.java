@@ -10,14 +10,19 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
-import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -30,28 +35,41 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
  *
  */
 @Entity
-@Table(name = "author")
+@Table(name = "author", indexes = {
+		@Index(name = "author_name_id_idx", columnList = "name, id"),
+		@Index(name = "author_publisher_id_idx", columnList = "publisher_id, id") })
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Author implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-	@SequenceGenerator(name = "sequenceGenerator")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authorSequence")
+	@GenericGenerator(name = "authorSequence", strategy = "com.github.mdaliazam.graphql.domain.PooledSequenceGenerator",
+			parameters = { @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "author_seq") })
 	private Long id;
 
 	@NotNull
 	@Column(name = "name", nullable = false)
 	private String name;
 
-	// @TODO GraphQL can not lazily load relational data !!!
-	@OneToMany(mappedBy = "author", fetch = FetchType.EAGER)
+	/**
+	 * The version checked and incremented by every update of the author, and
+	 * incremented by the changes of its books as they are part of its REST
+	 * resource, see {@link com.github.mdaliazam.graphql.repository.VersionRepository}
+	 */
+	@Version
+	@ColumnDefault("0")
+	@Column(name = "version", nullable = false)
+	private Long version;
+
+	@OneToMany(mappedBy = "author")
 	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 	@JsonManagedReference(value="auth-books")
 	private Set<Book> books = new HashSet<>();
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonIgnoreProperties("authors")
 	@JsonBackReference(value="pub-author")
 	private Publisher publisher;
@@ -94,6 +112,14 @@ public class Author implements Serializable {
 		this.name = name;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public Set<Book> getBooks() {
 		return books;
 	}
@@ -140,12 +166,16 @@ public class Author implements Serializable {
 		if (!(o instanceof Author)) {
 			return false;
 		}
-		return id != null && id.equals(((Author) o).id);
+		return id != null && id.equals(((Author) o).getId());
 	}
 
+	/**
+	 * Hashes by the id, which the author keeps from the moment it is persisted,
+	 * and by identity before, like {@link Book#hashCode()}
+	 */
 	@Override
 	public int hashCode() {
-		return 31;
+		return id != null ? Long.hashCode(id) : System.identityHashCode(this);
 	}
 
 	@Override
@@ -4,18 +4,25 @@ import java.io.Serializable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
-import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -25,15 +32,21 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  *
  */
 @Entity
-@Table(name = "book")
+@Table(name = "book", indexes = {
+		@Index(name = "book_title_id_idx", columnList = "title, id"),
+		@Index(name = "book_author_id_idx", columnList = "author_id, id"),
+		@Index(name = "book_publisher_id_idx", columnList = "publisher_id, id"),
+		@Index(name = "book_isbn13_idx", columnList = "isbn13", unique = true) })
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Book implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-	@SequenceGenerator(name = "sequenceGenerator")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookSequence")
+	@GenericGenerator(name = "bookSequence", strategy = "com.github.mdaliazam.graphql.domain.PooledSequenceGenerator",
+			parameters = { @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "book_seq") })
 	private Long id;
 
 	@NotNull
@@ -44,12 +57,28 @@ public class Book implements Serializable {
 	@Column(name = "i_sbn", nullable = false)
 	private String ISBN;
 
-	@ManyToOne
+	/**
+	 * The normalized ISBN, see {@link Isbn}, kept with the ISBN it derives from
+	 */
+	@JsonIgnore
+	@Column(name = "isbn13")
+	private Long isbn13;
+
+	/**
+	 * The version checked and incremented by every update of the book, which
+	 * makes the ETag of its REST resource
+	 */
+	@Version
+	@ColumnDefault("0")
+	@Column(name = "version", nullable = false)
+	private Long version;
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonIgnoreProperties("books")
 	@JsonBackReference(value="auth-books")
 	private Author author;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonIgnoreProperties("books")
 	@JsonBackReference(value="pub-books")
 	private Publisher publisher;
@@ -62,6 +91,7 @@ public class Book implements Serializable {
 		super();
 		this.title = title;
 		this.ISBN = ISBN;
+		this.isbn13 = Isbn.normalize(ISBN);
 	}
 
 	public Long getId() {
@@ -90,12 +120,25 @@ public class Book implements Serializable {
 	}
 
 	public Book iSBN(String iSBN) {
-		this.ISBN = iSBN;
+		setiSBN(iSBN);
 		return this;
 	}
 
 	public void setiSBN(String iSBN) {
 		this.ISBN = iSBN;
+		this.isbn13 = Isbn.normalize(iSBN);
+	}
+
+	public Long getIsbn13() {
+		return isbn13;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
 	}
 
 	public Author getAuthor() {
@@ -132,12 +175,20 @@ public class Book implements Serializable {
 		if (!(o instanceof Book)) {
 			return false;
 		}
-		return id != null && id.equals(((Book) o).id);
+		// the other may be an uninitialized proxy, whose fields are not loaded
+		return id != null && id.equals(((Book) o).getId());
 	}
 
+	/**
+	 * Hashes by the id, which a book keeps from the moment it is persisted, so
+	 * that changing its ISBN or title does not move it within a set, and copies
+	 * loaded by other sessions hash alike. A new book hashes by identity until
+	 * then, as it is only equal to itself; it is added to the books of its author
+	 * and publisher once persisted.
+	 */
 	@Override
 	public int hashCode() {
-		return 31;
+		return id != null ? Long.hashCode(id) : System.identityHashCode(this);
 	}
 
 	@Override
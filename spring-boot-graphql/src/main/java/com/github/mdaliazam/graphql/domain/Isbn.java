@@ -0,0 +1,70 @@
+package com.github.mdaliazam.graphql.domain;
+
+/**
+ * Normalizes the ISBNs of the books, so that the same book is found whatever
+ * the way its ISBN is written: with or without hyphens or spaces, as an ISBN-10
+ * or as the equivalent ISBN-13. A normalized ISBN is the number made of the 13
+ * digits of the ISBN-13.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public final class Isbn {
+
+	private Isbn() {
+	}
+
+	/**
+	 * Returns the normalized form of the given ISBN. The check digit of an ISBN-10
+	 * is recomputed for its ISBN-13, the check digits are not verified otherwise.
+	 *
+	 * @param isbn The ISBN, or null
+	 * @return The 13 digits of the ISBN-13 as a number, or null if the text is
+	 *         not shaped like an ISBN-10 or an ISBN-13
+	 */
+	public static Long normalize(String isbn) {
+		if (isbn == null) {
+			return null;
+		}
+		long number = 0;
+		int digits = 0;
+		boolean checkX = false;
+		for (int i = 0; i < isbn.length(); i++) {
+			char c = isbn.charAt(i);
+			if (c >= '0' && c <= '9' && !checkX) {
+				number = number * 10 + (c - '0');
+				digits++;
+			} else if ((c == 'X' || c == 'x') && digits == 9 && !checkX) {
+				checkX = true;
+				digits++;
+			} else if (c != '-' && c != ' ') {
+				return null;
+			}
+			if (digits > 13) {
+				return null;
+			}
+		}
+		if (digits == 13 && !checkX) {
+			return number;
+		}
+		if (digits == 10) {
+			// 978 followed by the 9 digits before the check digit, then the new one
+			long body = 978_000_000_000L + (checkX ? number : number / 10);
+			return body * 10 + checkDigit(body);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the check digit of the 12 given digits of an ISBN-13
+	 */
+	private static int checkDigit(long twelveDigits) {
+		int sum = 0;
+		long rest = twelveDigits;
+		// the last of the 12 digits has a weight of 3, the alternate ones of 1
+		for (int i = 0; i < 12; i++, rest /= 10) {
+			sum += (int) (rest % 10) * (i % 2 == 0 ? 3 : 1);
+		}
+		return (10 - sum % 10) % 10;
+	}
+}
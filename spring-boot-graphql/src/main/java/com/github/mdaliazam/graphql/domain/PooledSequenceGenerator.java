@@ -0,0 +1,47 @@
+package com.github.mdaliazam.graphql.domain;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator of the entity ids, whose allocation size and optimizer
+ * are taken from the Hibernate settings rather than from the mapping, so that
+ * they can be tuned per deployment. A size given for the sequence itself,
+ * {@code application.sequence.allocation-sizes.[<sequence>]}, takes precedence
+ * over {@code application.sequence.allocation-size}; without either, ids are
+ * allocated by 50 with the "pooled-lo" optimizer.
+ *
+ * @see com.github.mdaliazam.graphql.config.SequenceProperties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+	/**
+	 * Hibernate setting of the allocation size, suffixed by {@code .<sequence>} for a
+	 * single sequence
+	 */
+	public static final String ALLOCATION_SIZE = "application.sequence.allocation-size";
+
+	public static final String OPTIMIZER = "application.sequence.optimizer";
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+		Object allocationSize = settings.get(ALLOCATION_SIZE + "." + params.getProperty(SEQUENCE_PARAM));
+		if (allocationSize == null) {
+			allocationSize = settings.get(ALLOCATION_SIZE);
+		}
+		Object optimizer = settings.get(OPTIMIZER);
+		params.setProperty(INCREMENT_PARAM, allocationSize == null ? "50" : allocationSize.toString());
+		params.setProperty(OPT_PARAM, optimizer == null ? "pooled-lo" : optimizer.toString());
+		super.configure(type, params, serviceRegistry);
+	}
+}
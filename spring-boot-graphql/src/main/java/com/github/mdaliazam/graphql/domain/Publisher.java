@@ -6,18 +6,23 @@ import java.util.Set;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
-import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 /**
@@ -27,27 +32,41 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
  *
  */
 @Entity
-@Table(name = "publisher")
+@Table(name = "publisher", indexes = {
+		@Index(name = "publisher_name_id_idx", columnList = "name, id") })
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Publisher implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-	@SequenceGenerator(name = "sequenceGenerator")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "publisherSequence")
+	@GenericGenerator(name = "publisherSequence", strategy = "com.github.mdaliazam.graphql.domain.PooledSequenceGenerator",
+			parameters = { @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "publisher_seq") })
 	private Long id;
 
 	@NotNull
 	@Column(name = "name", nullable = false)
 	private String name;
 
-	@OneToMany(mappedBy = "publisher", fetch = FetchType.EAGER)
+	/**
+	 * The version checked and incremented by every update of the publisher, and
+	 * incremented by the changes of its authors and books as they are part of
+	 * its REST resource, see
+	 * {@link com.github.mdaliazam.graphql.repository.VersionRepository}
+	 */
+	@Version
+	@ColumnDefault("0")
+	@Column(name = "version", nullable = false)
+	private Long version;
+
+	@OneToMany(mappedBy = "publisher")
 	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 	@JsonManagedReference(value="pub-books")
 	private Set<Book> books = new HashSet<>();
 
-	@OneToMany(mappedBy = "publisher", fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "publisher")
 	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 	@JsonManagedReference(value="pub-author")
 	private Set<Author> authors = new HashSet<>();
@@ -90,6 +109,14 @@ public class Publisher implements Serializable {
 		this.name = name;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public Set<Book> getBooks() {
 		return books;
 	}
@@ -148,12 +175,16 @@ public class Publisher implements Serializable {
 		if (!(o instanceof Publisher)) {
 			return false;
 		}
-		return id != null && id.equals(((Publisher) o).id);
+		return id != null && id.equals(((Publisher) o).getId());
 	}
 
+	/**
+	 * Hashes by the id, which the publisher keeps from the moment it is persisted,
+	 * and by identity before, like {@link Book#hashCode()}
+	 */
 	@Override
 	public int hashCode() {
-		return 31;
+		return id != null ? Long.hashCode(id) : System.identityHashCode(this);
 	}
 
 	@Override
@@ -0,0 +1,40 @@
+package com.github.mdaliazam.graphql.execution;
+
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Keeps the parsed and validated documents of the most used queries, so that a
+ * query is parsed and validated once rather than on every request
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+	private final Cache<String, PreparsedDocumentEntry> cache;
+
+	public CachingPreparsedDocumentProvider(GraphQLProperties graphQLProperties, MeterRegistry meterRegistry) {
+		this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+				.maximumSize(graphQLProperties.getDocumentCache().getMaxEntries()).recordStats().build(),
+				"graphql.documents");
+	}
+
+	@Override
+	public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+			Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+		return cache.get(executionInput.getQuery(), query -> parseAndValidateFunction.apply(executionInput));
+	}
+}
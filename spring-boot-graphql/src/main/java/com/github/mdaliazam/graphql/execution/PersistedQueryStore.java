@@ -0,0 +1,114 @@
+package com.github.mdaliazam.graphql.execution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+
+/**
+ * Stores query documents by the hex encoded SHA-256 hash of their text. The
+ * documents found at the configured location are registered at startup and
+ * never evicted; queries registered by clients at runtime (automatic persisted
+ * queries) are kept in a bounded cache.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class PersistedQueryStore {
+
+	private final Logger log = LoggerFactory.getLogger(PersistedQueryStore.class);
+
+	private final Map<String, String> registered = new ConcurrentHashMap<>();
+
+	private final Cache<String, String> automatic;
+
+	public PersistedQueryStore(GraphQLProperties graphQLProperties, ResourcePatternResolver resourcePatternResolver)
+			throws IOException {
+		GraphQLProperties.PersistedQueries settings = graphQLProperties.getPersistedQueries();
+		this.automatic = Caffeine.newBuilder().maximumSize(settings.getMaxEntries()).build();
+		for (Resource resource : resourcePatternResolver.getResources(settings.getLocation())) {
+			try (InputStream in = resource.getInputStream()) {
+				String query = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+				String hash = hash(query);
+				registered.put(hash, query);
+				log.debug("Registered persisted query {} from {}", hash, resource);
+			}
+		}
+		log.info("Registered {} persisted queries", registered.size());
+	}
+
+	/**
+	 * Returns the query registered for the given hash
+	 *
+	 * @param hash The SHA-256 hash of the query
+	 * @return The query text, if known
+	 */
+	public Optional<String> find(String hash) {
+		String key = hash.toLowerCase();
+		String query = registered.get(key);
+		return Optional.ofNullable(query != null ? query : automatic.getIfPresent(key));
+	}
+
+	/**
+	 * Whether the given query is one of the documents registered at startup
+	 *
+	 * @param query The query text
+	 * @return true if the query is whitelisted
+	 */
+	public boolean isRegistered(String query) {
+		return registered.containsKey(hash(query));
+	}
+
+	/**
+	 * Registers a query sent by a client
+	 *
+	 * @param hash  The hash sent by the client
+	 * @param query The query text
+	 * @return false if the hash does not match the query
+	 */
+	public boolean register(String hash, String query) {
+		String key = hash.toLowerCase();
+		if (!hash(query).equals(key)) {
+			return false;
+		}
+		if (!registered.containsKey(key)) {
+			automatic.put(key, query);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the hex encoded SHA-256 hash of the given query
+	 *
+	 * @param query The query text
+	 * @return The hash
+	 */
+	public static String hash(String query) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package com.github.mdaliazam.graphql.execution;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+/**
+ * Computes the cost and depth of every operation before it is executed and
+ * rejects the operations over budget, so that a deeply nested query over the
+ * cyclic Publisher, Author and Book types cannot fan out to the whole database.
+ * <p>
+ * The cost of a field is its weight times the assumed size of every enclosing
+ * list. The sizes asked for by the clients are held between 1 and the maximum
+ * page size, and a cost overflowing a {@code long} is rejected whatever the
+ * budget. The computed cost is reported in the {@code cost} response extension.
+ *
+ * @see GraphQLProperties.Cost
+ * @see GraphQLProperties.Pagination
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.graphql.cost", name = "enabled", matchIfMissing = true)
+public class QueryCostInstrumentation extends SimpleInstrumentation {
+
+	private static final String TOO_EXPENSIVE = "QUERY_TOO_EXPENSIVE";
+
+	private static final String EDGES = "edges";
+
+	private static final String NODE = "node";
+
+	private final Logger log = LoggerFactory.getLogger(QueryCostInstrumentation.class);
+
+	private final GraphQLProperties.Cost settings;
+
+	private final int defaultPageSize;
+
+	private final int maxListSize;
+
+	public QueryCostInstrumentation(GraphQLProperties graphQLProperties) {
+		this.settings = graphQLProperties.getCost();
+		this.defaultPageSize = graphQLProperties.getPagination().getDefaultPageSize();
+		this.maxListSize = graphQLProperties.getPagination().getMaxPageSize();
+	}
+
+	@Override
+	public InstrumentationState createState() {
+		return new CostState();
+	}
+
+	@Override
+	public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+			InstrumentationExecuteOperationParameters parameters) {
+		ExecutionContext context = parameters.getExecutionContext();
+		CostState state = parameters.getInstrumentationState();
+		QueryTraverser.newQueryTraverser().schema(context.getGraphQLSchema()).document(context.getDocument())
+				.operationName(context.getOperationDefinition().getName()).variables(context.getVariables()).build()
+				.visitPreOrder(new QueryVisitorStub() {
+
+					@Override
+					public void visitField(QueryVisitorFieldEnvironment environment) {
+						if (!isIntrospection(environment)) {
+							state.depth = Math.max(state.depth, depth(environment));
+							long cost = saturatedMultiply(fieldCost(environment),
+									multiplier(environment.getParentEnvironment()));
+							state.cost = saturatedAdd(state.cost, cost);
+						}
+					}
+				});
+		state.measured = true;
+		boolean tooDeep = settings.getMaxDepth() > 0 && state.depth > settings.getMaxDepth();
+		boolean tooExpensive = state.cost == Long.MAX_VALUE
+				|| settings.getMaxCost() > 0 && state.cost > settings.getMaxCost();
+		if (tooDeep || tooExpensive) {
+			log.info("Rejected operation {} with cost {} and depth {}", context.getOperationDefinition().getName(),
+					state.cost, state.depth);
+			throw new AbortExecutionException(Collections.singletonList(GraphqlErrorBuilder.newError()
+					.message(tooDeep ? "Query depth %d exceeds the maximum depth of %d"
+							: "Query cost %d exceeds the maximum cost of %d", tooDeep ? state.depth : state.cost,
+							tooDeep ? settings.getMaxDepth() : settings.getMaxCost())
+					.extensions(Map.of("code", TOO_EXPENSIVE, "cost", state.toSpecification(settings))).build()));
+		}
+		return SimpleInstrumentationContext.noOp();
+	}
+
+	@Override
+	public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+			InstrumentationExecutionParameters parameters) {
+		CostState state = parameters.getInstrumentationState();
+		if (!state.measured) {
+			return CompletableFuture.completedFuture(executionResult);
+		}
+		Map<Object, Object> extensions = new LinkedHashMap<>();
+		if (executionResult.getExtensions() != null) {
+			extensions.putAll(executionResult.getExtensions());
+		}
+		extensions.put("cost", state.toSpecification(settings));
+		return CompletableFuture.completedFuture(
+				new ExecutionResultImpl(executionResult.getData(), executionResult.getErrors(), extensions));
+	}
+
+	private long fieldCost(QueryVisitorFieldEnvironment environment) {
+		Integer cost = settings.getFieldCosts().get(key(environment));
+		if (cost != null) {
+			return cost;
+		}
+		return GraphQLTypeUtil.isLeaf(environment.getFieldDefinition().getType()) ? 0 : settings.getDefaultFieldCost();
+	}
+
+	/**
+	 * Returns how many times the children of the given field are resolved, i.e.
+	 * the product of the sizes of all the enclosing lists
+	 */
+	private long multiplier(QueryVisitorFieldEnvironment environment) {
+		long multiplier = 1;
+		for (QueryVisitorFieldEnvironment parent = environment; parent != null; parent = parent
+				.getParentEnvironment()) {
+			GraphQLType type = GraphQLTypeUtil.unwrapNonNull(parent.getFieldDefinition().getType());
+			if (GraphQLTypeUtil.isList(type)) {
+				multiplier = saturatedMultiply(multiplier, listSize(parent));
+			}
+		}
+		return multiplier;
+	}
+
+	/**
+	 * Returns the assumed size of the given list field, the size asked for being
+	 * held between 1 and the maximum page size, and a list taking a page size
+	 * being as long as the default page size without it
+	 */
+	private long listSize(QueryVisitorFieldEnvironment environment) {
+		Object first = environment.getArguments().get("first");
+		if (first == null && EDGES.equals(environment.getFieldDefinition().getName())
+				&& environment.getParentEnvironment() != null) {
+			// the edges of a connection are as many as its "first" argument
+			first = environment.getParentEnvironment().getArguments().get("first");
+		}
+		if (first == null) {
+			first = environment.getArguments().get("limit");
+		}
+		if (first instanceof Number) {
+			return Math.max(1, Math.min(maxListSize, ((Number) first).longValue()));
+		}
+		if (environment.getFieldDefinition().getArgument("first") != null) {
+			return defaultPageSize;
+		}
+		return settings.getListSizes().getOrDefault(key(environment), settings.getDefaultListSize());
+	}
+
+	private static long saturatedAdd(long a, long b) {
+		try {
+			return Math.addExact(a, b);
+		} catch (ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private static long saturatedMultiply(long a, long b) {
+		try {
+			return Math.multiplyExact(a, b);
+		} catch (ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Returns the nesting of the given field, not counting the edges and nodes of
+	 * connections, so that a connection is as deep as the list it replaces
+	 */
+	private static int depth(QueryVisitorFieldEnvironment environment) {
+		int depth = 0;
+		for (QueryVisitorFieldEnvironment field = environment; field != null; field = field.getParentEnvironment()) {
+			if (!isConnectionWrapper(field)) {
+				depth++;
+			}
+		}
+		return depth;
+	}
+
+	private static boolean isConnectionWrapper(QueryVisitorFieldEnvironment environment) {
+		String container = environment.getFieldsContainer().getName();
+		String name = environment.getFieldDefinition().getName();
+		return EDGES.equals(name) && container.endsWith("Connection") || NODE.equals(name) && container.endsWith("Edge");
+	}
+
+	private static boolean isIntrospection(QueryVisitorFieldEnvironment environment) {
+		return environment.getFieldDefinition().getName().startsWith("__")
+				|| environment.getFieldsContainer().getName().startsWith("__");
+	}
+
+	private static String key(QueryVisitorFieldEnvironment environment) {
+		return environment.getFieldsContainer().getName() + "." + environment.getFieldDefinition().getName();
+	}
+
+	/**
+	 * Cost and depth of the current operation
+	 */
+	private static class CostState implements InstrumentationState {
+
+		private boolean measured;
+
+		private long cost;
+
+		private int depth;
+
+		Map<String, Object> toSpecification(GraphQLProperties.Cost settings) {
+			Map<String, Object> specification = new LinkedHashMap<>();
+			specification.put("requested", cost);
+			specification.put("maximum", settings.getMaxCost());
+			specification.put("depth", depth);
+			specification.put("maximumDepth", settings.getMaxDepth());
+			return specification;
+		}
+	}
+}
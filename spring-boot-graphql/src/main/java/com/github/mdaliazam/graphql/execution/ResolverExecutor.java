@@ -0,0 +1,84 @@
+package com.github.mdaliazam.graphql.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+import com.github.mdaliazam.graphql.datasource.ReplicaPinning;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Bounded thread pool on which the resolvers and the data loaders fetch their
+ * data. Returning futures completed on the pool lets graphql-java resolve
+ * independent fields, e.g. the author and the publisher of a book, in parallel.
+ * <p>
+ * The pool is monitored as {@code executor.*} meters tagged
+ * {@code name=graphql.resolvers}. When it is disabled, suppliers are run on the
+ * calling thread. The {@link SqlStatistics} of the calling operation and the
+ * client of its request, see {@link ReplicaPinning}, follow the suppliers onto
+ * the pool.
+ *
+ * @see GraphQLProperties.Executor
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class ResolverExecutor implements DisposableBean {
+
+	private final ExecutorService executor;
+
+	public ResolverExecutor(GraphQLProperties graphQLProperties, MeterRegistry meterRegistry) {
+		GraphQLProperties.Executor settings = graphQLProperties.getExecutor();
+		if (settings.isEnabled()) {
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(settings.getCoreSize(), settings.getMaxSize(),
+					settings.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(settings.getQueueCapacity()),
+					new CustomizableThreadFactory("graphql-resolver-"), new ThreadPoolExecutor.CallerRunsPolicy());
+			this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "graphql.resolvers");
+		} else {
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Runs the given supplier on the pool. Unlike
+	 * {@link CompletableFuture#supplyAsync}, a failure completes the future with
+	 * the exception thrown rather than a {@link java.util.concurrent.CompletionException},
+	 * so that its message reaches the GraphQL error as is.
+	 *
+	 * @param supplier Fetches the data
+	 * @return A future of the data
+	 */
+	public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+		if (executor == null) {
+			return CompletableFuture.completedFuture(supplier.get());
+		}
+		CompletableFuture<T> future = new CompletableFuture<>();
+		executor.execute(ReplicaPinning.propagate(SqlStatistics.propagate(() -> {
+			try {
+				future.complete(supplier.get());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		})));
+		return future;
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+}
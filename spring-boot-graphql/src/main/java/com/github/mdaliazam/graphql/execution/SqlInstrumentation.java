@@ -0,0 +1,153 @@
+package com.github.mdaliazam.graphql.execution;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Collects the {@link SqlStatistics} of every operation: the statements it ran,
+ * the entities they loaded and the JDBC time, recorded as the
+ * {@code graphql.request.statements}, {@code graphql.request.entities} and
+ * {@code graphql.request.jdbc} meters. A statement run repeatedly by the same
+ * field, typically a lazy association loaded once per element of a list,
+ * increments {@code graphql.field.repeated.statements} and is logged with the
+ * path of the field.
+ * <p>
+ * It comes last among the instrumentations, so that no instrumentation
+ * aborting the operation can leave its statistics bound to the request thread.
+ *
+ * @see GraphQLProperties.Sql
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "application.graphql.sql", name = "enabled", matchIfMissing = true)
+public class SqlInstrumentation extends SimpleInstrumentation {
+
+	private final Logger log = LoggerFactory.getLogger(SqlInstrumentation.class);
+
+	private final GraphQLProperties.Sql settings;
+
+	private final MeterRegistry meterRegistry;
+
+	public SqlInstrumentation(GraphQLProperties graphQLProperties, MeterRegistry meterRegistry) {
+		this.settings = graphQLProperties.getSql();
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public InstrumentationState createState() {
+		return new SqlState();
+	}
+
+	@Override
+	public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters) {
+		SqlState state = parameters.getInstrumentationState();
+		return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+			if (state.operation != null) {
+				record(state);
+			}
+		});
+	}
+
+	/**
+	 * Binds the statistics to the request thread while the operation is
+	 * dispatched, so that the data loader batches dispatched from it are counted
+	 */
+	@Override
+	public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+			InstrumentationExecuteOperationParameters parameters) {
+		ExecutionContext context = parameters.getExecutionContext();
+		SqlState state = parameters.getInstrumentationState();
+		state.operation = context.getOperationDefinition().getName() != null
+				? context.getOperationDefinition().getName()
+				: "anonymous";
+		state.type = context.getOperationDefinition().getOperation().name().toLowerCase();
+		SqlStatistics.Binding previous = SqlStatistics.bind(state.statistics, null, null, null);
+		return SimpleInstrumentationContext.whenDispatched(result -> SqlStatistics.restore(previous));
+	}
+
+	@Override
+	public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+			InstrumentationFieldFetchParameters parameters) {
+		SqlState state = parameters.getInstrumentationState();
+		return environment -> {
+			ExecutionStepInfo stepInfo = environment.getExecutionStepInfo();
+			SqlStatistics.Binding previous = SqlStatistics.bind(state.statistics,
+					stepInfo.getFieldContainer().getName(), stepInfo.getFieldDefinition().getName(),
+					stepInfo.getPath());
+			try {
+				return dataFetcher.get(environment);
+			} finally {
+				SqlStatistics.restore(previous);
+			}
+		};
+	}
+
+	private void record(SqlState state) {
+		SqlStatistics statistics = state.statistics;
+		Tags tags = Tags.of("operation", state.operation, "type", state.type);
+		DistributionSummary.builder("graphql.request.statements").description("SQL statements run by an operation")
+				.tags(tags).register(meterRegistry).record(statistics.getStatements());
+		DistributionSummary.builder("graphql.request.entities").description("Entities loaded by an operation")
+				.tags(tags).register(meterRegistry).record(statistics.getEntities());
+		Timer.builder("graphql.request.jdbc").description("Time spent executing the SQL statements of an operation")
+				.tags(tags).register(meterRegistry).record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+		log.debug("Operation {} ran {} statements in {} ms and loaded {} entities", state.operation,
+				statistics.getStatements(), TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos()),
+				statistics.getEntities());
+		for (SqlStatistics.Repetition repetition : statistics.getRepeated(settings.getRepeatedThreshold())) {
+			if (repetition.getParent() != null) {
+				Counter.builder("graphql.field.repeated.statements")
+						.description("SQL statements run repeatedly by the same field of an operation")
+						.tags("parent", repetition.getParent(), "field", repetition.getField())
+						.register(meterRegistry).increment(repetition.getCount());
+			}
+			if (settings.isLogRepeated()) {
+				log.warn("Operation {} ran {} times from {} (first at {}): {}", state.operation, repetition.getCount(),
+						repetition.getParent() == null ? "outside of any field"
+								: repetition.getParent() + "." + repetition.getField(),
+						repetition.getPath() == null ? "/" : repetition.getPath(), repetition.getShape());
+			}
+		}
+	}
+
+	/**
+	 * Statistics of the current operation
+	 */
+	private static class SqlState implements InstrumentationState {
+
+		private final SqlStatistics statistics = new SqlStatistics();
+
+		private volatile String operation;
+
+		private volatile String type;
+	}
+}
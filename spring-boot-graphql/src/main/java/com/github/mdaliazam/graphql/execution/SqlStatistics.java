@@ -0,0 +1,299 @@
+package com.github.mdaliazam.graphql.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import graphql.execution.ExecutionPath;
+
+/**
+ * The SQL statements run by one GraphQL operation, with the time spent
+ * executing them and the number of entities they loaded. The statements are
+ * grouped by shape, i.e. with their comments and the lengths of their
+ * parameter lists left out, and by the field whose data fetcher ran them, so
+ * that a statement repeated for every element of a list (N+1) stands out.
+ * <p>
+ * The statistics of the operation being resolved are bound to the resolving
+ * thread and follow the tasks handed to the {@link ResolverExecutor}. The
+ * Hibernate hooks feeding them are registered by the
+ * {@link com.github.mdaliazam.graphql.config.GraphQLConfiguration}.
+ *
+ * @see SqlInstrumentation
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class SqlStatistics {
+
+	private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+	private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+
+	/**
+	 * Lists of parameters, e.g. of an IN clause, matched by a character class
+	 * rather than a repeated group, which recurses once per parameter
+	 */
+	private static final Pattern PARAMETER_LISTS = Pattern.compile("\\(\\s*\\?[\\s,?]*\\)");
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private final LongAdder statements = new LongAdder();
+
+	private final LongAdder entities = new LongAdder();
+
+	private final LongAdder jdbcNanos = new LongAdder();
+
+	private final Map<String, Map<String, Repetition>> shapes = new ConcurrentHashMap<>();
+
+	public long getStatements() {
+		return statements.sum();
+	}
+
+	/**
+	 * @return The number of entities loaded, from the database or the
+	 *         second-level cache
+	 */
+	public long getEntities() {
+		return entities.sum();
+	}
+
+	public long getJdbcNanos() {
+		return jdbcNanos.sum();
+	}
+
+	/**
+	 * Returns the statements run at least the given number of times by the same
+	 * field
+	 *
+	 * @param threshold The minimum number of runs
+	 * @return The repeated statements, most repeated first
+	 */
+	public List<Repetition> getRepeated(int threshold) {
+		List<Repetition> repeated = new ArrayList<>();
+		shapes.values().forEach(fields -> fields.values().stream()
+				.filter(repetition -> repetition.getCount() >= threshold).forEach(repeated::add));
+		repeated.sort((first, second) -> Long.compare(second.getCount(), first.getCount()));
+		return repeated;
+	}
+
+	private void add(String sql, Binding binding) {
+		statements.increment();
+		String shape = shape(sql);
+		shapes.computeIfAbsent(shape, key -> new ConcurrentHashMap<>())
+				.computeIfAbsent(binding.parent == null ? "" : binding.parent + "." + binding.field,
+						key -> new Repetition(shape, binding.parent, binding.field, binding.path))
+				.count.increment();
+	}
+
+	static String shape(String sql) {
+		String shape = COMMENTS.matcher(sql).replaceAll(" ");
+		shape = PARAMETER_LISTS.matcher(shape).replaceAll("(?)");
+		return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+	}
+
+	/**
+	 * Binds the given statistics to the current thread, until the returned
+	 * binding is restored
+	 *
+	 * @param statistics The statistics of the operation
+	 * @param parent     The type of the field being fetched, or null
+	 * @param field      The name of the field being fetched, or null
+	 * @param path       The path of the field being fetched, or null
+	 * @return The binding to restore afterwards
+	 */
+	static Binding bind(SqlStatistics statistics, String parent, String field, ExecutionPath path) {
+		Binding previous = CURRENT.get();
+		CURRENT.set(new Binding(statistics, parent, field, path));
+		return previous;
+	}
+
+	static void restore(Binding previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	/**
+	 * Returns the given task running with the statistics bound to the current
+	 * thread, if any
+	 *
+	 * @param task The task to run on another thread
+	 * @return The task to submit
+	 */
+	static Runnable propagate(Runnable task) {
+		Binding binding = CURRENT.get();
+		if (binding == null) {
+			return task;
+		}
+		return () -> {
+			Binding previous = CURRENT.get();
+			CURRENT.set(binding);
+			try {
+				task.run();
+			} finally {
+				restore(previous);
+			}
+		};
+	}
+
+	/**
+	 * A statement run repeatedly by one field
+	 */
+	public static class Repetition {
+
+		private final String shape;
+
+		private final String parent;
+
+		private final String field;
+
+		private final ExecutionPath path;
+
+		private final LongAdder count = new LongAdder();
+
+		Repetition(String shape, String parent, String field, ExecutionPath path) {
+			this.shape = shape;
+			this.parent = parent;
+			this.field = field;
+			this.path = path;
+		}
+
+		public String getShape() {
+			return shape;
+		}
+
+		/**
+		 * @return The type of the field, or null if the statement did not run in a
+		 *         data fetcher, e.g. in a data loader batch
+		 */
+		public String getParent() {
+			return parent;
+		}
+
+		public String getField() {
+			return field;
+		}
+
+		/**
+		 * @return The path of the first fetch of the field running the statement
+		 */
+		public ExecutionPath getPath() {
+			return path;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+	}
+
+	/**
+	 * The statistics bound to a thread and the field it is fetching
+	 */
+	static class Binding {
+
+		private final SqlStatistics statistics;
+
+		private final String parent;
+
+		private final String field;
+
+		private final ExecutionPath path;
+
+		Binding(SqlStatistics statistics, String parent, String field, ExecutionPath path) {
+			this.statistics = statistics;
+			this.parent = parent;
+			this.field = field;
+			this.path = path;
+		}
+	}
+
+	/**
+	 * Counts the statements prepared and the entities loaded. Registered once as
+	 * the statement inspector and as an integrator adding the post-load listener.
+	 */
+	public static class Inspector implements StatementInspector, PostLoadEventListener, Integrator {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String inspect(String sql) {
+			Binding binding = CURRENT.get();
+			if (binding != null) {
+				binding.statistics.add(sql, binding);
+			}
+			return sql;
+		}
+
+		@Override
+		public void onPostLoad(PostLoadEvent event) {
+			Binding binding = CURRENT.get();
+			if (binding != null) {
+				binding.statistics.entities.increment();
+			}
+		}
+
+		@Override
+		public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+				SessionFactoryServiceRegistry serviceRegistry) {
+			serviceRegistry.getService(EventListenerRegistry.class).appendListeners(EventType.POST_LOAD, this);
+		}
+
+		@Override
+		public void disintegrate(SessionFactoryImplementor sessionFactory,
+				SessionFactoryServiceRegistry serviceRegistry) {
+		}
+	}
+
+	/**
+	 * Times the execution of the statements. Hibernate creates one per session.
+	 */
+	public static class SessionListener extends BaseSessionEventListener {
+
+		private static final long serialVersionUID = 1L;
+
+		private long start;
+
+		@Override
+		public void jdbcExecuteStatementStart() {
+			start = System.nanoTime();
+		}
+
+		@Override
+		public void jdbcExecuteStatementEnd() {
+			record();
+		}
+
+		@Override
+		public void jdbcExecuteBatchStart() {
+			start = System.nanoTime();
+		}
+
+		@Override
+		public void jdbcExecuteBatchEnd() {
+			record();
+		}
+
+		private void record() {
+			Binding binding = CURRENT.get();
+			if (binding != null) {
+				binding.statistics.jdbcNanos.add(System.nanoTime() - start);
+			}
+		}
+	}
+}
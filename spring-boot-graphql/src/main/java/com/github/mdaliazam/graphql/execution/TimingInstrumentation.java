@@ -0,0 +1,282 @@
+package com.github.mdaliazam.graphql.execution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.kickstart.servlet.context.GraphQLServletContext;
+import graphql.language.Document;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.validation.ValidationError;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every operation, its parse, validate and execute phases and the
+ * fetching of its fields, so that a slow field shows up by name rather than as
+ * a slow {@code /graphql} request. The timings are recorded as the
+ * {@code graphql.request}, {@code graphql.request.phase} and
+ * {@code graphql.field} timers.
+ * <p>
+ * The fetching of a field lasts until its value is available, including the
+ * wait for its data loader batch. When the debug header is sent, the timings
+ * of the request are also reported in the {@code timing} response extension.
+ *
+ * @see GraphQLProperties.Timing
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.graphql.timing", name = "enabled", matchIfMissing = true)
+public class TimingInstrumentation extends SimpleInstrumentation {
+
+	/**
+	 * Prefix of the timers tagged by operation name
+	 */
+	public static final String REQUEST_METRIC = "graphql.request";
+
+	private static final String PHASE_METRIC = "graphql.request.phase";
+
+	private static final String FIELD_METRIC = "graphql.field";
+
+	private static final String OPERATION_TAG = "operation";
+
+	private static final String PARSE = "parse";
+
+	private static final String VALIDATE = "validate";
+
+	private static final String EXECUTE = "execute";
+
+	private static final List<String> PHASES = List.of(PARSE, VALIDATE, EXECUTE);
+
+	private static final String ANONYMOUS = "anonymous";
+
+	private final GraphQLProperties.Timing settings;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Timer> fieldTimers = new ConcurrentHashMap<>();
+
+	public TimingInstrumentation(GraphQLProperties graphQLProperties, MeterRegistry meterRegistry) {
+		this.settings = graphQLProperties.getTiming();
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+		return new TimingState(isDebug(parameters.getExecutionInput().getContext()));
+	}
+
+	private boolean isDebug(Object context) {
+		return settings.getDebugHeader() != null && context instanceof GraphQLServletContext
+				&& ((GraphQLServletContext) context).getHttpServletRequest()
+						.getHeader(settings.getDebugHeader()) != null;
+	}
+
+	@Override
+	public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters) {
+		TimingState state = parameters.getInstrumentationState();
+		if (parameters.getOperation() != null) {
+			state.operation = parameters.getOperation();
+		}
+		long start = System.nanoTime();
+		return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+			state.duration = System.nanoTime() - start;
+			record(state, throwable == null && result.getErrors().isEmpty());
+		});
+	}
+
+	@Override
+	public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters) {
+		return phase(parameters.getInstrumentationState(), PARSE);
+	}
+
+	@Override
+	public InstrumentationContext<List<ValidationError>> beginValidation(
+			InstrumentationValidationParameters parameters) {
+		return phase(parameters.getInstrumentationState(), VALIDATE);
+	}
+
+	@Override
+	public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+			InstrumentationExecuteOperationParameters parameters) {
+		ExecutionContext context = parameters.getExecutionContext();
+		TimingState state = parameters.getInstrumentationState();
+		if (context.getOperationDefinition().getName() != null) {
+			state.operation = context.getOperationDefinition().getName();
+		}
+		state.type = context.getOperationDefinition().getOperation().name().toLowerCase();
+		return phase(state, EXECUTE);
+	}
+
+	private static <T> InstrumentationContext<T> phase(TimingState state, String phase) {
+		long start = System.nanoTime();
+		return SimpleInstrumentationContext.whenCompleted(
+				(result, throwable) -> state.phases.put(phase, System.nanoTime() - start));
+	}
+
+	@Override
+	public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+		GraphQLFieldDefinition field = parameters.getField();
+		GraphQLObjectType parent = parameters.getExecutionStepInfo().getFieldContainer();
+		if (!settings.isLeafFields() && GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(field.getType()))
+				|| parent.getName().startsWith("__") || field.getName().startsWith("__")) {
+			return SimpleInstrumentationContext.noOp();
+		}
+		TimingState state = parameters.getInstrumentationState();
+		Timer timer = fieldTimers.computeIfAbsent(parent.getName() + "." + field.getName(),
+				key -> timer(FIELD_METRIC, "Time to fetch the value of a field",
+						Tags.of("parent", parent.getName(), "field", field.getName())));
+		long start = System.nanoTime();
+		return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+			long nanos = System.nanoTime() - start;
+			timer.record(nanos, TimeUnit.NANOSECONDS);
+			if (state.debug) {
+				state.fields.computeIfAbsent(parent.getName() + "." + field.getName(), FieldTiming::new).add(nanos);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+			InstrumentationExecutionParameters parameters) {
+		TimingState state = parameters.getInstrumentationState();
+		if (!state.debug) {
+			return CompletableFuture.completedFuture(executionResult);
+		}
+		Map<Object, Object> extensions = new LinkedHashMap<>();
+		if (executionResult.getExtensions() != null) {
+			extensions.putAll(executionResult.getExtensions());
+		}
+		extensions.put("timing", state.toSpecification());
+		return CompletableFuture.completedFuture(
+				new ExecutionResultImpl(executionResult.getData(), executionResult.getErrors(), extensions));
+	}
+
+	private void record(TimingState state, boolean success) {
+		Tags tags = Tags.of(OPERATION_TAG, state.operation, "type", state.type);
+		timer(REQUEST_METRIC, "Time to execute an operation", tags.and("outcome", success ? "success" : "error"))
+				.record(state.duration, TimeUnit.NANOSECONDS);
+		state.phases.forEach((phase, nanos) -> timer(PHASE_METRIC, "Time spent in a phase of an operation",
+				tags.and("phase", phase)).record(nanos, TimeUnit.NANOSECONDS));
+	}
+
+	private Timer timer(String name, String description, Tags tags) {
+		return Timer.builder(name).description(description).tags(tags)
+				.publishPercentileHistogram(settings.isPercentileHistogram()).register(meterRegistry);
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / 1000.0) / 1000.0;
+	}
+
+	/**
+	 * Timings of the current operation
+	 */
+	private static class TimingState implements InstrumentationState {
+
+		private final boolean debug;
+
+		private final Map<String, Long> phases = new ConcurrentHashMap<>();
+
+		private final Map<String, FieldTiming> fields = new ConcurrentHashMap<>();
+
+		private volatile String operation = ANONYMOUS;
+
+		private volatile String type = "query";
+
+		private volatile long duration;
+
+		TimingState(boolean debug) {
+			this.debug = debug;
+		}
+
+		Map<String, Object> toSpecification() {
+			Map<String, Object> specification = new LinkedHashMap<>();
+			specification.put(OPERATION_TAG, operation);
+			specification.put("duration", millis(duration));
+			Map<String, Object> phaseDurations = new LinkedHashMap<>();
+			for (String phase : PHASES) {
+				Long nanos = phases.get(phase);
+				if (nanos != null) {
+					phaseDurations.put(phase, millis(nanos));
+				}
+			}
+			specification.put("phases", phaseDurations);
+			List<FieldTiming> slowest = new ArrayList<>(fields.values());
+			slowest.sort(Comparator.comparingLong(FieldTiming::getTotal).reversed());
+			List<Map<String, Object>> fieldDurations = new ArrayList<>();
+			for (FieldTiming field : slowest) {
+				fieldDurations.add(field.toSpecification());
+			}
+			specification.put("fields", fieldDurations);
+			return specification;
+		}
+	}
+
+	/**
+	 * Timings of all the fetches of one field in the current operation
+	 */
+	private static class FieldTiming {
+
+		private final String field;
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder total = new LongAdder();
+
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		FieldTiming(String field) {
+			this.field = field;
+		}
+
+		void add(long nanos) {
+			count.increment();
+			total.add(nanos);
+			max.accumulate(nanos);
+		}
+
+		long getTotal() {
+			return total.sum();
+		}
+
+		Map<String, Object> toSpecification() {
+			Map<String, Object> specification = new LinkedHashMap<>();
+			specification.put("field", field);
+			specification.put("count", count.sum());
+			specification.put("total", millis(total.sum()));
+			specification.put("max", millis(max.get()));
+			return specification;
+		}
+	}
+}
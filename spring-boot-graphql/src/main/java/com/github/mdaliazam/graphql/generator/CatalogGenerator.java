@@ -0,0 +1,201 @@
+package com.github.mdaliazam.graphql.generator;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.config.GeneratorProperties;
+import com.github.mdaliazam.graphql.domain.Isbn;
+import com.github.mdaliazam.graphql.repository.SequenceMigration;
+
+/**
+ * Writes a synthetic catalog straight into the database with batched JDBC
+ * inserts, run with the {@code generate} profile, e.g.
+ * {@code --spring.profiles.active=dev,generate --application.generator.books=10000000}.
+ * <p>
+ * The books are spread over the publishers following Zipf's law, so that a few
+ * publishers own most of the catalog, and over the authors of every publisher
+ * the same way. Sizes are derived from the settings alone and names from the
+ * seed, so the same settings always give the same catalog. Rows are appended
+ * after the existing ones and the id sequences moved past them.
+ *
+ * @see GeneratorProperties
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+@Profile("generate")
+@EnableConfigurationProperties(GeneratorProperties.class)
+public class CatalogGenerator implements ApplicationRunner {
+
+	private static final String[] ADJECTIVES = { "Silent", "Hidden", "Last", "Broken", "Golden", "Secret", "Distant",
+			"Burning", "Frozen", "Forgotten", "Endless", "Crimson", "Quiet", "Wild", "Lost", "Bright", "Dark", "Early",
+			"Little", "Second" };
+	private static final String[] NOUNS = { "River", "Garden", "Empire", "Winter", "Stranger", "Kingdom", "Harbor",
+			"Promise", "Shadow", "Island", "Letter", "Mountain", "Witness", "Journey", "Season", "Machine", "Orchard",
+			"Storm", "Mirror", "City" };
+	private static final String[] FIRST_NAMES = { "Anna", "James", "Maria", "David", "Sofia", "Omar", "Elena",
+			"Hiro", "Grace", "Lucas", "Amina", "Noah", "Ingrid", "Ravi", "Chloe", "Mateo", "Leila", "Ivan", "Zara",
+			"Samuel" };
+	private static final String[] LAST_NAMES = { "Hart", "Okafor", "Lindqvist", "Moreau", "Tanaka", "Kowalski",
+			"Rahman", "Bianchi", "Fischer", "Santos", "Novak", "Haddad", "O'Brien", "Petrov", "Mendes", "Keller",
+			"Azam", "Nakamura", "Walsh", "Duarte" };
+	private static final String[] IMPRINTS = { "Press", "Books", "House", "Publishing", "Editions" };
+
+	private final Logger log = LoggerFactory.getLogger(CatalogGenerator.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final SequenceMigration sequenceMigration;
+
+	private final GeneratorProperties properties;
+
+	public CatalogGenerator(JdbcTemplate jdbcTemplate, SequenceMigration sequenceMigration,
+			GeneratorProperties properties) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.sequenceMigration = sequenceMigration;
+		this.properties = properties;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		int publishers = properties.getPublishers();
+		long[] publisherBooks = Zipf.split(properties.getBooks(), publishers, properties.getPublisherSkew(), 1);
+		long[] publisherAuthors = Zipf.split(properties.getAuthors(), publishers, properties.getPublisherSkew(), 1);
+		for (int publisher = 0; publisher < publishers; publisher++) {
+			publisherAuthors[publisher] = Math.max(1, Math.min(publisherAuthors[publisher], publisherBooks[publisher]));
+		}
+		long firstPublisherId = nextId("publisher");
+		long firstAuthorId = nextId("author");
+		long firstBookId = nextId("book");
+		log.info("Generating {} books of {} publishers, the largest with {} books, seed {}", properties.getBooks(),
+				publishers, publisherBooks[0], properties.getSeed());
+		long started = System.currentTimeMillis();
+		SplittableRandom random = new SplittableRandom(properties.getSeed());
+
+		BatchWriter publisherWriter = new BatchWriter("publisher", "id, name", Types.BIGINT, Types.VARCHAR);
+		for (int publisher = 0; publisher < publishers; publisher++) {
+			publisherWriter.add(firstPublisherId + publisher,
+					pick(random, LAST_NAMES) + " " + pick(random, IMPRINTS));
+		}
+		publisherWriter.close();
+
+		BatchWriter authorWriter = new BatchWriter("author", "id, name, publisher_id", Types.BIGINT, Types.VARCHAR,
+				Types.BIGINT);
+		long authorId = firstAuthorId;
+		for (int publisher = 0; publisher < publishers; publisher++) {
+			for (long author = 0; author < publisherAuthors[publisher]; author++) {
+				authorWriter.add(authorId++, pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+						firstPublisherId + publisher);
+			}
+		}
+		authorWriter.close();
+
+		BatchWriter bookWriter = new BatchWriter("book", "id, title, i_sbn, isbn13, author_id, publisher_id",
+				Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT);
+		long bookId = firstBookId;
+		authorId = firstAuthorId;
+		for (int publisher = 0; publisher < publishers; publisher++) {
+			long[] authorBooks = Zipf.split(publisherBooks[publisher], (int) publisherAuthors[publisher],
+					properties.getAuthorSkew(), 1);
+			for (long books : authorBooks) {
+				for (long book = 0; book < books; book++, bookId++) {
+					String isbn = isbn(bookId);
+					bookWriter.add(bookId, title(random), isbn, Isbn.normalize(isbn), authorId,
+							firstPublisherId + publisher);
+				}
+				authorId++;
+			}
+		}
+		bookWriter.close();
+
+		sequenceMigration.migrate();
+		log.info("Generated {} publishers, {} authors and {} books in {} ms", publishers, authorId - firstAuthorId,
+				bookId - firstBookId, System.currentTimeMillis() - started);
+	}
+
+	private long nextId(String table) {
+		Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+		return max == null ? 1 : max + 1;
+	}
+
+	private static String title(SplittableRandom random) {
+		String title = "The " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+		return random.nextInt(3) == 0 ? title + " of " + pick(random, NOUNS) : title;
+	}
+
+	/**
+	 * Returns an ISBN-13 with the given number as its title element
+	 */
+	static String isbn(long number) {
+		String digits = String.format("978%09d", number % 1_000_000_000L);
+		int sum = 0;
+		for (int i = 0; i < digits.length(); i++) {
+			sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+		}
+		return digits + (10 - sum % 10) % 10;
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	/**
+	 * Collects the rows of one table and inserts them in batches
+	 */
+	private class BatchWriter {
+
+		private static final long PROGRESS = 1_000_000;
+
+		private final String table;
+
+		private final String sql;
+
+		private final int[] types;
+
+		private final List<Object[]> rows;
+
+		private long written;
+
+		BatchWriter(String table, String columns, int... types) {
+			this.table = table;
+			this.sql = "insert into " + table + " (" + columns + ") values (?" + ", ?".repeat(types.length - 1) + ")";
+			this.types = types;
+			this.rows = new ArrayList<>(properties.getBatchSize());
+		}
+
+		void add(Object... row) {
+			rows.add(row);
+			if (rows.size() >= properties.getBatchSize()) {
+				flush();
+			}
+		}
+
+		void close() {
+			flush();
+			log.info("{} rows written to {}", written, table);
+		}
+
+		private void flush() {
+			if (!rows.isEmpty()) {
+				jdbcTemplate.batchUpdate(sql, rows, types);
+				if ((written + rows.size()) / PROGRESS > written / PROGRESS) {
+					log.info("{} rows written to {}", written + rows.size(), table);
+				}
+				written += rows.size();
+				rows.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.github.mdaliazam.graphql.generator;
+
+/**
+ * Splits a total over ranked buckets following Zipf's law, the bucket of rank
+ * {@code k} getting a share proportional to {@code 1 / k^exponent}
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class Zipf {
+
+	private Zipf() {
+	}
+
+	/**
+	 * Returns the sizes of the buckets, which add up to the total exactly.
+	 * Every bucket gets at least the given minimum as long as the total allows
+	 * it.
+	 *
+	 * @param total The total to split
+	 * @param buckets Number of buckets, by decreasing rank
+	 * @param exponent Skew of the sizes, zero for equal sizes
+	 * @param minimum The least size of a bucket
+	 * @return The size of every bucket
+	 */
+	static long[] split(long total, int buckets, double exponent, long minimum) {
+		long[] sizes = new long[buckets];
+		long floor = Math.min(minimum, total / Math.max(buckets, 1));
+		long remaining = total - floor * buckets;
+		double[] weights = new double[buckets];
+		double sum = 0;
+		for (int rank = 0; rank < buckets; rank++) {
+			weights[rank] = 1 / Math.pow(rank + 1, exponent);
+			sum += weights[rank];
+		}
+		long assigned = 0;
+		for (int rank = 0; rank < buckets; rank++) {
+			sizes[rank] = floor + (long) (remaining * weights[rank] / sum);
+			assigned += sizes[rank] - floor;
+		}
+		// fewer leftovers than buckets, handed out to the highest ranks
+		for (int rank = 0; assigned < remaining; rank++, assigned++) {
+			sizes[rank]++;
+		}
+		return sizes;
+	}
+}
@@ -1,9 +1,21 @@
 package com.github.mdaliazam.graphql.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.service.dto.AuthorSummary;
 
 /**
  * Spring Data repository for the Author entity
@@ -14,4 +26,105 @@ import com.github.mdaliazam.graphql.domain.Author;
 @SuppressWarnings("unused")
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+	/**
+	 * The columns of an {@link AuthorSummary}, from an author aliased {@code e}
+	 */
+	String SUMMARY = "e.id, e.name, e.version, e.publisher.id";
+
+	/**
+	 * The constructor expression of an {@link AuthorSummary}
+	 */
+	String NEW_SUMMARY = "new com.github.mdaliazam.graphql.service.dto.AuthorSummary(" + SUMMARY + ")";
+
+	/**
+	 * Builds an {@link AuthorSummary} from the row of its {@link #SUMMARY}
+	 * columns
+	 * 
+	 * @param row the row, which may have other values after the columns
+	 * @return the summary
+	 */
+	static AuthorSummary summary(Object[] row) {
+		return new AuthorSummary((Long) row[0], (String) row[1], (Long) row[2], (Long) row[3]);
+	}
+
+	/**
+	 * Get a page of author summaries
+	 * 
+	 * @param pageable the pagination information
+	 * @return the page of summaries
+	 */
+	@Query(value = "select " + NEW_SUMMARY + " from Author e", countQuery = "select count(e) from Author e")
+	Page<AuthorSummary> findAllSummaries(Pageable pageable);
+
+	/**
+	 * Get the summaries of the authors having any of the given ids
+	 * 
+	 * @param ids ids of the authors
+	 * @return the list of summaries
+	 */
+	@Query("select " + NEW_SUMMARY + " from Author e where e.id in :ids")
+	List<AuthorSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Get the summaries of all the authors of any of the given publishers
+	 * 
+	 * @param publisherIds ids of the publishers
+	 * @return the list of summaries, by id
+	 */
+	@Query("select " + NEW_SUMMARY + " from Author e where e.publisher.id in :publisherIds order by e.id")
+	List<AuthorSummary> findSummariesByPublisherIdIn(@Param("publisherIds") Collection<Long> publisherIds);
+
+	/**
+	 * Get a page of authors, served from the query cache when possible
+	 * 
+	 * @param pageable the pagination information
+	 * @return the page of entities
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	Page<Author> findAll(Pageable pageable);
+
+	/**
+	 * Get all the authors of any of the given publishers
+	 * 
+	 * @param publisherIds ids of the publishers
+	 * @return the list of entities
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	@Query("select a from Author a where a.publisher.id in :publisherIds")
+	List<Author> findByPublisherIdIn(@Param("publisherIds") Collection<Long> publisherIds);
+
+	/**
+	 * Count the authors of each of the given publishers
+	 * 
+	 * @param publisherIds ids of the publishers
+	 * @return the rows of a publisher id and its number of authors, for the
+	 *         publishers having authors only
+	 */
+	@Query("select a.publisher.id, count(a) from Author a where a.publisher.id in :publisherIds"
+			+ " group by a.publisher.id")
+	List<Object[]> countByPublisherIdIn(@Param("publisherIds") Collection<Long> publisherIds);
+
+	/**
+	 * Get the publishers of the given authors
+	 * 
+	 * @param ids ids of the authors
+	 * @return the ids of their publishers, for the authors having one only
+	 */
+	@Query("select distinct a.publisher.id from Author a where a.id in :ids and a.publisher is not null")
+	List<Long> findPublisherIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Get all the authors through a forward-only cursor, fetched in rows of 500
+	 * and bypassing the second level cache. The stream must be consumed within a
+	 * transaction and closed.
+	 * 
+	 * @return the stream of entities
+	 */
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE") })
+	@Query("select a from Author a order by a.id")
+	Stream<Author> streamAll();
 }
@@ -1,9 +1,23 @@
 package com.github.mdaliazam.graphql.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.dto.BookSummary;
+import com.github.mdaliazam.graphql.domain.Isbn;
 
 /**
  * Spring Data repository for the Book entity
@@ -14,4 +28,171 @@ import com.github.mdaliazam.graphql.domain.Book;
 @SuppressWarnings("unused")
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+	/**
+	 * The columns of a {@link BookSummary}, from a book aliased {@code e}
+	 */
+	String SUMMARY = "e.id, e.title, e.ISBN, e.version, e.author.id, e.publisher.id";
+
+	/**
+	 * The constructor expression of a {@link BookSummary}
+	 */
+	String NEW_SUMMARY = "new com.github.mdaliazam.graphql.service.dto.BookSummary(" + SUMMARY + ")";
+
+	/**
+	 * Builds a {@link BookSummary} from the row of its {@link #SUMMARY}
+	 * columns
+	 * 
+	 * @param row the row, which may have other values after the columns
+	 * @return the summary
+	 */
+	static BookSummary summary(Object[] row) {
+		return new BookSummary((Long) row[0], (String) row[1], (String) row[2], (Long) row[3], (Long) row[4],
+				(Long) row[5]);
+	}
+
+	/**
+	 * Get a page of book summaries
+	 * 
+	 * @param pageable the pagination information
+	 * @return the page of summaries
+	 */
+	@Query(value = "select " + NEW_SUMMARY + " from Book e", countQuery = "select count(e) from Book e")
+	Page<BookSummary> findAllSummaries(Pageable pageable);
+
+	/**
+	 * Get the summaries of all the books of any of the given authors
+	 * 
+	 * @param authorIds ids of the authors
+	 * @return the list of summaries, by id
+	 */
+	@Query("select " + NEW_SUMMARY + " from Book e where e.author.id in :authorIds order by e.id")
+	List<BookSummary> findSummariesByAuthorIdIn(@Param("authorIds") Collection<Long> authorIds);
+
+	/**
+	 * Get the summaries of all the books of any of the given publishers
+	 * 
+	 * @param publisherIds ids of the publishers
+	 * @return the list of summaries, by id
+	 */
+	@Query("select " + NEW_SUMMARY + " from Book e where e.publisher.id in :publisherIds order by e.id")
+	List<BookSummary> findSummariesByPublisherIdIn(@Param("publisherIds") Collection<Long> publisherIds);
+
+	/**
+	 * Get a page of books, served from the query cache when possible
+	 * 
+	 * @param pageable the pagination information
+	 * @return the page of entities
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	Page<Book> findAll(Pageable pageable);
+
+	/**
+	 * Get the first books of each of the given authors, by id, in one query
+	 * numbering the books of every author
+	 * 
+	 * @param authorIds ids of the authors
+	 * @param size      the number of books to return per author
+	 * @return the list of entities
+	 */
+	@Query(value = "select * from (select b.*, row_number() over (partition by b.author_id order by b.id) as book_rank"
+			+ " from book b where b.author_id in :authorIds) ranked where ranked.book_rank <= :size order by ranked.id",
+			nativeQuery = true)
+	List<Book> findFirstByAuthorIdIn(@Param("authorIds") Collection<Long> authorIds, @Param("size") int size);
+
+	/**
+	 * Get the first books of each of the given publishers, by id, in one query
+	 * numbering the books of every publisher
+	 * 
+	 * @param publisherIds ids of the publishers
+	 * @param size         the number of books to return per publisher
+	 * @return the list of entities
+	 */
+	@Query(value = "select * from (select b.*, row_number() over (partition by b.publisher_id order by b.id)"
+			+ " as book_rank from book b where b.publisher_id in :publisherIds) ranked where ranked.book_rank <= :size"
+			+ " order by ranked.id", nativeQuery = true)
+	List<Book> findFirstByPublisherIdIn(@Param("publisherIds") Collection<Long> publisherIds,
+			@Param("size") int size);
+
+	/**
+	 * Get the books of the "authorId" author following the "afterId" book, by id
+	 * 
+	 * @param authorId id of the author
+	 * @param afterId  id of the last book already seen, 0 for the first books
+	 * @param pageable the number of books to return
+	 * @return the list of entities
+	 */
+	@Query("select b from Book b where b.author.id = :authorId and b.id > :afterId order by b.id")
+	List<Book> findByAuthorIdAfter(@Param("authorId") Long authorId, @Param("afterId") Long afterId,
+			Pageable pageable);
+
+	/**
+	 * Get the books of the "publisherId" publisher following the "afterId" book,
+	 * by id
+	 * 
+	 * @param publisherId id of the publisher
+	 * @param afterId     id of the last book already seen, 0 for the first books
+	 * @param pageable    the number of books to return
+	 * @return the list of entities
+	 */
+	@Query("select b from Book b where b.publisher.id = :publisherId and b.id > :afterId order by b.id")
+	List<Book> findByPublisherIdAfter(@Param("publisherId") Long publisherId, @Param("afterId") Long afterId,
+			Pageable pageable);
+
+	/**
+	 * Count the books of each of the given authors, from the index of their
+	 * author
+	 * 
+	 * @param authorIds ids of the authors
+	 * @return the rows of an author id and its number of books, for the authors
+	 *         having books only
+	 */
+	@Query("select b.author.id, count(b) from Book b where b.author.id in :authorIds group by b.author.id")
+	List<Object[]> countByAuthorIdIn(@Param("authorIds") Collection<Long> authorIds);
+
+	/**
+	 * Count the books of each of the given publishers, from the index of their
+	 * publisher
+	 * 
+	 * @param publisherIds ids of the publishers
+	 * @return the rows of a publisher id and its number of books, for the
+	 *         publishers having books only
+	 */
+	@Query("select b.publisher.id, count(b) from Book b where b.publisher.id in :publisherIds"
+			+ " group by b.publisher.id")
+	List<Object[]> countByPublisherIdIn(@Param("publisherIds") Collection<Long> publisherIds);
+
+	/**
+	 * Get all the books through a forward-only cursor, fetched in rows of 500
+	 * and bypassing the second level cache. The stream must be consumed within a
+	 * transaction and closed.
+	 * 
+	 * @return the stream of entities
+	 */
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE") })
+	@Query("select b from Book b order by b.id")
+	Stream<Book> streamAll();
+
+	/**
+	 * Get the id and the normalized ISBN of all the books having one, through a
+	 * forward-only cursor fetched in rows of 500. The stream must be consumed
+	 * within a transaction and closed.
+	 * 
+	 * @return the stream of ids and normalized ISBNs
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	@Query("select b.id, b.isbn13 from Book b where b.isbn13 is not null")
+	Stream<Object[]> streamIsbns();
+
+	/**
+	 * Get the id of the book with the given normalized ISBN
+	 * 
+	 * @param isbn13 the normalized ISBN, see {@link Isbn}
+	 * @return the id of the entity
+	 */
+	@Query("select b.id from Book b where b.isbn13 = :isbn13")
+	Optional<Long> findIdByIsbn13(@Param("isbn13") Long isbn13);
 }
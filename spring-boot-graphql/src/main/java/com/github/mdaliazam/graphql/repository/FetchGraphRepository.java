@@ -0,0 +1,86 @@
+package com.github.mdaliazam.graphql.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Subgraph;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * Loads entities together with a set of associations chosen at runtime, by
+ * turning dot separated association paths (e.g. {@code authors.books}) into a
+ * JPA fetch graph
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Repository
+public class FetchGraphRepository {
+
+	private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Get the "id" entity with the given associations initialized
+	 *
+	 * @param type       the entity class
+	 * @param id         the id of the entity
+	 * @param fetchPaths the association paths to fetch
+	 * @return the entity
+	 */
+	public <T> Optional<T> findById(Class<T> type, Long id, Collection<String> fetchPaths) {
+		if (fetchPaths.isEmpty()) {
+			return Optional.ofNullable(entityManager.find(type, id));
+		}
+		EntityGraph<T> graph = entityManager.createEntityGraph(type);
+		addNodes(graph, tree(fetchPaths));
+		return Optional.ofNullable(entityManager.find(type, id, Collections.singletonMap(FETCH_GRAPH_HINT, graph)));
+	}
+
+	private static Node tree(Collection<String> fetchPaths) {
+		Node root = new Node();
+		for (String path : fetchPaths) {
+			Node node = root;
+			for (String attribute : path.split("\\.")) {
+				node = node.computeIfAbsent(attribute, name -> new Node());
+			}
+		}
+		return root;
+	}
+
+	private static void addNodes(EntityGraph<?> graph, Node node) {
+		node.forEach((attribute, children) -> {
+			if (children.isEmpty()) {
+				graph.addAttributeNodes(attribute);
+			} else {
+				addNodes(graph.addSubgraph(attribute), children);
+			}
+		});
+	}
+
+	private static void addNodes(Subgraph<?> graph, Node node) {
+		node.forEach((attribute, children) -> {
+			if (children.isEmpty()) {
+				graph.addAttributeNodes(attribute);
+			} else {
+				addNodes(graph.addSubgraph(attribute), children);
+			}
+		});
+	}
+
+	/**
+	 * Association paths merged into a tree, keyed by attribute name
+	 */
+	private static class Node extends LinkedHashMap<String, Node> {
+
+		private static final long serialVersionUID = 1L;
+	}
+}
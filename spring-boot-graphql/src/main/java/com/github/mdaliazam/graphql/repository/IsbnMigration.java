@@ -0,0 +1,102 @@
+package com.github.mdaliazam.graphql.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.domain.Isbn;
+
+/**
+ * Fills the normalized ISBN of the books that have none before the application
+ * takes any request, e.g. the books written before the {@code isbn13} column
+ * was added by the schema update. A book whose ISBN is the same as the one of
+ * another book is left without a normalized ISBN, so that it does not break its
+ * unique index, and reported.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class IsbnMigration implements InitializingBean {
+
+	private static final int BATCH_SIZE = 1000;
+
+	private static final String SELECT = "select id, i_sbn from book where isbn13 is null";
+
+	private static final String UPDATE = "update book set isbn13 = ? where id = ?"
+			+ " and not exists (select 1 from book other where other.isbn13 = ?)";
+
+	private final Logger log = LoggerFactory.getLogger(IsbnMigration.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public IsbnMigration(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		migrate();
+	}
+
+	/**
+	 * Normalizes the ISBNs of the books without a normalized ISBN, read in one
+	 * pass and updated in batches
+	 */
+	public void migrate() {
+		Batch batch = new Batch();
+		jdbcTemplate.query(SELECT, (RowCallbackHandler) resultSet -> {
+			Long isbn13 = Isbn.normalize(resultSet.getString(2));
+			if (isbn13 != null) {
+				batch.add(resultSet.getLong(1), isbn13);
+			}
+		});
+		batch.flush();
+		if (batch.normalized > 0) {
+			log.info("Normalized the ISBNs of {} books", batch.normalized);
+		}
+		if (batch.duplicates > 0) {
+			log.warn("{} books were left without a normalized ISBN, as other books have the same ISBN",
+					batch.duplicates);
+		}
+	}
+
+	/**
+	 * The updates not sent yet, and the results of those sent
+	 */
+	private class Batch {
+
+		private final List<Object[]> updates = new ArrayList<>(BATCH_SIZE);
+
+		private long normalized;
+
+		private long duplicates;
+
+		void add(long id, long isbn13) {
+			updates.add(new Object[] { isbn13, id, isbn13 });
+			if (updates.size() >= BATCH_SIZE) {
+				flush();
+			}
+		}
+
+		void flush() {
+			if (updates.isEmpty()) {
+				return;
+			}
+			for (int count : jdbcTemplate.batchUpdate(UPDATE, updates)) {
+				if (count != 0) {
+					normalized++;
+				} else {
+					duplicates++;
+				}
+			}
+			updates.clear();
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package com.github.mdaliazam.graphql.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+
+import org.springframework.stereotype.Repository;
+
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+
+/**
+ * Loads slices of entities after a cursor (keyset pagination). The entities are
+ * ordered by one string property and the id, or by the id only, and the cursor
+ * holds the values of the last entity seen, so that the next slice starts with
+ * an index seek instead of skipping an offset. Nothing is counted unless the
+ * request asks for it. Either the entities or a projection of them, such as a
+ * DTO built from a few of their columns, are read.
+ * <p>
+ * Cursors are opaque to clients: the base64url encoding of
+ * {@code property:id[:value]}. Invalid cursors and orders are rejected with an
+ * {@link IllegalArgumentException}, which reaches the callers translated to an
+ * {@link org.springframework.dao.InvalidDataAccessApiUsageException}.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Repository
+public class KeysetRepository {
+
+	private static final String ID = "id";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Get the slice of entities requested
+	 *
+	 * @param type    the entity class
+	 * @param request the size, cursor and order of the slice
+	 * @return the slice
+	 */
+	public <T> KeysetSlice<T> find(Class<T> type, KeysetRequest request) {
+		return find(type, null, null, request);
+	}
+
+	/**
+	 * Get the slice of the entities whose parent has the given id
+	 *
+	 * @param type     the entity class
+	 * @param parent   the name of the association to the parent, e.g. author
+	 * @param parentId the id of the parent
+	 * @param request  the size, cursor and order of the slice
+	 * @return the slice
+	 * @throws IllegalArgumentException if the order property is not a string
+	 *                                  attribute of the entity, or the cursor was
+	 *                                  not issued for this order
+	 */
+	public <T> KeysetSlice<T> find(Class<T> type, String parent, Long parentId, KeysetRequest request) {
+		return findProjections(type, "e", row -> type.cast(row[0]), parent, parentId, request);
+	}
+
+	/**
+	 * Get the slice of the given projection of the entities
+	 *
+	 * @param type    the entity class
+	 * @param columns the comma separated JPQL paths of the columns of the
+	 *                projection, from the entity aliased {@code e}
+	 * @param mapper  builds the projection from the row of its columns, which
+	 *                may be followed by other values
+	 * @param request the size, cursor and order of the slice
+	 * @return the slice
+	 */
+	public <T> KeysetSlice<T> findProjections(Class<?> type, String columns, Function<Object[], T> mapper,
+			KeysetRequest request) {
+		return findProjections(type, columns, mapper, null, null, request);
+	}
+
+	/**
+	 * Get the slice of the given projection of the entities whose parent has the
+	 * given id
+	 *
+	 * @param type     the entity class
+	 * @param columns  the comma separated JPQL paths of the columns of the
+	 *                 projection, from the entity aliased {@code e}
+	 * @param mapper   builds the projection from the row of its columns, which
+	 *                 may be followed by other values
+	 * @param parent   the name of the association to the parent, e.g. author
+	 * @param parentId the id of the parent
+	 * @param request  the size, cursor and order of the slice
+	 * @return the slice
+	 * @throws IllegalArgumentException if the order property is not a string
+	 *                                  attribute of the entity, or the cursor was
+	 *                                  not issued for this order
+	 */
+	public <T> KeysetSlice<T> findProjections(Class<?> type, String columns, Function<Object[], T> mapper,
+			String parent, Long parentId, KeysetRequest request) {
+		EntityType<?> entity = entityManager.getMetamodel().entity(type);
+		String property = request.getProperty() == null ? ID : request.getProperty();
+		if (!ID.equals(property) && entity.getSingularAttribute(property).getJavaType() != String.class) {
+			throw new IllegalArgumentException("Cannot order " + entity.getName() + " by " + property);
+		}
+		boolean keyed = !ID.equals(property);
+		String after = request.isDescending() ? "<" : ">";
+		String direction = request.isDescending() ? " desc" : " asc";
+
+		List<String> conditions = new ArrayList<>();
+		if (parent != null) {
+			conditions.add("e." + parent + ".id = :parentId");
+		}
+		String[] cursor = request.getAfter() == null ? null : decode(request.getAfter(), property);
+		if (cursor != null) {
+			conditions.add(keyed
+					? "(e." + property + " " + after + " :key or (e." + property + " = :key and e.id " + after + " :id))"
+					: "e.id " + after + " :id");
+		}
+		String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+		String orderBy = " order by " + (keyed ? "e." + property + direction + ", " : "") + "e.id" + direction;
+
+		TypedQuery<Object[]> query = entityManager.createQuery(
+				"select " + columns + ", e.id" + (keyed ? ", e." + property : "") + " from " + entity.getName()
+						+ " e" + where + orderBy,
+				Object[].class);
+		if (parent != null) {
+			query.setParameter("parentId", parentId);
+		}
+		if (cursor != null) {
+			query.setParameter(ID, Long.valueOf(cursor[1]));
+			if (keyed) {
+				query.setParameter("key", cursor[2]);
+			}
+		}
+		List<Object[]> rows = query.setMaxResults(request.getSize() + 1).getResultList();
+
+		List<T> content = new ArrayList<>();
+		List<String> cursors = new ArrayList<>();
+		for (Object[] row : rows.subList(0, Math.min(rows.size(), request.getSize()))) {
+			// the id and the key of the order follow the columns of the projection
+			int id = row.length - (keyed ? 2 : 1);
+			content.add(mapper.apply(row));
+			cursors.add(encode(property, row[id], keyed ? (String) row[id + 1] : null));
+		}
+		Long totalCount = request.isCount() ? count(entity, parent, parentId) : null;
+		return new KeysetSlice<>(content, cursors, rows.size() > request.getSize(), totalCount);
+	}
+
+	private long count(EntityType<?> entity, String parent, Long parentId) {
+		TypedQuery<Long> query = entityManager.createQuery("select count(e) from " + entity.getName() + " e"
+				+ (parent == null ? "" : " where e." + parent + ".id = :parentId"), Long.class);
+		if (parent != null) {
+			query.setParameter("parentId", parentId);
+		}
+		return query.getSingleResult();
+	}
+
+	private static String encode(String property, Object id, String value) {
+		String cursor = property + ":" + id + (value == null ? "" : ":" + value);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @return the property, id and value held by the cursor
+	 */
+	private static String[] decode(String cursor, String property) {
+		String[] values;
+		try {
+			values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+			if (values.length > 1) {
+				Long.parseLong(values[1]);
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor " + cursor);
+		}
+		if (!values[0].equals(property) || values.length != (ID.equals(property) ? 2 : 3)) {
+			throw new IllegalArgumentException("The cursor " + cursor + " was not issued for the order by " + property);
+		}
+		return values;
+	}
+}
@@ -1,9 +1,21 @@
 package com.github.mdaliazam.graphql.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.service.dto.PublisherSummary;
 
 /**
  * Spring Data repository for the Publisher entity
@@ -14,4 +26,66 @@ import com.github.mdaliazam.graphql.domain.Publisher;
 @SuppressWarnings("unused")
 @Repository
 public interface PublisherRepository extends JpaRepository<Publisher, Long> {
+
+	/**
+	 * The columns of a {@link PublisherSummary}, from a publisher aliased {@code e}
+	 */
+	String SUMMARY = "e.id, e.name, e.version";
+
+	/**
+	 * The constructor expression of a {@link PublisherSummary}
+	 */
+	String NEW_SUMMARY = "new com.github.mdaliazam.graphql.service.dto.PublisherSummary(" + SUMMARY + ")";
+
+	/**
+	 * Builds a {@link PublisherSummary} from the row of its {@link #SUMMARY}
+	 * columns
+	 * 
+	 * @param row the row, which may have other values after the columns
+	 * @return the summary
+	 */
+	static PublisherSummary summary(Object[] row) {
+		return new PublisherSummary((Long) row[0], (String) row[1], (Long) row[2]);
+	}
+
+	/**
+	 * Get a page of publisher summaries
+	 * 
+	 * @param pageable the pagination information
+	 * @return the page of summaries
+	 */
+	@Query(value = "select " + NEW_SUMMARY + " from Publisher e", countQuery = "select count(e) from Publisher e")
+	Page<PublisherSummary> findAllSummaries(Pageable pageable);
+
+	/**
+	 * Get the summaries of the publishers having any of the given ids
+	 * 
+	 * @param ids ids of the publishers
+	 * @return the list of summaries
+	 */
+	@Query("select " + NEW_SUMMARY + " from Publisher e where e.id in :ids")
+	List<PublisherSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Get a page of publishers, served from the query cache when possible
+	 * 
+	 * @param pageable the pagination information
+	 * @return the page of entities
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	Page<Publisher> findAll(Pageable pageable);
+
+	/**
+	 * Get all the publishers through a forward-only cursor, fetched in rows of 500
+	 * and bypassing the second level cache. The stream must be consumed within a
+	 * transaction and closed.
+	 * 
+	 * @return the stream of entities
+	 */
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE") })
+	@Query("select p from Publisher p order by p.id")
+	Stream<Publisher> streamAll();
 }
@@ -0,0 +1,79 @@
+package com.github.mdaliazam.graphql.repository;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings the id sequences of the entities in line with the existing rows
+ * before the application takes any request: a sequence created by the schema
+ * update for a table that already has rows (e.g. when the entities moved from
+ * the shared {@code sequence_generator} to their own sequences), or behind rows
+ * inserted without it, is restarted after the highest id, and its increment is
+ * set to the configured allocation size.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class SequenceMigration implements InitializingBean {
+
+	private final Logger log = LoggerFactory.getLogger(SequenceMigration.class);
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public SequenceMigration(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+		this.entityManagerFactory = entityManagerFactory;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		migrate();
+	}
+
+	/**
+	 * Aligns the sequence of every entity with the rows of its table
+	 */
+	public void migrate() {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+		Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+		for (EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+			if (persister.getIdentifierGenerator() instanceof SequenceStyleGenerator
+					&& persister instanceof AbstractEntityPersister) {
+				DatabaseStructure sequence = ((SequenceStyleGenerator) persister.getIdentifierGenerator())
+						.getDatabaseStructure();
+				if (sequence.isPhysicalSequence()) {
+					AbstractEntityPersister entity = (AbstractEntityPersister) persister;
+					migrate(dialect, sequence.getName(), sequence.getIncrementSize(), entity.getTableName(),
+							entity.getIdentifierColumnNames()[0]);
+				}
+			}
+		}
+	}
+
+	private void migrate(Dialect dialect, String sequence, int incrementSize, String table, String idColumn) {
+		jdbcTemplate.execute("alter sequence " + sequence + " increment by " + incrementSize);
+		Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + table, Long.class);
+		if (maxId == null) {
+			return;
+		}
+		Long nextValue = jdbcTemplate.queryForObject(dialect.getSequenceNextValString(sequence), Long.class);
+		if (nextValue != null && nextValue <= maxId) {
+			log.info("Restarting sequence {} after the highest id {} of {}", sequence, maxId, table);
+			jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+		}
+	}
+}
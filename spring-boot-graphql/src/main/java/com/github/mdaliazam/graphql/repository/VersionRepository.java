@@ -0,0 +1,88 @@
+package com.github.mdaliazam.graphql.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Reads and increments the versions of the entities, which make the ETags of
+ * their REST resources.
+ * <p>
+ * An author and a publisher embed their books and authors in their resources,
+ * so the changes of those must increment their versions as well. They are
+ * incremented by a plain SQL update within the current transaction, without
+ * the version check of an optimistic lock, so that concurrent changes of
+ * sibling books do not fail each other. Hibernate does not see the update: the
+ * entities are evicted from the second level cache one by one once the
+ * transaction completes, instead of evicting the whole region as a bulk update
+ * would.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Repository
+public class VersionRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public VersionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Get the version of the "id" entity, without loading it
+	 *
+	 * @param type the entity class
+	 * @param id   the id of the entity
+	 * @return the version, empty if there is no such entity
+	 */
+	public Optional<Long> findVersion(Class<?> type, Long id) {
+		return entityManager
+				.createQuery("select e.version from " + type.getName() + " e where e.id = :id", Long.class)
+				.setParameter("id", id).getResultStream().findFirst();
+	}
+
+	/**
+	 * Increment the versions of the given entities, the rows being updated in
+	 * the order of their ids
+	 *
+	 * @param type the entity class, mapped to one table
+	 * @param ids  the ids of the entities, nulls being ignored
+	 */
+	public void increment(Class<?> type, Collection<Long> ids) {
+		Set<Long> sorted = new TreeSet<>();
+		ids.stream().filter(Objects::nonNull).forEach(sorted::add);
+		if (sorted.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.update("update " + type.getAnnotation(Table.class).name()
+				+ " set version = version + 1 where id in (:ids)", Collections.singletonMap("ids", sorted));
+		Cache cache = entityManager.getEntityManagerFactory().getCache();
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			sorted.forEach(id -> cache.evict(type, id));
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCompletion(int status) {
+				sorted.forEach(id -> cache.evict(type, id));
+			}
+		});
+	}
+}
@@ -0,0 +1,125 @@
+package com.github.mdaliazam.graphql.resolver;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.execution.ResolverExecutor;
+import com.github.mdaliazam.graphql.resolver.connection.KeysetConnection;
+import com.github.mdaliazam.graphql.resolver.dataloader.DataLoaderRegistryFactory;
+import com.github.mdaliazam.graphql.resolver.dataloader.DataLoaderRegistryFactory.FirstPage;
+import com.github.mdaliazam.graphql.resolver.input.BookOrder;
+import com.github.mdaliazam.graphql.service.BookService;
+
+import graphql.kickstart.tools.GraphQLResolver;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * GraphQL field resolvers of the Author type, batched through the request
+ * scoped data loaders
+ *
+ * @see DataLoaderRegistryFactory
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class AuthorResolver implements GraphQLResolver<Author> {
+
+	private final BookService bookService;
+
+	private final ResolverExecutor resolverExecutor;
+
+	private final GraphQLProperties.Pagination pagination;
+
+	/**
+	 * Constructor that takes instances of the injected service beans
+	 *
+	 * @param bookService An instance of Spring managed BookService bean
+	 * @param resolverExecutor An instance of Spring managed ResolverExecutor bean
+	 * @param graphQLProperties The settings holding the bounds of the page sizes
+	 */
+	public AuthorResolver(BookService bookService, ResolverExecutor resolverExecutor,
+			GraphQLProperties graphQLProperties) {
+		this.bookService = bookService;
+		this.resolverExecutor = resolverExecutor;
+		this.pagination = graphQLProperties.getPagination();
+	}
+
+	/**
+	 * Returns the Publisher of the given Author
+	 *
+	 * @param author The parent Author
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the Publisher
+	 */
+	public CompletableFuture<Publisher> getPublisher(Author author, DataFetchingEnvironment environment) {
+		Publisher publisher = author.getPublisher();
+		if (publisher == null || Hibernate.isInitialized(publisher)) {
+			return CompletableFuture.completedFuture(publisher);
+		}
+		return environment.<Long, Publisher>getDataLoader(DataLoaderRegistryFactory.PUBLISHER_LOADER)
+				.load(publisher.getId());
+	}
+
+	/**
+	 * Returns a page of the Books of the given Author, read through the index of
+	 * their Author and id. The first pages of the Authors of a level are read
+	 * together.
+	 *
+	 * @param author The parent Author
+	 * @param first Number of Books to return, or null for the default page size
+	 * @param after Id of the last Book already seen, or null
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the Books
+	 */
+	public CompletableFuture<List<Book>> getBooks(Author author, Integer first, Long after,
+			DataFetchingEnvironment environment) {
+		int size = KeysetConnection.pageSize(first, pagination);
+		if (after != null) {
+			return resolverExecutor.supply(() -> bookService.findByAuthorId(author.getId(), after, size));
+		}
+		return environment.<FirstPage, List<Book>>getDataLoader(DataLoaderRegistryFactory.BOOKS_BY_AUTHOR_LOADER)
+				.load(new FirstPage(author.getId(), size));
+	}
+
+	/**
+	 * Returns the number of Books of the given Author, counted without loading
+	 * them
+	 *
+	 * @param author The parent Author
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the number of Books
+	 */
+	public CompletableFuture<Long> getBookCount(Author author, DataFetchingEnvironment environment) {
+		if (Hibernate.isInitialized(author.getBooks())) {
+			return CompletableFuture.completedFuture((long) author.getBooks().size());
+		}
+		return environment.<Long, Long>getDataLoader(DataLoaderRegistryFactory.BOOK_COUNT_BY_AUTHOR_LOADER)
+				.load(author.getId());
+	}
+
+	/**
+	 * Returns a connection of the Books of the given Author, read with one query
+	 * per Author
+	 *
+	 * @param author The parent Author
+	 * @param first Number of Books to return
+	 * @param after Cursor of the last Book already seen
+	 * @param orderBy Order of the Books
+	 * @param descending Whether to return the Books in descending order
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the connection of Books
+	 */
+	public CompletableFuture<KeysetConnection<Book>> getBooksConnection(Author author, int first, String after,
+			BookOrder orderBy, boolean descending, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> KeysetConnection.find(first, pagination, after, orderBy.getProperty(),
+				descending, environment, request -> bookService.findByAuthorId(author.getId(), request)));
+	}
+}
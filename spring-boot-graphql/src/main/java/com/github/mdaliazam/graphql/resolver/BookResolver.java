@@ -0,0 +1,58 @@
+package com.github.mdaliazam.graphql.resolver;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.resolver.dataloader.DataLoaderRegistryFactory;
+
+import graphql.kickstart.tools.GraphQLResolver;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * GraphQL field resolvers of the Book type, batched through the request scoped
+ * data loaders
+ *
+ * @see DataLoaderRegistryFactory
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class BookResolver implements GraphQLResolver<Book> {
+
+	/**
+	 * Returns the Author of the given Book
+	 *
+	 * @param book The parent Book
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the Author
+	 */
+	public CompletableFuture<Author> getAuthor(Book book, DataFetchingEnvironment environment) {
+		Author author = book.getAuthor();
+		if (author == null || Hibernate.isInitialized(author)) {
+			return CompletableFuture.completedFuture(author);
+		}
+		return environment.<Long, Author>getDataLoader(DataLoaderRegistryFactory.AUTHOR_LOADER).load(author.getId());
+	}
+
+	/**
+	 * Returns the Publisher of the given Book
+	 *
+	 * @param book The parent Book
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the Publisher
+	 */
+	public CompletableFuture<Publisher> getPublisher(Book book, DataFetchingEnvironment environment) {
+		Publisher publisher = book.getPublisher();
+		if (publisher == null || Hibernate.isInitialized(publisher)) {
+			return CompletableFuture.completedFuture(publisher);
+		}
+		return environment.<Long, Publisher>getDataLoader(DataLoaderRegistryFactory.PUBLISHER_LOADER)
+				.load(publisher.getId());
+	}
+}
@@ -1,14 +1,25 @@
 package com.github.mdaliazam.graphql.resolver;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.springframework.stereotype.Component;
 
 import com.github.mdaliazam.graphql.domain.Author;
 import com.github.mdaliazam.graphql.domain.Book;
 import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.resolver.input.AuthorInput;
+import com.github.mdaliazam.graphql.resolver.input.BookInput;
+import com.github.mdaliazam.graphql.resolver.input.PublisherInput;
 import com.github.mdaliazam.graphql.service.AuthorService;
 import com.github.mdaliazam.graphql.service.BookService;
 import com.github.mdaliazam.graphql.service.PublisherService;
 
+import graphql.GraphqlErrorException;
 import graphql.kickstart.tools.GraphQLMutationResolver;
 
 /**
@@ -86,4 +97,70 @@ public class EntityMutationResolver implements GraphQLMutationResolver {
 
 	}
 
+	/**
+	 * Adds Publisher entities in one transaction
+	 * 
+	 * @param publishers The Publishers to add
+	 * @return The instances of Publisher, in the given order
+	 */
+	public List<Publisher> addPublishers(List<PublisherInput> publishers) {
+		return publisherService.saveAll(publishers.stream().map(input -> new Publisher(input.getName()))
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Adds Author entities in one transaction, fetching the referenced
+	 * Publishers in one query
+	 * 
+	 * @param authors The Authors to add
+	 * @return The instances of Author, in the given order
+	 */
+	public List<Author> addAuthors(List<AuthorInput> authors) {
+		Map<Long, Publisher> publishers = resolve("Publisher", authors, AuthorInput::getPublisherId,
+				publisherService::findAllById, Publisher::getId);
+		return authorService.saveAll(authors.stream()
+				.map(input -> new Author(input.getName()).publisher(publishers.get(input.getPublisherId())))
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Adds Book entities in one transaction, fetching the referenced Publishers
+	 * and Authors in one query each
+	 * 
+	 * @param books The Books to add
+	 * @return The instances of Book, in the given order
+	 */
+	public List<Book> addBooks(List<BookInput> books) {
+		Map<Long, Publisher> publishers = resolve("Publisher", books, BookInput::getPublisherId,
+				publisherService::findAllById, Publisher::getId);
+		Map<Long, Author> authors = resolve("Author", books, BookInput::getAuthorId, authorService::findAllById,
+				Author::getId);
+		return bookService.saveAll(books.stream()
+				.map(input -> new Book(input.getTitle(), input.getIsbn())
+						.author(authors.get(input.getAuthorId()))
+						.publisher(publishers.get(input.getPublisherId())))
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Fetches the entities referenced by the given inputs
+	 * 
+	 * @param type Name of the referenced type, for the error message
+	 * @param inputs The inputs holding the references
+	 * @param reference Gives the referenced id of an input
+	 * @param finder Fetches the entities of the given ids
+	 * @param id Gives the id of an entity
+	 * @return The referenced entities by id
+	 * @throws GraphqlErrorException If any of the ids is unknown
+	 */
+	private static <I, E> Map<Long, E> resolve(String type, List<I> inputs, Function<I, Long> reference,
+			Function<Collection<Long>, List<E>> finder, Function<E, Long> id) {
+		Set<Long> ids = inputs.stream().map(reference).collect(Collectors.toSet());
+		Map<Long, E> entities = finder.apply(ids).stream().collect(Collectors.toMap(id, Function.identity()));
+		ids.removeAll(entities.keySet());
+		if (!ids.isEmpty()) {
+			throw GraphqlErrorException.newErrorException().message("Unknown " + type + " ids: " + ids).build();
+		}
+		return entities;
+	}
 }
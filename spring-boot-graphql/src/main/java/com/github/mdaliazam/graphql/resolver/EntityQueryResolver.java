@@ -1,24 +1,49 @@
 package com.github.mdaliazam.graphql.resolver;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.stereotype.Component;
 
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
 import com.github.mdaliazam.graphql.domain.Author;
 import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Isbn;
 import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.execution.ResolverExecutor;
+import com.github.mdaliazam.graphql.resolver.cache.QueryResultCache;
+import com.github.mdaliazam.graphql.resolver.connection.KeysetConnection;
+import com.github.mdaliazam.graphql.resolver.input.AuthorOrder;
+import com.github.mdaliazam.graphql.resolver.input.BookOrder;
+import com.github.mdaliazam.graphql.resolver.input.PublisherOrder;
 import com.github.mdaliazam.graphql.service.AuthorService;
 import com.github.mdaliazam.graphql.service.BookService;
 import com.github.mdaliazam.graphql.service.PublisherService;
+import com.github.mdaliazam.graphql.service.dto.Suggestion;
+import com.github.mdaliazam.graphql.service.search.AutocompleteIndex;
+import com.github.mdaliazam.graphql.service.search.BookSearchIndex;
+import com.github.mdaliazam.graphql.service.search.IsbnIndex;
 
+import graphql.GraphqlErrorException;
 import graphql.kickstart.tools.GraphQLQueryResolver;
+import graphql.schema.DataFetchingEnvironment;
 
 /**
- * GraphQL query resolvers that delegates service methods of all the entities
+ * GraphQL query resolvers that delegates service methods of all the entities.
+ * The services are called on the {@link ResolverExecutor}, so that the root
+ * fields of a query are fetched in parallel.
  * 
  * @see PublisherService
  * @see AuthorService
  * @see BookService
+ * @see BookSearchIndex
+ * @see AutocompleteIndex
+ * @see IsbnIndex
+ * @see FetchPlanner
+ * @see QueryResultCache
+ * @see ResolverExecutor
  * 
  * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
  *
@@ -29,6 +54,12 @@ public class EntityQueryResolver implements GraphQLQueryResolver {
 	private final PublisherService publisherService;
 	private final AuthorService authorService;
 	private final BookService bookService;
+	private final BookSearchIndex bookSearchIndex;
+	private final AutocompleteIndex autocompleteIndex;
+	private final IsbnIndex isbnIndex;
+	private final QueryResultCache queryResultCache;
+	private final ResolverExecutor resolverExecutor;
+	private final GraphQLProperties.Pagination pagination;
 
 	/**
 	 * Constructor that takes instances of injected service bean for all entities
@@ -36,66 +67,172 @@ public class EntityQueryResolver implements GraphQLQueryResolver {
 	 * @param publisherService An instance of Spring managed PublisherService bean
 	 * @param authorService An instance of Spring managed AuthorService bean
 	 * @param bookService An instance of Spring managed BookService bean
+	 * @param bookSearchIndex An instance of Spring managed BookSearchIndex bean
+	 * @param autocompleteIndex An instance of Spring managed AutocompleteIndex bean
+	 * @param isbnIndex An instance of Spring managed IsbnIndex bean
+	 * @param queryResultCache An instance of Spring managed QueryResultCache bean
+	 * @param resolverExecutor An instance of Spring managed ResolverExecutor bean
+	 * @param graphQLProperties The settings holding the bounds of the page sizes
 	 */
 	public EntityQueryResolver(PublisherService publisherService, AuthorService authorService,
-			BookService bookService) {
+			BookService bookService, BookSearchIndex bookSearchIndex, AutocompleteIndex autocompleteIndex,
+			IsbnIndex isbnIndex, QueryResultCache queryResultCache, ResolverExecutor resolverExecutor,
+			GraphQLProperties graphQLProperties) {
 		this.publisherService = publisherService;
 		this.authorService = authorService;
 		this.bookService = bookService;
+		this.bookSearchIndex = bookSearchIndex;
+		this.autocompleteIndex = autocompleteIndex;
+		this.isbnIndex = isbnIndex;
+		this.queryResultCache = queryResultCache;
+		this.resolverExecutor = resolverExecutor;
+		this.pagination = graphQLProperties.getPagination();
 	}
 
 	/**
 	 * Returns a Publisher for the given id
 	 * 
 	 * @param id Primary key of the Publisher
-	 * @return An instance of Publisher
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the Publisher
 	 */
-	public Publisher getPublisherById(Long id) {
-		try {
-			Optional<Publisher> publisher = publisherService.findOne(id);
-			if (publisher.isPresent()) {
-				return publisher.get();
-			}
-		} catch (Exception e) {
-			// TODO: handle exception
-		}
-		return null;
+	public CompletableFuture<Publisher> getPublisherById(Long id, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> {
+			Set<String> fetchPaths = FetchPlanner.plan(environment.getSelectionSet());
+			return queryResultCache.get(Publisher.class, id, fetchPaths, () -> publisherService.findOne(id, fetchPaths))
+					.orElse(null);
+		});
 	}
 
 	/**
 	 * Returns an Author for the given id
 	 * 
 	 * @param id Primary key of the Author
-	 * @return An instance of Author
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the Author
 	 */
-	public Author getAuthorById(Long id) {
-		try {
-			Optional<Author> author = authorService.findOne(id);
-			if (author.isPresent()) {
-				author.get().getBooks();
-				return author.get();
-			}
-		} catch (Exception e) {
-			// TODO: handle exception
-		}
-		return null;
+	public CompletableFuture<Author> getAuthorById(Long id, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> {
+			Set<String> fetchPaths = FetchPlanner.plan(environment.getSelectionSet());
+			return queryResultCache.get(Author.class, id, fetchPaths, () -> authorService.findOne(id, fetchPaths))
+					.orElse(null);
+		});
 	}
 
 	/**
 	 * Returns a Book for the given id
 	 * 
 	 * @param id Primary key of the Book
-	 * @return An instance of Book
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the Book
 	 */
-	public Book getBookById(Long id) {
-		try {
-			Optional<Book> book = bookService.findOne(id);
-			if (book.isPresent()) {
-				return book.get();
+	public CompletableFuture<Book> getBookById(Long id, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> {
+			Set<String> fetchPaths = FetchPlanner.plan(environment.getSelectionSet());
+			return queryResultCache.get(Book.class, id, fetchPaths, () -> bookService.findOne(id, fetchPaths))
+					.orElse(null);
+		});
+	}
+
+	/**
+	 * Returns the Book with the given ISBN, its id being found in memory. A Book
+	 * whose ISBN changed since is not returned.
+	 * 
+	 * @param isbn ISBN-10 or ISBN-13 of the Book, with or without hyphens
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the Book
+	 */
+	public CompletableFuture<Book> getBookByIsbn(String isbn, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> {
+			Optional<Long> id = isbnIndex.findBookId(isbn);
+			if (id.isEmpty()) {
+				return null;
 			}
-		} catch (Exception e) {
-			// TODO: handle exception
+			Set<String> fetchPaths = FetchPlanner.plan(environment.getSelectionSet());
+			return queryResultCache.get(Book.class, id.get(), fetchPaths,
+					() -> bookService.findOne(id.get(), fetchPaths))
+					.filter(book -> Isbn.normalize(isbn).equals(book.getIsbn13())).orElse(null);
+		});
+	}
+
+	/**
+	 * Returns the connection of all the Publishers
+	 * 
+	 * @param first Number of Publishers to return
+	 * @param after Cursor of the last Publisher already seen
+	 * @param orderBy Order of the Publishers
+	 * @param descending Whether to return the Publishers in descending order
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the connection of Publishers
+	 */
+	public CompletableFuture<KeysetConnection<Publisher>> getPublishersConnection(int first, String after,
+			PublisherOrder orderBy, boolean descending, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> KeysetConnection.find(first, pagination, after, orderBy.getProperty(),
+				descending, environment, publisherService::findAll));
+	}
+
+	/**
+	 * Returns the connection of all the Authors
+	 * 
+	 * @param first Number of Authors to return
+	 * @param after Cursor of the last Author already seen
+	 * @param orderBy Order of the Authors
+	 * @param descending Whether to return the Authors in descending order
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the connection of Authors
+	 */
+	public CompletableFuture<KeysetConnection<Author>> getAuthorsConnection(int first, String after,
+			AuthorOrder orderBy, boolean descending, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> KeysetConnection.find(first, pagination, after, orderBy.getProperty(),
+				descending, environment, authorService::findAll));
+	}
+
+	/**
+	 * Returns the connection of all the Books
+	 * 
+	 * @param first Number of Books to return
+	 * @param after Cursor of the last Book already seen
+	 * @param orderBy Order of the Books
+	 * @param descending Whether to return the Books in descending order
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the connection of Books
+	 */
+	public CompletableFuture<KeysetConnection<Book>> getBooksConnection(int first, String after,
+			BookOrder orderBy, boolean descending, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> KeysetConnection.find(first, pagination, after, orderBy.getProperty(),
+				descending, environment, bookService::findAll));
+	}
+
+	/**
+	 * Returns the connection of the Books whose title and author name contain all
+	 * the words of the given text
+	 * 
+	 * @param text The words to search for
+	 * @param first Number of Books to return
+	 * @param after Cursor of the last Book already seen
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the connection of Books, in the order of their ids
+	 */
+	public CompletableFuture<KeysetConnection<Book>> searchBooks(String text, int first, String after,
+			DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> KeysetConnection.find(first, pagination, after, null, false,
+				environment, request -> bookSearchIndex.search(text, request)));
+	}
+
+	/**
+	 * Returns the most popular Book titles and Author names starting with the
+	 * given prefix. They are read from memory, so without going through the
+	 * {@link ResolverExecutor}.
+	 * 
+	 * @param prefix The text typed so far
+	 * @param limit Maximum number of suggestions
+	 * @return The suggestions, most popular first
+	 */
+	public List<Suggestion> autocomplete(String prefix, int limit) {
+		try {
+			return autocompleteIndex.complete(prefix, limit);
+		} catch (IllegalArgumentException e) {
+			throw GraphqlErrorException.newErrorException().message(e.getMessage()).build();
 		}
-		return null;
 	}
 }
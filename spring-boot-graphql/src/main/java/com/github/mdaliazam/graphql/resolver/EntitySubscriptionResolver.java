@@ -0,0 +1,62 @@
+package com.github.mdaliazam.graphql.resolver;
+
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.resolver.subscription.ChangeBroadcaster;
+import com.github.mdaliazam.graphql.resolver.subscription.PublisherChange;
+
+import graphql.kickstart.tools.GraphQLSubscriptionResolver;
+
+/**
+ * GraphQL subscription resolver streaming the changes of the catalog over the
+ * WebSocket endpoint, so that clients do not need to poll for them
+ *
+ * @see ChangeBroadcaster
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class EntitySubscriptionResolver implements GraphQLSubscriptionResolver {
+
+	private final ChangeBroadcaster changeBroadcaster;
+
+	/**
+	 * Constructor that takes the injected ChangeBroadcaster bean
+	 *
+	 * @param changeBroadcaster An instance of Spring managed ChangeBroadcaster bean
+	 */
+	public EntitySubscriptionResolver(ChangeBroadcaster changeBroadcaster) {
+		this.changeBroadcaster = changeBroadcaster;
+	}
+
+	/**
+	 * Streams the Books created from now on
+	 *
+	 * @return A publisher of Books
+	 */
+	public Publisher<Book> bookAdded() {
+		return changeBroadcaster.bookAdded();
+	}
+
+	/**
+	 * Streams the Books updated from now on
+	 *
+	 * @param authorId Only stream the Books of this Author, if given
+	 * @return A publisher of Books
+	 */
+	public Publisher<Book> bookUpdated(Long authorId) {
+		return changeBroadcaster.bookUpdated(authorId);
+	}
+
+	/**
+	 * Streams the Publishers created, updated or deleted from now on
+	 *
+	 * @return A publisher of the changes
+	 */
+	public Publisher<PublisherChange> publisherChanged() {
+		return changeBroadcaster.publisherChanged();
+	}
+}
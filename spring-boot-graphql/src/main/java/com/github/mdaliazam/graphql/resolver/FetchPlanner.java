@@ -0,0 +1,76 @@
+package com.github.mdaliazam.graphql.resolver;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.SelectedField;
+
+/**
+ * Translates the selection set of a root query into the association paths
+ * (e.g. {@code authors.books}) that should be fetched together with the root
+ * entity. The GraphQL field names are the same as the JPA attribute names.
+ * <p>
+ * Only one collection is planned per entity, since fetching sibling collections
+ * in one query multiplies the rows. Associations left out of the plan are still
+ * resolved, in batches, by the data loaders. Connection fields, and list fields
+ * taking a page size ({@code first}), are never planned: without it they
+ * return a page of the default size, not the whole association.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public final class FetchPlanner {
+
+	private FetchPlanner() {
+	}
+
+	/**
+	 * Returns the association paths requested by the given selection set
+	 *
+	 * @param selectionSet The selection set of the root field
+	 * @return Dot separated association paths, parents before children
+	 */
+	public static Set<String> plan(DataFetchingFieldSelectionSet selectionSet) {
+		Set<String> paths = new LinkedHashSet<>();
+		plan("", selectionSet, paths);
+		return paths;
+	}
+
+	private static void plan(String prefix, DataFetchingFieldSelectionSet selectionSet, Set<String> paths) {
+		String plannedCollection = null;
+		for (SelectedField field : selectionSet.getFields("*")) {
+			GraphQLType type = GraphQLTypeUtil.unwrapNonNull(field.getFieldDefinition().getType());
+			if (!(GraphQLTypeUtil.unwrapAll(type) instanceof GraphQLObjectType) || isConnection(type)
+					|| isPaged(field)) {
+				continue;
+			}
+			if (GraphQLTypeUtil.isList(type)) {
+				if (plannedCollection != null && !plannedCollection.equals(field.getName())) {
+					continue;
+				}
+				plannedCollection = field.getName();
+			}
+			String path = prefix + field.getName();
+			paths.add(path);
+			plan(path + ".", field.getSelectionSet(), paths);
+		}
+	}
+
+	/**
+	 * Pages of a list are read by their own query, not from the association
+	 */
+	private static boolean isPaged(SelectedField field) {
+		return field.getFieldDefinition().getArgument("first") != null;
+	}
+
+	/**
+	 * Connections are not associations, their nodes are paged by their own query
+	 */
+	private static boolean isConnection(GraphQLType type) {
+		return GraphQLTypeUtil.unwrapAll(type).getName().endsWith("Connection");
+	}
+}
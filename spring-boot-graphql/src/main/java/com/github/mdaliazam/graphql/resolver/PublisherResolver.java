@@ -0,0 +1,165 @@
+package com.github.mdaliazam.graphql.resolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.execution.ResolverExecutor;
+import com.github.mdaliazam.graphql.resolver.connection.KeysetConnection;
+import com.github.mdaliazam.graphql.resolver.dataloader.DataLoaderRegistryFactory;
+import com.github.mdaliazam.graphql.resolver.dataloader.DataLoaderRegistryFactory.FirstPage;
+import com.github.mdaliazam.graphql.resolver.input.AuthorOrder;
+import com.github.mdaliazam.graphql.resolver.input.BookOrder;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
+
+import graphql.kickstart.tools.GraphQLResolver;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * GraphQL field resolvers of the Publisher type, batched through the request
+ * scoped data loaders
+ *
+ * @see DataLoaderRegistryFactory
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class PublisherResolver implements GraphQLResolver<Publisher> {
+
+	private final AuthorService authorService;
+
+	private final BookService bookService;
+
+	private final ResolverExecutor resolverExecutor;
+
+	private final GraphQLProperties.Pagination pagination;
+
+	/**
+	 * Constructor that takes instances of the injected service beans
+	 *
+	 * @param authorService An instance of Spring managed AuthorService bean
+	 * @param bookService An instance of Spring managed BookService bean
+	 * @param resolverExecutor An instance of Spring managed ResolverExecutor bean
+	 * @param graphQLProperties The settings holding the bounds of the page sizes
+	 */
+	public PublisherResolver(AuthorService authorService, BookService bookService,
+			ResolverExecutor resolverExecutor, GraphQLProperties graphQLProperties) {
+		this.authorService = authorService;
+		this.bookService = bookService;
+		this.resolverExecutor = resolverExecutor;
+		this.pagination = graphQLProperties.getPagination();
+	}
+
+	/**
+	 * Returns the Authors of the given Publisher
+	 *
+	 * @param publisher The parent Publisher
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the Authors
+	 */
+	public CompletableFuture<List<Author>> getAuthors(Publisher publisher, DataFetchingEnvironment environment) {
+		if (Hibernate.isInitialized(publisher.getAuthors())) {
+			return CompletableFuture.completedFuture(new ArrayList<>(publisher.getAuthors()));
+		}
+		return environment.<Long, List<Author>>getDataLoader(DataLoaderRegistryFactory.AUTHORS_BY_PUBLISHER_LOADER)
+				.load(publisher.getId());
+	}
+
+	/**
+	 * Returns a page of the Books of the given Publisher, read through the index of
+	 * their Publisher and id. The first pages of the Publishers of a level are read
+	 * together.
+	 *
+	 * @param publisher The parent Publisher
+	 * @param first Number of Books to return, or null for the default page size
+	 * @param after Id of the last Book already seen, or null
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the Books
+	 */
+	public CompletableFuture<List<Book>> getBooks(Publisher publisher, Integer first, Long after,
+			DataFetchingEnvironment environment) {
+		int size = KeysetConnection.pageSize(first, pagination);
+		if (after != null) {
+			return resolverExecutor.supply(() -> bookService.findByPublisherId(publisher.getId(), after, size));
+		}
+		return environment.<FirstPage, List<Book>>getDataLoader(DataLoaderRegistryFactory.BOOKS_BY_PUBLISHER_LOADER)
+				.load(new FirstPage(publisher.getId(), size));
+	}
+
+	/**
+	 * Returns the number of Authors of the given Publisher, counted without
+	 * loading them
+	 *
+	 * @param publisher The parent Publisher
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the number of Authors
+	 */
+	public CompletableFuture<Long> getAuthorCount(Publisher publisher, DataFetchingEnvironment environment) {
+		if (Hibernate.isInitialized(publisher.getAuthors())) {
+			return CompletableFuture.completedFuture((long) publisher.getAuthors().size());
+		}
+		return environment.<Long, Long>getDataLoader(DataLoaderRegistryFactory.AUTHOR_COUNT_BY_PUBLISHER_LOADER)
+				.load(publisher.getId());
+	}
+
+	/**
+	 * Returns the number of Books of the given Publisher, counted without loading
+	 * them
+	 *
+	 * @param publisher The parent Publisher
+	 * @param environment The environment holding the data loaders of the request
+	 * @return A future of the number of Books
+	 */
+	public CompletableFuture<Long> getBookCount(Publisher publisher, DataFetchingEnvironment environment) {
+		if (Hibernate.isInitialized(publisher.getBooks())) {
+			return CompletableFuture.completedFuture((long) publisher.getBooks().size());
+		}
+		return environment.<Long, Long>getDataLoader(DataLoaderRegistryFactory.BOOK_COUNT_BY_PUBLISHER_LOADER)
+				.load(publisher.getId());
+	}
+
+	/**
+	 * Returns a connection of the Authors of the given Publisher, read with one query
+	 * per Publisher
+	 *
+	 * @param publisher The parent Publisher
+	 * @param first Number of Authors to return
+	 * @param after Cursor of the last Author already seen
+	 * @param orderBy Order of the Authors
+	 * @param descending Whether to return the Authors in descending order
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the connection of Authors
+	 */
+	public CompletableFuture<KeysetConnection<Author>> getAuthorsConnection(Publisher publisher, int first, String after,
+			AuthorOrder orderBy, boolean descending, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> KeysetConnection.find(first, pagination, after, orderBy.getProperty(),
+				descending, environment, request -> authorService.findByPublisherId(publisher.getId(), request)));
+	}
+
+	/**
+	 * Returns a connection of the Books of the given Publisher, read with one query
+	 * per Publisher
+	 *
+	 * @param publisher The parent Publisher
+	 * @param first Number of Books to return
+	 * @param after Cursor of the last Book already seen
+	 * @param orderBy Order of the Books
+	 * @param descending Whether to return the Books in descending order
+	 * @param environment The environment holding the requested selection set
+	 * @return A future of the connection of Books
+	 */
+	public CompletableFuture<KeysetConnection<Book>> getBooksConnection(Publisher publisher, int first, String after,
+			BookOrder orderBy, boolean descending, DataFetchingEnvironment environment) {
+		return resolverExecutor.supply(() -> KeysetConnection.find(first, pagination, after, orderBy.getProperty(),
+				descending, environment, request -> bookService.findByPublisherId(publisher.getId(), request)));
+	}
+}
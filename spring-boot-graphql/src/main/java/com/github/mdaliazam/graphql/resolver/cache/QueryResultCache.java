@@ -0,0 +1,357 @@
+package com.github.mdaliazam.graphql.resolver.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.mdaliazam.graphql.config.CacheProperties;
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.service.event.EntitiesChangedEvent;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches the results of the root queries in front of the services. An entry is
+ * kept per entity id and holds one result per fetch plan, since the same id
+ * requested with a different selection is loaded with different associations.
+ * The cache is bounded in size and evicts with Caffeine's W-TinyLFU policy.
+ * <p>
+ * Saving or deleting an entity drops its entry and the entries of its parents
+ * once the transaction has committed, as well as the entries that embed it: the
+ * entities fetched along the fetch plan of a result (e.g. the author of a book)
+ * are recorded when it is cached. A result loaded while the entity or one it
+ * embeds changed is not cached, as it may have been read before the change: the
+ * invalidations are stamped per entity, and kept as long as a load started
+ * before them is running, so that the changes of unrelated entities do not keep
+ * the results of a busy catalog from being cached.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class QueryResultCache {
+
+	private final Logger log = LoggerFactory.getLogger(QueryResultCache.class);
+
+	private final Cache<Key, Entry> cache;
+
+	/**
+	 * The keys of the entries embedding each entity
+	 */
+	private final Map<Key, Set<Key>> dependents = new ConcurrentHashMap<>();
+
+	/**
+	 * The stamp of the last invalidation of each entity, kept while an older
+	 * load is running
+	 */
+	private final Map<Key, Long> invalidations = new ConcurrentHashMap<>();
+
+	/**
+	 * The stamps of the running loads
+	 */
+	private final ConcurrentSkipListSet<Long> loads = new ConcurrentSkipListSet<>();
+
+	/**
+	 * Starting a load and caching take the read lock, invalidating the write
+	 * lock, so that a result is never cached once an entity it may embed is
+	 * invalidated
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * Stamps the loads and the invalidations
+	 */
+	private final AtomicLong clock = new AtomicLong();
+
+	// guarded by lock, the number of invalidations above which they are pruned
+	private int pruneAt = 64;
+
+	public QueryResultCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+		CacheProperties.Region settings = cacheProperties.getResolver();
+		Caffeine<Key, Entry> builder = Caffeine.newBuilder().maximumSize(settings.getMaxEntries()).recordStats()
+				.removalListener((Key key, Entry entry, RemovalCause cause) -> forget(key, entry));
+		if (!settings.getTimeToLive().isZero()) {
+			builder.expireAfterWrite(settings.getTimeToLive());
+		}
+		this.cache = CaffeineCacheMetrics.monitor(meterRegistry, builder.build(), "graphql.query.results");
+	}
+
+	/**
+	 * Returns the cached result for the given id and fetch plan, or loads and
+	 * caches it
+	 *
+	 * @param type       The entity class
+	 * @param id         The id of the entity
+	 * @param fetchPaths The fetch plan of the requested selection
+	 * @param loader     Loads the entity on a cache miss
+	 * @return The entity, if it exists
+	 */
+	public <T> Optional<T> get(Class<T> type, Long id, Set<String> fetchPaths, Supplier<Optional<T>> loader) {
+		Key key = new Key(type, id);
+		Entry cached = cache.getIfPresent(key);
+		if (cached != null && cached.results.containsKey(fetchPaths)) {
+			return Optional.of(type.cast(cached.results.get(fetchPaths)));
+		}
+		long loaded = startLoad();
+		try {
+			Optional<T> result = loader.get();
+			result.ifPresent(entity -> put(key, fetchPaths, entity, loaded));
+			return result;
+		} finally {
+			loads.remove(loaded);
+		}
+	}
+
+	/**
+	 * Returns the stamp of a new load, registered as running
+	 */
+	private long startLoad() {
+		lock.readLock().lock();
+		try {
+			long loaded = clock.incrementAndGet();
+			loads.add(loaded);
+			return loaded;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Caches a result, unless it or an entity it embeds was invalidated since it
+	 * was loaded
+	 */
+	private void put(Key key, Set<String> fetchPaths, Object entity, long loaded) {
+		Set<Key> embedded = new HashSet<>();
+		for (String path : fetchPaths) {
+			collect(entity, List.of(path.split("\\.")), embedded);
+		}
+		lock.readLock().lock();
+		try {
+			if (invalidatedSince(key, loaded) || embedded.stream().anyMatch(k -> invalidatedSince(k, loaded))) {
+				return;
+			}
+			Entry entry = cache.get(key, k -> new Entry());
+			entry.results.put(Set.copyOf(fetchPaths), entity);
+			for (Key dependency : embedded) {
+				entry.dependencies.add(dependency);
+				dependents.computeIfAbsent(dependency, k -> ConcurrentHashMap.newKeySet()).add(key);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private boolean invalidatedSince(Key key, long loaded) {
+		Long invalidated = invalidations.get(key);
+		return invalidated != null && invalidated > loaded;
+	}
+
+	/**
+	 * Adds the keys of the entities fetched along the given path, the GraphQL
+	 * field names being the names of the entity attributes
+	 */
+	private static void collect(Object entity, List<String> path, Set<Key> keys) {
+		if (path.isEmpty()) {
+			return;
+		}
+		Object value = PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(path.get(0));
+		if (value == null || !Hibernate.isInitialized(value)) {
+			return;
+		}
+		Collection<?> children = value instanceof Collection ? (Collection<?>) value : List.of(value);
+		for (Object child : children) {
+			BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(child);
+			keys.add(new Key(Hibernate.getClass(child), (Long) wrapper.getPropertyValue("id")));
+			collect(child, path.subList(1, path.size()), keys);
+		}
+	}
+
+	/**
+	 * Forgets the entities embedded by an entry which is no longer cached
+	 */
+	private void forget(Key key, Entry entry) {
+		if (key == null || entry == null) {
+			return;
+		}
+		Entry current = cache.getIfPresent(key);
+		for (Key dependency : entry.dependencies) {
+			if (current == null || !current.dependencies.contains(dependency)) {
+				dependents.computeIfPresent(dependency, (k, keys) -> {
+					keys.remove(key);
+					return keys.isEmpty() ? null : keys;
+				});
+			}
+		}
+	}
+
+	/**
+	 * Drops the entries of the changed entity, of its parents and of the results
+	 * embedding it
+	 *
+	 * @param event The change published by the services
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEntityChanged(EntityChangedEvent event) {
+		Set<Key> keys = new HashSet<>();
+		addKeys(event.getEntity(), keys);
+		invalidate(keys, event);
+	}
+
+	/**
+	 * Drops the entries of the changed entities, of their parents and of the
+	 * results embedding them, at once
+	 *
+	 * @param event The changes published by the services
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEntitiesChanged(EntitiesChangedEvent event) {
+		Set<Key> keys = new HashSet<>();
+		event.getEntities().forEach(entity -> addKeys(entity, keys));
+		invalidate(keys, event);
+	}
+
+	/**
+	 * Adds the keys of the given entity and of its parents
+	 */
+	private void addKeys(Object entity, Set<Key> keys) {
+		if (entity instanceof Book) {
+			Book book = (Book) entity;
+			keys.add(new Key(Book.class, book.getId()));
+			addParents(book, keys);
+			// the book may have been moved away from the parents it was cached with
+			Entry cached = cache.getIfPresent(new Key(Book.class, book.getId()));
+			if (cached != null) {
+				cached.results.values().forEach(previous -> addParents((Book) previous, keys));
+			}
+		} else if (entity instanceof Author) {
+			Author author = (Author) entity;
+			keys.add(new Key(Author.class, author.getId()));
+			if (author.getPublisher() != null) {
+				keys.add(new Key(Publisher.class, author.getPublisher().getId()));
+			}
+		} else if (entity instanceof Publisher) {
+			keys.add(new Key(Publisher.class, ((Publisher) entity).getId()));
+		}
+	}
+
+	/**
+	 * Drops the entries of the given keys and of the results embedding them
+	 */
+	private void invalidate(Set<Key> keys, Object event) {
+		lock.writeLock().lock();
+		try {
+			long invalidated = clock.incrementAndGet();
+			for (Key key : List.copyOf(keys)) {
+				Set<Key> embedding = dependents.remove(key);
+				if (embedding != null) {
+					keys.addAll(embedding);
+				}
+			}
+			log.debug("Invalidating {} after {}", keys, event);
+			keys.forEach(key -> invalidations.put(key, invalidated));
+			cache.invalidateAll(keys);
+			prune();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Forgets the invalidations older than the running loads, once they are
+	 * twice as many as after the last pruning, so that pruning stays amortized.
+	 * Called under the write lock.
+	 */
+	private void prune() {
+		if (invalidations.size() < pruneAt) {
+			return;
+		}
+		Long oldest = loads.isEmpty() ? null : loads.first();
+		if (oldest == null) {
+			invalidations.clear();
+		} else {
+			invalidations.values().removeIf(invalidated -> invalidated <= oldest);
+		}
+		pruneAt = Math.max(64, invalidations.size() * 2);
+	}
+
+	private static void addParents(Book book, Set<Key> keys) {
+		if (book.getAuthor() != null) {
+			keys.add(new Key(Author.class, book.getAuthor().getId()));
+		}
+		if (book.getPublisher() != null) {
+			keys.add(new Key(Publisher.class, book.getPublisher().getId()));
+		}
+	}
+
+	/**
+	 * The results cached for an entity, by fetch plan, and the entities they
+	 * embed
+	 */
+	private static final class Entry {
+
+		private final Map<Set<String>, Object> results = new ConcurrentHashMap<>();
+
+		private final Set<Key> dependencies = ConcurrentHashMap.newKeySet();
+	}
+
+	/**
+	 * Identifies an entity by its class and id
+	 */
+	private static final class Key {
+
+		private final Class<?> type;
+
+		private final Long id;
+
+		Key(Class<?> type, Long id) {
+			this.type = type;
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			return type.equals(((Key) o).type) && Objects.equals(id, ((Key) o).id);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type.hashCode() + Objects.hashCode(id);
+		}
+
+		@Override
+		public String toString() {
+			return type.getSimpleName() + "#" + id;
+		}
+	}
+}
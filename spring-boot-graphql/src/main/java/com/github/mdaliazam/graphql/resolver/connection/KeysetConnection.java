@@ -0,0 +1,102 @@
+package com.github.mdaliazam.graphql.resolver.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+
+import graphql.GraphqlErrorException;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.DefaultEdge;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * A Relay connection read from a keyset slice. The total count is only
+ * queried when the {@code totalCount} field is selected.
+ *
+ * @see com.github.mdaliazam.graphql.repository.KeysetRepository
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class KeysetConnection<T> extends DefaultConnection<T> {
+
+	private final Long totalCount;
+
+	private KeysetConnection(List<Edge<T>> edges, DefaultPageInfo pageInfo, Long totalCount) {
+		super(edges, pageInfo);
+		this.totalCount = totalCount;
+	}
+
+	/**
+	 * @return the number of all the nodes, or null if it was not selected
+	 */
+	public Long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Reads the connection requested by the arguments of a connection field
+	 *
+	 * @param first       the number of edges to return
+	 * @param pagination  the bounds of the number of edges
+	 * @param after       the cursor to continue after, or null
+	 * @param property    the property to order by before the id, or null
+	 * @param descending  whether to order in descending order
+	 * @param environment the environment holding the selection set
+	 * @param finder      reads the slice of the nodes
+	 * @return the connection
+	 * @throws GraphqlErrorException if the arguments are not valid
+	 */
+	public static <T> KeysetConnection<T> find(int first, GraphQLProperties.Pagination pagination, String after,
+			String property, boolean descending, DataFetchingEnvironment environment,
+			Function<KeysetRequest, KeysetSlice<T>> finder) {
+		int size = pageSize(first, pagination);
+		KeysetSlice<T> slice;
+		try {
+			slice = finder.apply(new KeysetRequest(size, after, property, descending,
+					environment.getSelectionSet().contains("totalCount")));
+		} catch (IllegalArgumentException e) {
+			throw GraphqlErrorException.newErrorException().message(e.getMessage()).build();
+		} catch (InvalidDataAccessApiUsageException e) {
+			throw GraphqlErrorException.newErrorException().message(e.getMostSpecificCause().getMessage()).build();
+		}
+		List<Edge<T>> edges = new ArrayList<>();
+		for (int i = 0; i < slice.getContent().size(); i++) {
+			edges.add(new DefaultEdge<>(slice.getContent().get(i),
+					new DefaultConnectionCursor(slice.getCursors().get(i))));
+		}
+		// a cursor was given, so at least the node it was issued for comes before
+		DefaultPageInfo pageInfo = new DefaultPageInfo(edges.isEmpty() ? null : edges.get(0).getCursor(),
+				edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor(), after != null, slice.hasNext());
+		return new KeysetConnection<>(edges, pageInfo, slice.getTotalCount());
+	}
+
+	/**
+	 * Returns the size of a page, the default size if it is not given
+	 *
+	 * @param first      the requested size, or null
+	 * @param pagination the default and maximum sizes
+	 * @return the size
+	 * @throws GraphqlErrorException if the size is not positive or exceeds the
+	 *                               maximum
+	 */
+	public static int pageSize(Integer first, GraphQLProperties.Pagination pagination) {
+		if (first == null) {
+			return pagination.getDefaultPageSize();
+		}
+		if (first < 1 || first > pagination.getMaxPageSize()) {
+			throw GraphqlErrorException.newErrorException()
+					.message("first must be between 1 and " + pagination.getMaxPageSize() + ", was " + first).build();
+		}
+		return first;
+	}
+}
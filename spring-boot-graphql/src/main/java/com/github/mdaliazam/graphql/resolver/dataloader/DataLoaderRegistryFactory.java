@@ -0,0 +1,195 @@
+package com.github.mdaliazam.graphql.resolver.dataloader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.execution.ResolverExecutor;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.PublisherService;
+
+/**
+ * Creates a fresh {@link DataLoaderRegistry} for every GraphQL request. Each
+ * registered loader collects the keys requested while one execution level is
+ * resolved and fetches them with a single IN-query when the level is
+ * dispatched. The loaders dispatched together, e.g. the authors and the
+ * publishers of a list of books, fetch in parallel on the
+ * {@link ResolverExecutor}.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class DataLoaderRegistryFactory {
+
+	public static final String AUTHOR_LOADER = "authorLoader";
+	public static final String PUBLISHER_LOADER = "publisherLoader";
+	public static final String BOOKS_BY_AUTHOR_LOADER = "booksByAuthorLoader";
+	public static final String BOOKS_BY_PUBLISHER_LOADER = "booksByPublisherLoader";
+	public static final String AUTHORS_BY_PUBLISHER_LOADER = "authorsByPublisherLoader";
+	public static final String BOOK_COUNT_BY_AUTHOR_LOADER = "bookCountByAuthorLoader";
+	public static final String BOOK_COUNT_BY_PUBLISHER_LOADER = "bookCountByPublisherLoader";
+	public static final String AUTHOR_COUNT_BY_PUBLISHER_LOADER = "authorCountByPublisherLoader";
+
+	private final PublisherService publisherService;
+	private final AuthorService authorService;
+	private final BookService bookService;
+	private final ResolverExecutor resolverExecutor;
+
+	/**
+	 * Constructor that takes instances of injected service bean for all entities
+	 *
+	 * @param publisherService An instance of Spring managed PublisherService bean
+	 * @param authorService An instance of Spring managed AuthorService bean
+	 * @param bookService An instance of Spring managed BookService bean
+	 * @param resolverExecutor An instance of Spring managed ResolverExecutor bean
+	 */
+	public DataLoaderRegistryFactory(PublisherService publisherService, AuthorService authorService,
+			BookService bookService, ResolverExecutor resolverExecutor) {
+		this.publisherService = publisherService;
+		this.authorService = authorService;
+		this.bookService = bookService;
+		this.resolverExecutor = resolverExecutor;
+	}
+
+	/**
+	 * Creates a registry holding one instance of every loader, so that keys are
+	 * cached and batched within a single request only
+	 *
+	 * @return A new DataLoaderRegistry
+	 */
+	public DataLoaderRegistry create() {
+		DataLoaderRegistry registry = new DataLoaderRegistry();
+		registry.register(AUTHOR_LOADER, DataLoader.newMappedDataLoader(this::loadAuthors));
+		registry.register(PUBLISHER_LOADER, DataLoader.newMappedDataLoader(this::loadPublishers));
+		registry.register(BOOKS_BY_AUTHOR_LOADER, DataLoader.newMappedDataLoader(this::loadBooksByAuthor));
+		registry.register(BOOKS_BY_PUBLISHER_LOADER, DataLoader.newMappedDataLoader(this::loadBooksByPublisher));
+		registry.register(AUTHORS_BY_PUBLISHER_LOADER, DataLoader.newMappedDataLoader(this::loadAuthorsByPublisher));
+		registry.register(BOOK_COUNT_BY_AUTHOR_LOADER, DataLoader.newMappedDataLoader(this::countBooksByAuthor));
+		registry.register(BOOK_COUNT_BY_PUBLISHER_LOADER, DataLoader.newMappedDataLoader(this::countBooksByPublisher));
+		registry.register(AUTHOR_COUNT_BY_PUBLISHER_LOADER,
+				DataLoader.newMappedDataLoader(this::countAuthorsByPublisher));
+		return registry;
+	}
+
+	private CompletionStage<Map<Long, Author>> loadAuthors(Set<Long> ids) {
+		return resolverExecutor.supply(() -> authorService.findAllById(ids).stream()
+				.collect(Collectors.toMap(Author::getId, Function.identity())));
+	}
+
+	private CompletionStage<Map<Long, Publisher>> loadPublishers(Set<Long> ids) {
+		return resolverExecutor.supply(() -> publisherService.findAllById(ids).stream()
+				.collect(Collectors.toMap(Publisher::getId, Function.identity())));
+	}
+
+	private CompletionStage<Map<FirstPage, List<Book>>> loadBooksByAuthor(Set<FirstPage> pages) {
+		return resolverExecutor.supply(() -> loadFirstPages(pages, bookService::findFirstByAuthorIds,
+				book -> book.getAuthor().getId()));
+	}
+
+	private CompletionStage<Map<FirstPage, List<Book>>> loadBooksByPublisher(Set<FirstPage> pages) {
+		return resolverExecutor.supply(() -> loadFirstPages(pages, bookService::findFirstByPublisherIds,
+				book -> book.getPublisher().getId()));
+	}
+
+	private CompletionStage<Map<Long, List<Author>>> loadAuthorsByPublisher(Set<Long> publisherIds) {
+		return resolverExecutor.supply(() -> groupBy(publisherIds, authorService.findByPublisherIds(publisherIds),
+				author -> author.getPublisher().getId()));
+	}
+
+	private CompletionStage<Map<Long, Long>> countBooksByAuthor(Set<Long> authorIds) {
+		return resolverExecutor.supply(() -> withZeros(authorIds, bookService.countByAuthorIds(authorIds)));
+	}
+
+	private CompletionStage<Map<Long, Long>> countBooksByPublisher(Set<Long> publisherIds) {
+		return resolverExecutor.supply(() -> withZeros(publisherIds, bookService.countByPublisherIds(publisherIds)));
+	}
+
+	private CompletionStage<Map<Long, Long>> countAuthorsByPublisher(Set<Long> publisherIds) {
+		return resolverExecutor
+				.supply(() -> withZeros(publisherIds, authorService.countByPublisherIds(publisherIds)));
+	}
+
+	/**
+	 * Gives the parents without children, which the counts leave out, a count of
+	 * zero rather than null
+	 */
+	private static Map<Long, Long> withZeros(Set<Long> parentIds, Map<Long, Long> counts) {
+		Map<Long, Long> result = new HashMap<>(counts);
+		parentIds.forEach(id -> result.putIfAbsent(id, 0L));
+		return result;
+	}
+
+	/**
+	 * Loads the pages of the same size with one query
+	 */
+	private static <T> Map<FirstPage, List<T>> loadFirstPages(Set<FirstPage> pages,
+			BiFunction<Set<Long>, Integer, List<T>> finder, Function<T, Long> parentId) {
+		Map<Integer, Set<Long>> parentIdsBySize = pages.stream().collect(
+				Collectors.groupingBy(page -> page.size, Collectors.mapping(page -> page.parentId, Collectors.toSet())));
+		Map<FirstPage, List<T>> result = new HashMap<>();
+		parentIdsBySize.forEach((size, parentIds) -> groupBy(parentIds, finder.apply(parentIds, size), parentId)
+				.forEach((id, children) -> result.put(new FirstPage(id, size), children)));
+		return result;
+	}
+
+	/**
+	 * Groups the children by the id of their parent. Every requested parent gets
+	 * an entry, so that parents without children resolve to an empty list rather
+	 * than null.
+	 */
+	private static <T> Map<Long, List<T>> groupBy(Set<Long> parentIds, List<T> children, Function<T, Long> parentId) {
+		Map<Long, List<T>> result = new HashMap<>();
+		parentIds.forEach(id -> result.put(id, new ArrayList<>()));
+		children.forEach(child -> result.get(parentId.apply(child)).add(child));
+		return result;
+	}
+
+	/**
+	 * The key of the first page of the children of a parent, e.g. the first books
+	 * of an author
+	 */
+	public static final class FirstPage {
+
+		private final long parentId;
+
+		private final int size;
+
+		public FirstPage(long parentId, int size) {
+			this.parentId = parentId;
+			this.size = size;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof FirstPage)) {
+				return false;
+			}
+			FirstPage other = (FirstPage) o;
+			return parentId == other.parentId && size == other.size;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(parentId, size);
+		}
+	}
+}
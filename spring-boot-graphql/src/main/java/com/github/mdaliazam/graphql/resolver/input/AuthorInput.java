@@ -0,0 +1,30 @@
+package com.github.mdaliazam.graphql.resolver.input;
+
+/**
+ * An Author to add, as given to the {@code addAuthors} mutation
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class AuthorInput {
+
+	private String name;
+
+	private Long publisherId;
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Long getPublisherId() {
+		return publisherId;
+	}
+
+	public void setPublisherId(Long publisherId) {
+		this.publisherId = publisherId;
+	}
+}
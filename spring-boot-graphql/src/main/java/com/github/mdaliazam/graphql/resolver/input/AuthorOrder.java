@@ -0,0 +1,25 @@
+package com.github.mdaliazam.graphql.resolver.input;
+
+/**
+ * The orders of the authors connections
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public enum AuthorOrder {
+
+	ID(null), NAME("name");
+
+	private final String property;
+
+	AuthorOrder(String property) {
+		this.property = property;
+	}
+
+	/**
+	 * @return the property ordered by before the id, or null
+	 */
+	public String getProperty() {
+		return property;
+	}
+}
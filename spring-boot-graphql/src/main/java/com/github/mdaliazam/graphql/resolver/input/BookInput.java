@@ -0,0 +1,53 @@
+package com.github.mdaliazam.graphql.resolver.input;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A Book to add, as given to the {@code addBooks} mutation
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class BookInput {
+
+	private String title;
+
+	@JsonProperty("ISBN")
+	private String isbn;
+
+	private Long publisherId;
+
+	private Long authorId;
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getIsbn() {
+		return isbn;
+	}
+
+	public void setIsbn(String isbn) {
+		this.isbn = isbn;
+	}
+
+	public Long getPublisherId() {
+		return publisherId;
+	}
+
+	public void setPublisherId(Long publisherId) {
+		this.publisherId = publisherId;
+	}
+
+	public Long getAuthorId() {
+		return authorId;
+	}
+
+	public void setAuthorId(Long authorId) {
+		this.authorId = authorId;
+	}
+}
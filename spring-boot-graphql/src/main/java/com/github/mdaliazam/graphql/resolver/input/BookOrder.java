@@ -0,0 +1,25 @@
+package com.github.mdaliazam.graphql.resolver.input;
+
+/**
+ * The orders of the books connections
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public enum BookOrder {
+
+	ID(null), TITLE("title");
+
+	private final String property;
+
+	BookOrder(String property) {
+		this.property = property;
+	}
+
+	/**
+	 * @return the property ordered by before the id, or null
+	 */
+	public String getProperty() {
+		return property;
+	}
+}
@@ -0,0 +1,20 @@
+package com.github.mdaliazam.graphql.resolver.input;
+
+/**
+ * A Publisher to add, as given to the {@code addPublishers} mutation
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class PublisherInput {
+
+	private String name;
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+}
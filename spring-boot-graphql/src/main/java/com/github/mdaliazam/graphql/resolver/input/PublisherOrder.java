@@ -0,0 +1,25 @@
+package com.github.mdaliazam.graphql.resolver.input;
+
+/**
+ * The orders of the publishers connections
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public enum PublisherOrder {
+
+	ID(null), NAME("name");
+
+	private final String property;
+
+	PublisherOrder(String property) {
+		this.property = property;
+	}
+
+	/**
+	 * @return the property ordered by before the id, or null
+	 */
+	public String getProperty() {
+		return property;
+	}
+}
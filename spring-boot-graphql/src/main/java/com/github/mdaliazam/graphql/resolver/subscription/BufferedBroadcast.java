@@ -0,0 +1,186 @@
+package com.github.mdaliazam.graphql.resolver.subscription;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties.Subscriptions.Overflow;
+
+/**
+ * Broadcasts events to any number of reactive streams subscribers. Every
+ * subscriber gets its own buffer holding the events it has not requested yet,
+ * bounded in size: when it is full, an event is dropped according to the
+ * {@link Overflow} policy, so a slow subscriber loses events instead of
+ * holding an ever growing backlog.
+ * <p>
+ * Events are handed to the subscribers on the given executor, at most one
+ * task per subscriber at a time, never on the thread publishing them.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class BufferedBroadcast<T> {
+
+	private final Logger log = LoggerFactory.getLogger(BufferedBroadcast.class);
+
+	private final Set<BufferedSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+	private final int bufferSize;
+
+	private final Overflow overflow;
+
+	private final Executor executor;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	public BufferedBroadcast(int bufferSize, Overflow overflow, Executor executor) {
+		this.bufferSize = bufferSize;
+		this.overflow = overflow;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns a publisher of the events matching the given filter. Every
+	 * subscription to it lasts until it is cancelled.
+	 *
+	 * @param filter Selects the events to send
+	 * @return The publisher
+	 */
+	public Publisher<T> subscribe(Predicate<? super T> filter) {
+		return subscriber -> {
+			BufferedSubscription subscription = new BufferedSubscription(subscriber, filter);
+			subscriptions.add(subscription);
+			subscriber.onSubscribe(subscription);
+		};
+	}
+
+	/**
+	 * Sends the given event to the matching subscribers
+	 *
+	 * @param event The event
+	 */
+	public void publish(T event) {
+		subscriptions.forEach(subscription -> subscription.offer(event));
+	}
+
+	public boolean hasSubscribers() {
+		return !subscriptions.isEmpty();
+	}
+
+	public int getSubscriberCount() {
+		return subscriptions.size();
+	}
+
+	/**
+	 * @return The number of events dropped because of full buffers
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * The buffer and the demand of one subscriber
+	 */
+	private class BufferedSubscription implements Subscription {
+
+		private final Subscriber<? super T> subscriber;
+
+		private final Predicate<? super T> filter;
+
+		private final Deque<T> buffer = new ArrayDeque<>();
+
+		private final AtomicLong requested = new AtomicLong();
+
+		private final AtomicInteger work = new AtomicInteger();
+
+		private volatile boolean cancelled;
+
+		BufferedSubscription(Subscriber<? super T> subscriber, Predicate<? super T> filter) {
+			this.subscriber = subscriber;
+			this.filter = filter;
+		}
+
+		void offer(T event) {
+			if (cancelled || !filter.test(event)) {
+				return;
+			}
+			synchronized (buffer) {
+				if (buffer.size() >= bufferSize) {
+					dropped.incrementAndGet();
+					if (overflow == Overflow.DROP) {
+						return;
+					}
+					buffer.pollFirst();
+				}
+				buffer.offerLast(event);
+			}
+			schedule();
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				cancel();
+				subscriber.onError(new IllegalArgumentException("Requested " + n + " events, must be positive"));
+				return;
+			}
+			requested.accumulateAndGet(n, (current, more) -> current + more < 0 ? Long.MAX_VALUE : current + more);
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			subscriptions.remove(this);
+			synchronized (buffer) {
+				buffer.clear();
+			}
+		}
+
+		private void schedule() {
+			if (work.getAndIncrement() == 0) {
+				executor.execute(this::drain);
+			}
+		}
+
+		/**
+		 * Sends as many buffered events as requested, until no more work was
+		 * scheduled meanwhile
+		 */
+		private void drain() {
+			int missed = 1;
+			do {
+				while (!cancelled && requested.get() > 0) {
+					T event;
+					synchronized (buffer) {
+						event = buffer.pollFirst();
+					}
+					if (event == null) {
+						break;
+					}
+					if (requested.get() != Long.MAX_VALUE) {
+						requested.decrementAndGet();
+					}
+					try {
+						subscriber.onNext(event);
+					} catch (RuntimeException e) {
+						log.warn("Cancelling the subscription of {} failing on {}", subscriber, event, e);
+						cancel();
+					}
+				}
+				missed = work.addAndGet(-missed);
+			} while (missed != 0);
+		}
+	}
+}
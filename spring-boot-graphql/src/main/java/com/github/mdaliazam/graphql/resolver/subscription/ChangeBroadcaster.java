@@ -0,0 +1,154 @@
+package com.github.mdaliazam.graphql.resolver.subscription;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hibernate.Hibernate;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.event.EntitiesChangedEvent;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent.Change;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Feeds the GraphQL subscriptions with the changes published by the services,
+ * once their transaction has committed. The changes made through the GraphQL
+ * mutations, the REST resources and the imports are therefore all delivered.
+ * <p>
+ * The number of subscribers and of dropped events of every subscription are
+ * reported as the {@code graphql.subscriptions.subscribers} and
+ * {@code graphql.subscriptions.dropped} meters.
+ *
+ * @see BufferedBroadcast
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class ChangeBroadcaster implements DisposableBean {
+
+	private static final Set<String> BOOK_REFERENCES = Set.of("author", "publisher");
+
+	private final Logger log = LoggerFactory.getLogger(ChangeBroadcaster.class);
+
+	private final BookService bookService;
+
+	private final ExecutorService executor;
+
+	private final BufferedBroadcast<Book> bookAdded;
+
+	private final BufferedBroadcast<Book> bookUpdated;
+
+	private final BufferedBroadcast<PublisherChange> publisherChanged;
+
+	public ChangeBroadcaster(BookService bookService, GraphQLProperties graphQLProperties,
+			MeterRegistry meterRegistry) {
+		GraphQLProperties.Subscriptions settings = graphQLProperties.getSubscriptions();
+		this.bookService = bookService;
+		this.executor = Executors.newFixedThreadPool(settings.getDeliveryThreads(),
+				new CustomizableThreadFactory("graphql-subscription-"));
+		this.bookAdded = register("bookAdded", settings, meterRegistry);
+		this.bookUpdated = register("bookUpdated", settings, meterRegistry);
+		this.publisherChanged = register("publisherChanged", settings, meterRegistry);
+	}
+
+	private <T> BufferedBroadcast<T> register(String name, GraphQLProperties.Subscriptions settings,
+			MeterRegistry meterRegistry) {
+		BufferedBroadcast<T> broadcast = new BufferedBroadcast<>(settings.getBufferSize(), settings.getOverflow(),
+				executor);
+		Gauge.builder("graphql.subscriptions.subscribers", broadcast, BufferedBroadcast::getSubscriberCount)
+				.tag("subscription", name).register(meterRegistry);
+		FunctionCounter.builder("graphql.subscriptions.dropped", broadcast, BufferedBroadcast::getDroppedCount)
+				.tag("subscription", name).register(meterRegistry);
+		return broadcast;
+	}
+
+	/**
+	 * @return The publisher of the created Books
+	 */
+	public Publisher<Book> bookAdded() {
+		return bookAdded.subscribe(book -> true);
+	}
+
+	/**
+	 * @param authorId The id of the Author of the Books, or null for all Books
+	 * @return The publisher of the updated Books
+	 */
+	public Publisher<Book> bookUpdated(Long authorId) {
+		return bookUpdated.subscribe(
+				book -> authorId == null || book.getAuthor() != null && authorId.equals(book.getAuthor().getId()));
+	}
+
+	/**
+	 * @return The publisher of the created, updated and deleted Publishers
+	 */
+	public Publisher<PublisherChange> publisherChanged() {
+		return publisherChanged.subscribe(change -> true);
+	}
+
+	/**
+	 * Broadcasts the change to the subscriptions concerned
+	 *
+	 * @param event The change published by the services
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEntityChanged(EntityChangedEvent event) {
+		log.debug("Broadcasting {}", event);
+		broadcast(event);
+	}
+
+	/**
+	 * Broadcasts the changes of many entities to the subscriptions concerned
+	 *
+	 * @param event The changes published by the services
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEntitiesChanged(EntitiesChangedEvent event) {
+		log.debug("Broadcasting {}", event);
+		event.events().forEach(this::broadcast);
+	}
+
+	private void broadcast(EntityChangedEvent event) {
+		Object entity = event.getEntity();
+		if (entity instanceof Book && event.getChange() != Change.DELETED) {
+			BufferedBroadcast<Book> broadcast = event.getChange() == Change.CREATED ? bookAdded : bookUpdated;
+			if (broadcast.hasSubscribers()) {
+				broadcast.publish(initialized((Book) entity));
+			}
+		} else if (entity instanceof com.github.mdaliazam.graphql.domain.Publisher
+				&& publisherChanged.hasSubscribers()) {
+			publisherChanged.publish(PublisherChange.of(event));
+		}
+	}
+
+	/**
+	 * Returns the given book with its author and publisher initialized, since
+	 * the events are resolved after the session of the change is closed
+	 */
+	private Book initialized(Book book) {
+		if (Hibernate.isInitialized(book.getAuthor()) && Hibernate.isInitialized(book.getPublisher())) {
+			return book;
+		}
+		log.debug("Reloading {} for the subscribers", book);
+		return bookService.findOne(book.getId(), BOOK_REFERENCES).orElse(book);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+}
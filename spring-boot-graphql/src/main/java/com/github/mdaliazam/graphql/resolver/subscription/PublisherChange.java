@@ -0,0 +1,48 @@
+package com.github.mdaliazam.graphql.resolver.subscription;
+
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+
+/**
+ * A change of a Publisher, as sent to the {@code publisherChanged}
+ * subscription
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class PublisherChange {
+
+	/**
+	 * The kinds of change
+	 */
+	public enum ChangeType {
+		CREATED, UPDATED, DELETED
+	}
+
+	private final ChangeType change;
+
+	private final Publisher publisher;
+
+	public PublisherChange(ChangeType change, Publisher publisher) {
+		this.change = change;
+		this.publisher = publisher;
+	}
+
+	/**
+	 * @param event A change published by the services
+	 * @return The change of the Publisher of the event
+	 */
+	public static PublisherChange of(EntityChangedEvent event) {
+		ChangeType change = event.getChange() == EntityChangedEvent.Change.CREATED ? ChangeType.CREATED
+				: event.getChange() == EntityChangedEvent.Change.DELETED ? ChangeType.DELETED : ChangeType.UPDATED;
+		return new PublisherChange(change, (Publisher) event.getEntity());
+	}
+
+	public ChangeType getChange() {
+		return change;
+	}
+
+	public Publisher getPublisher() {
+		return publisher;
+	}
+}
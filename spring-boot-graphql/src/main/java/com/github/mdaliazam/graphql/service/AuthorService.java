@@ -1,11 +1,18 @@
 package com.github.mdaliazam.graphql.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.service.dto.AuthorSummary;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
 
 /**
  * Service Interface for managing {@link Author}.
@@ -23,6 +30,14 @@ public interface AuthorService {
 	 */
 	Author save(Author author);
 
+	/**
+	 * Save all the given authors in one transaction.
+	 *
+	 * @param authors the entities to save.
+	 * @return the persisted entities.
+	 */
+	List<Author> saveAll(Collection<Author> authors);
+
 	/**
 	 * Get all the authors.
 	 *
@@ -31,6 +46,32 @@ public interface AuthorService {
 	 */
 	Page<Author> findAll(Pageable pageable);
 
+	/**
+	 * Visit all the authors, read through a forward-only cursor and detached once
+	 * visited, so that memory use does not grow with the number of authors.
+	 *
+	 * @param action the action to perform on each entity.
+	 * @return the number of entities visited.
+	 */
+	long forEach(Consumer<Author> action);
+
+	/**
+	 * Get a slice of the authors after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	KeysetSlice<Author> findAll(KeysetRequest request);
+
+	/**
+	 * Get a slice of the authors of the "publisherId" publisher after a cursor.
+	 *
+	 * @param publisherId the id of the publisher.
+	 * @param request     the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	KeysetSlice<Author> findByPublisherId(Long publisherId, KeysetRequest request);
+
 	/**
 	 * Get the "id" author.
 	 *
@@ -39,6 +80,80 @@ public interface AuthorService {
 	 */
 	Optional<Author> findOne(Long id);
 
+	/**
+	 * Get the version of the "id" author, without loading it.
+	 *
+	 * @param id the id of the entity.
+	 * @return the version, empty if there is no such entity.
+	 */
+	Optional<Long> findVersion(Long id);
+
+	/**
+	 * Get a page of the summaries of the authors, read without loading them.
+	 *
+	 * @param pageable the pagination information.
+	 * @return the page of summaries.
+	 */
+	Page<AuthorSummary> findAllSummaries(Pageable pageable);
+
+	/**
+	 * Get a slice of the summaries of the authors after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of summaries.
+	 */
+	KeysetSlice<AuthorSummary> findAllSummaries(KeysetRequest request);
+
+	/**
+	 * Get the summaries of the authors having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of summaries.
+	 */
+	List<AuthorSummary> findSummariesByIds(Collection<Long> ids);
+
+	/**
+	 * Get the summaries of all the authors of any of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the list of summaries.
+	 */
+	List<AuthorSummary> findSummariesByPublisherIds(Collection<Long> publisherIds);
+
+	/**
+	 * Get the "id" author with the given associations fetched in the same query.
+	 *
+	 * @param id         the id of the entity.
+	 * @param fetchPaths the dot separated association paths to fetch.
+	 * @return the entity.
+	 */
+	Optional<Author> findOne(Long id, Collection<String> fetchPaths);
+
+	/**
+	 * Get all the authors having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of entities.
+	 */
+	List<Author> findAllById(Collection<Long> ids);
+
+	/**
+	 * Get all the authors of any of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the list of entities.
+	 */
+	List<Author> findByPublisherIds(Collection<Long> publisherIds);
+
+	/**
+	 * Count the authors of each of the given publishers, without loading them.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the number of authors by publisher id, the publishers without
+	 *         authors being left out.
+	 */
+	Map<Long, Long> countByPublisherIds(Collection<Long> publisherIds);
+
 	/**
 	 * Delete the "id" author.
 	 *
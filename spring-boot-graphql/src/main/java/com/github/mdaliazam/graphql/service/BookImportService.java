@@ -0,0 +1,40 @@
+package com.github.mdaliazam.graphql.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.dto.ImportProgress;
+
+/**
+ * Service Interface for importing large numbers of {@link Book}.
+ * 
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public interface BookImportService {
+
+	/**
+	 * Format of the imported rows, each with a title, an ISBN, an authorId and a
+	 * publisherId
+	 */
+	enum Format {
+		/** One JSON object per line */
+		NDJSON,
+		/** Comma separated values, with a header line naming the columns */
+		CSV
+	}
+
+	/**
+	 * Import the books read from the given reader, in chunks of one transaction
+	 * each. Rows that cannot be imported are skipped and reported.
+	 *
+	 * @param reader   the rows to import.
+	 * @param format   the format of the rows.
+	 * @param progress notified after every chunk.
+	 * @return the totals of the import.
+	 * @throws IOException if the rows cannot be read.
+	 */
+	ImportProgress importBooks(Reader reader, Format format, Consumer<ImportProgress> progress) throws IOException;
+}
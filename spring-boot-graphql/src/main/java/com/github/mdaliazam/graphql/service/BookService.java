@@ -1,11 +1,20 @@
 package com.github.mdaliazam.graphql.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Isbn;
+import com.github.mdaliazam.graphql.service.dto.BookSummary;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
 
 /**
  * Service Interface for managing {@link Book}.
@@ -23,6 +32,14 @@ public interface BookService {
 	 */
 	Book save(Book book);
 
+	/**
+	 * Save all the given books in one transaction.
+	 *
+	 * @param books the entities to save.
+	 * @return the persisted entities.
+	 */
+	List<Book> saveAll(Collection<Book> books);
+
 	/**
 	 * Get all the books.
 	 *
@@ -31,6 +48,51 @@ public interface BookService {
 	 */
 	Page<Book> findAll(Pageable pageable);
 
+	/**
+	 * Visit all the books, read through a forward-only cursor and detached once
+	 * visited, so that memory use does not grow with the number of books.
+	 *
+	 * @param action the action to perform on each entity.
+	 * @return the number of entities visited.
+	 */
+	long forEach(Consumer<Book> action);
+
+	/**
+	 * Visit the id and the normalized ISBN of all the books having one, without
+	 * loading the books.
+	 *
+	 * @param action the action to perform with the id and the normalized ISBN of
+	 *               each book.
+	 * @return the number of books visited.
+	 */
+	long forEachIsbn(BiConsumer<Long, Long> action);
+
+	/**
+	 * Get a slice of the books after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	KeysetSlice<Book> findAll(KeysetRequest request);
+
+	/**
+	 * Get a slice of the books of the "authorId" author after a cursor.
+	 *
+	 * @param authorId the id of the author.
+	 * @param request  the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	KeysetSlice<Book> findByAuthorId(Long authorId, KeysetRequest request);
+
+	/**
+	 * Get a slice of the books of the "publisherId" publisher after a cursor.
+	 *
+	 * @param publisherId the id of the publisher.
+	 * @param request     the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	KeysetSlice<Book> findByPublisherId(Long publisherId, KeysetRequest request);
+
 	/**
 	 * Get the "id" book.
 	 *
@@ -39,6 +101,136 @@ public interface BookService {
 	 */
 	Optional<Book> findOne(Long id);
 
+	/**
+	 * Get the version of the "id" book, without loading it.
+	 *
+	 * @param id the id of the entity.
+	 * @return the version, empty if there is no such entity.
+	 */
+	Optional<Long> findVersion(Long id);
+
+	/**
+	 * Get a page of the summaries of the books, read without loading them.
+	 *
+	 * @param pageable the pagination information.
+	 * @return the page of summaries.
+	 */
+	Page<BookSummary> findAllSummaries(Pageable pageable);
+
+	/**
+	 * Get a slice of the summaries of the books after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of summaries.
+	 */
+	KeysetSlice<BookSummary> findAllSummaries(KeysetRequest request);
+
+	/**
+	 * Get the summaries of all the books of any of the given authors.
+	 *
+	 * @param authorIds the ids of the authors.
+	 * @return the list of summaries.
+	 */
+	List<BookSummary> findSummariesByAuthorIds(Collection<Long> authorIds);
+
+	/**
+	 * Get the summaries of all the books of any of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the list of summaries.
+	 */
+	List<BookSummary> findSummariesByPublisherIds(Collection<Long> publisherIds);
+
+	/**
+	 * Get the "id" book with the given associations fetched in the same query.
+	 *
+	 * @param id         the id of the entity.
+	 * @param fetchPaths the dot separated association paths to fetch.
+	 * @return the entity.
+	 */
+	Optional<Book> findOne(Long id, Collection<String> fetchPaths);
+
+	/**
+	 * Get the id of the book with the given normalized ISBN, read through its
+	 * unique index.
+	 *
+	 * @param isbn13 the normalized ISBN, see {@link Isbn}.
+	 * @return the id of the entity.
+	 */
+	Optional<Long> findIdByIsbn(Long isbn13);
+
+	/**
+	 * Get all the books having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of entities.
+	 */
+	List<Book> findAllById(Collection<Long> ids);
+
+	/**
+	 * Get the first books of each of the given authors, in the order of their
+	 * ids.
+	 *
+	 * @param authorIds the ids of the authors.
+	 * @param size      the maximum number of books to return per author.
+	 * @return the list of entities.
+	 */
+	List<Book> findFirstByAuthorIds(Collection<Long> authorIds, int size);
+
+	/**
+	 * Get the first books of each of the given publishers, in the order of their
+	 * ids.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @param size         the maximum number of books to return per publisher.
+	 * @return the list of entities.
+	 */
+	List<Book> findFirstByPublisherIds(Collection<Long> publisherIds, int size);
+
+	/**
+	 * Get the books of the "authorId" author following the "afterId" book, in
+	 * the order of their ids.
+	 *
+	 * @param authorId the id of the author.
+	 * @param afterId  the id of the last book already seen, or null for the first
+	 *                 books.
+	 * @param size     the maximum number of books to return.
+	 * @return the list of entities.
+	 * @throws IllegalArgumentException if the size is not positive.
+	 */
+	List<Book> findByAuthorId(Long authorId, Long afterId, int size);
+
+	/**
+	 * Get the books of the "publisherId" publisher following the "afterId" book,
+	 * in the order of their ids.
+	 *
+	 * @param publisherId the id of the publisher.
+	 * @param afterId     the id of the last book already seen, or null for the
+	 *                    first books.
+	 * @param size        the maximum number of books to return.
+	 * @return the list of entities.
+	 * @throws IllegalArgumentException if the size is not positive.
+	 */
+	List<Book> findByPublisherId(Long publisherId, Long afterId, int size);
+
+	/**
+	 * Count the books of each of the given authors, without loading them.
+	 *
+	 * @param authorIds the ids of the authors.
+	 * @return the number of books by author id, the authors without books being
+	 *         left out.
+	 */
+	Map<Long, Long> countByAuthorIds(Collection<Long> authorIds);
+
+	/**
+	 * Count the books of each of the given publishers, without loading them.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the number of books by publisher id, the publishers without books
+	 *         being left out.
+	 */
+	Map<Long, Long> countByPublisherIds(Collection<Long> publisherIds);
+
 	/**
 	 * Delete the "id" book.
 	 *
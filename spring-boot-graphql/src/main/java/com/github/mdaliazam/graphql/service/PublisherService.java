@@ -1,11 +1,17 @@
 package com.github.mdaliazam.graphql.service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.dto.PublisherSummary;
 
 /**
  * Service Interface for managing {@link Publisher}.
@@ -23,6 +29,14 @@ public interface PublisherService {
 	 */
 	Publisher save(Publisher publisher);
 
+	/**
+	 * Save all the given publishers in one transaction.
+	 *
+	 * @param publishers the entities to save.
+	 * @return the persisted entities.
+	 */
+	List<Publisher> saveAll(Collection<Publisher> publishers);
+
 	/**
 	 * Get all the publishers.
 	 *
@@ -31,6 +45,23 @@ public interface PublisherService {
 	 */
 	Page<Publisher> findAll(Pageable pageable);
 
+	/**
+	 * Visit all the publishers, read through a forward-only cursor and detached once
+	 * visited, so that memory use does not grow with the number of publishers.
+	 *
+	 * @param action the action to perform on each entity.
+	 * @return the number of entities visited.
+	 */
+	long forEach(Consumer<Publisher> action);
+
+	/**
+	 * Get a slice of the publishers after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	KeysetSlice<Publisher> findAll(KeysetRequest request);
+
 	/**
 	 * Get the "id" publisher.
 	 *
@@ -39,6 +70,55 @@ public interface PublisherService {
 	 */
 	Optional<Publisher> findOne(Long id);
 
+	/**
+	 * Get the version of the "id" publisher, without loading it.
+	 *
+	 * @param id the id of the entity.
+	 * @return the version, empty if there is no such entity.
+	 */
+	Optional<Long> findVersion(Long id);
+
+	/**
+	 * Get a page of the summaries of the publishers, read without loading them.
+	 *
+	 * @param pageable the pagination information.
+	 * @return the page of summaries.
+	 */
+	Page<PublisherSummary> findAllSummaries(Pageable pageable);
+
+	/**
+	 * Get a slice of the summaries of the publishers after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of summaries.
+	 */
+	KeysetSlice<PublisherSummary> findAllSummaries(KeysetRequest request);
+
+	/**
+	 * Get the summaries of the publishers having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of summaries.
+	 */
+	List<PublisherSummary> findSummariesByIds(Collection<Long> ids);
+
+	/**
+	 * Get the "id" publisher with the given associations fetched in the same query.
+	 *
+	 * @param id         the id of the entity.
+	 * @param fetchPaths the dot separated association paths to fetch.
+	 * @return the entity.
+	 */
+	Optional<Publisher> findOne(Long id, Collection<String> fetchPaths);
+
+	/**
+	 * Get all the publishers having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of entities.
+	 */
+	List<Publisher> findAllById(Collection<Long> ids);
+
 	/**
 	 * Delete the "id" publisher.
 	 *
@@ -0,0 +1,73 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The columns of an author and the id of its publisher, read without loading
+ * the entity. Its books and publisher are only set when they are expanded.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class AuthorSummary {
+
+	private final Long id;
+
+	private final String name;
+
+	private final Long version;
+
+	private final Long publisherId;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<BookSummary> books;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private PublisherSummary publisher;
+
+	public AuthorSummary(Long id, String name, Long version, Long publisherId) {
+		this.id = id;
+		this.name = name;
+		this.version = version;
+		this.publisherId = publisherId;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public Long getPublisherId() {
+		return publisherId;
+	}
+
+	public List<BookSummary> getBooks() {
+		return books;
+	}
+
+	public void setBooks(List<BookSummary> books) {
+		this.books = books;
+	}
+
+	public PublisherSummary getPublisher() {
+		return publisher;
+	}
+
+	public void setPublisher(PublisherSummary publisher) {
+		this.publisher = publisher;
+	}
+
+	@Override
+	public String toString() {
+		return "AuthorSummary{" + "id=" + id + ", name='" + name + "'" + "}";
+	}
+}
@@ -0,0 +1,90 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The columns of a book and the ids of its author and publisher, read without
+ * loading the entity. Its author and publisher are only set when they are
+ * expanded.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class BookSummary {
+
+	private final Long id;
+
+	private final String title;
+
+	private final String isbn;
+
+	private final Long version;
+
+	private final Long authorId;
+
+	private final Long publisherId;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private AuthorSummary author;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private PublisherSummary publisher;
+
+	public BookSummary(Long id, String title, String isbn, Long version, Long authorId, Long publisherId) {
+		this.id = id;
+		this.title = title;
+		this.isbn = isbn;
+		this.version = version;
+		this.authorId = authorId;
+		this.publisherId = publisherId;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * Named like the ISBN of the {@link com.github.mdaliazam.graphql.domain.Book}
+	 * entity, so that both are written as {@code iSBN}
+	 */
+	public String getiSBN() {
+		return isbn;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public Long getAuthorId() {
+		return authorId;
+	}
+
+	public Long getPublisherId() {
+		return publisherId;
+	}
+
+	public AuthorSummary getAuthor() {
+		return author;
+	}
+
+	public void setAuthor(AuthorSummary author) {
+		this.author = author;
+	}
+
+	public PublisherSummary getPublisher() {
+		return publisher;
+	}
+
+	public void setPublisher(PublisherSummary publisher) {
+		this.publisher = publisher;
+	}
+
+	@Override
+	public String toString() {
+		return "BookSummary{" + "id=" + id + ", title='" + title + "'" + ", iSBN='" + isbn + "'" + "}";
+	}
+}
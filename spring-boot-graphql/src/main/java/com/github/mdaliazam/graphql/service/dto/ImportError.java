@@ -0,0 +1,27 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+/**
+ * A row that could not be imported
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class ImportError {
+
+	private final long line;
+
+	private final String message;
+
+	public ImportError(long line, String message) {
+		this.line = line;
+		this.message = message;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
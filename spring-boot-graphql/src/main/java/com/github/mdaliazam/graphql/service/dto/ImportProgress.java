@@ -0,0 +1,62 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one chunk of an import, or of the whole import once it is done
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class ImportProgress {
+
+	private final long chunk;
+
+	private final boolean done;
+
+	private long imported;
+
+	private long failed;
+
+	private final List<ImportError> errors = new ArrayList<>();
+
+	public ImportProgress(long chunk, boolean done) {
+		this.chunk = chunk;
+		this.done = done;
+	}
+
+	/**
+	 * Number of the chunk, or of chunks written once the import is done
+	 */
+	public long getChunk() {
+		return chunk;
+	}
+
+	public boolean isDone() {
+		return done;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public void setImported(long imported) {
+		this.imported = imported;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+
+	/**
+	 * The first errors of the chunk, see {@code application.import.max-reported-errors}
+	 */
+	public List<ImportError> getErrors() {
+		return errors;
+	}
+}
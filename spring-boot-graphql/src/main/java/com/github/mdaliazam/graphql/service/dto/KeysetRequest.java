@@ -0,0 +1,70 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+/**
+ * A request for the entities following a cursor, in the order of one sortable
+ * property and the id. Unlike an offset, the cursor is resolved by an index
+ * seek, so deep pages cost the same as the first one.
+ *
+ * @see KeysetSlice
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class KeysetRequest {
+
+	private final int size;
+
+	private final String after;
+
+	private final String property;
+
+	private final boolean descending;
+
+	private final boolean count;
+
+	/**
+	 * @param size       the maximum number of entities to return
+	 * @param after      the cursor of the last entity already seen, or null for
+	 *                   the first slice
+	 * @param property   the property to order by before the id, or null to order
+	 *                   by the id only
+	 * @param descending whether to return the entities in descending order
+	 * @param count      whether to also count all the entities
+	 */
+	public KeysetRequest(int size, String after, String property, boolean descending, boolean count) {
+		if (size < 1) {
+			throw new IllegalArgumentException("The size must be positive, was " + size);
+		}
+		this.size = size;
+		this.after = after;
+		this.property = property;
+		this.descending = descending;
+		this.count = count;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public String getAfter() {
+		return after;
+	}
+
+	public String getProperty() {
+		return property;
+	}
+
+	public boolean isDescending() {
+		return descending;
+	}
+
+	public boolean isCount() {
+		return count;
+	}
+
+	@Override
+	public String toString() {
+		return "KeysetRequest{" + "size=" + size + ", after='" + after + "'" + ", property='" + property + "'"
+				+ ", descending=" + descending + ", count=" + count + "}";
+	}
+}
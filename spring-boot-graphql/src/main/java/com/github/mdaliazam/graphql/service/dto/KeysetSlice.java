@@ -0,0 +1,57 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+import java.util.List;
+
+/**
+ * The entities returned for a {@link KeysetRequest}, each with the cursor
+ * that continues after it
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class KeysetSlice<T> {
+
+	private final List<T> content;
+
+	private final List<String> cursors;
+
+	private final boolean hasNext;
+
+	private final Long totalCount;
+
+	public KeysetSlice(List<T> content, List<String> cursors, boolean hasNext, Long totalCount) {
+		this.content = content;
+		this.cursors = cursors;
+		this.hasNext = hasNext;
+		this.totalCount = totalCount;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	/**
+	 * @return the cursors of the entities, in the same order
+	 */
+	public List<String> getCursors() {
+		return cursors;
+	}
+
+	/**
+	 * @return the cursor of the last entity, or null if the slice is empty
+	 */
+	public String getEndCursor() {
+		return cursors.isEmpty() ? null : cursors.get(cursors.size() - 1);
+	}
+
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	/**
+	 * @return the number of all the entities, or null if it was not requested
+	 */
+	public Long getTotalCount() {
+		return totalCount;
+	}
+}
@@ -0,0 +1,66 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The columns of a publisher, read without loading the entity. Its authors and
+ * books are only set when they are expanded.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class PublisherSummary {
+
+	private final Long id;
+
+	private final String name;
+
+	private final Long version;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<AuthorSummary> authors;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<BookSummary> books;
+
+	public PublisherSummary(Long id, String name, Long version) {
+		this.id = id;
+		this.name = name;
+		this.version = version;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public List<AuthorSummary> getAuthors() {
+		return authors;
+	}
+
+	public void setAuthors(List<AuthorSummary> authors) {
+		this.authors = authors;
+	}
+
+	public List<BookSummary> getBooks() {
+		return books;
+	}
+
+	public void setBooks(List<BookSummary> books) {
+		this.books = books;
+	}
+
+	@Override
+	public String toString() {
+		return "PublisherSummary{" + "id=" + id + ", name='" + name + "'" + "}";
+	}
+}
@@ -0,0 +1,46 @@
+package com.github.mdaliazam.graphql.service.dto;
+
+/**
+ * A completion of the text typed by a user
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class Suggestion {
+
+	/**
+	 * What the suggested text is
+	 */
+	public enum Kind {
+		BOOK_TITLE, AUTHOR_NAME
+	}
+
+	private final String text;
+
+	private final Kind kind;
+
+	private final int popularity;
+
+	public Suggestion(String text, Kind kind, int popularity) {
+		this.text = text;
+		this.kind = kind;
+		this.popularity = popularity;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public int getPopularity() {
+		return popularity;
+	}
+
+	@Override
+	public String toString() {
+		return "Suggestion{" + "text='" + text + "'" + ", kind=" + kind + ", popularity=" + popularity + "}";
+	}
+}
@@ -0,0 +1,56 @@
+package com.github.mdaliazam.graphql.service.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent.Change;
+
+/**
+ * Application event published by the services once for many entities changed
+ * the same way, e.g. the books of a chunk of an import, instead of one
+ * {@link EntityChangedEvent} per entity, so that the listeners keeping derived
+ * state apply them in one pass.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class EntitiesChangedEvent {
+
+	private final List<Object> entities;
+
+	private final Change change;
+
+	public EntitiesChangedEvent(Collection<?> entities, Change change) {
+		this.entities = List.copyOf(entities);
+		this.change = change;
+	}
+
+	/**
+	 * @param entities the inserted entities
+	 * @return the event of the created entities
+	 */
+	public static EntitiesChangedEvent created(Collection<?> entities) {
+		return new EntitiesChangedEvent(entities, Change.CREATED);
+	}
+
+	public List<Object> getEntities() {
+		return entities;
+	}
+
+	public Change getChange() {
+		return change;
+	}
+
+	/**
+	 * @return the change of every entity, in order
+	 */
+	public List<EntityChangedEvent> events() {
+		return entities.stream().map(entity -> new EntityChangedEvent(entity, change)).collect(Collectors.toList());
+	}
+
+	@Override
+	public String toString() {
+		return "EntitiesChangedEvent{" + "entities=" + entities.size() + ", change=" + change + "}";
+	}
+}
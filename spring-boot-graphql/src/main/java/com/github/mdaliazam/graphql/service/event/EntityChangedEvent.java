@@ -0,0 +1,59 @@
+package com.github.mdaliazam.graphql.service.event;
+
+/**
+ * Application event published by the services whenever a Publisher, an Author
+ * or a Book is created, saved or deleted. Listeners that keep derived state (caches,
+ * indexes...) should use a transactional listener, so they only see committed
+ * changes.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class EntityChangedEvent {
+
+	/**
+	 * The kind of change
+	 */
+	public enum Change {
+		CREATED, SAVED, DELETED
+	}
+
+	private final Object entity;
+
+	private final Change change;
+
+	public EntityChangedEvent(Object entity, Change change) {
+		this.entity = entity;
+		this.change = change;
+	}
+
+	public static EntityChangedEvent saved(Object entity) {
+		return new EntityChangedEvent(entity, Change.SAVED);
+	}
+
+	/**
+	 * @param entity  the saved entity
+	 * @param created whether the entity was inserted rather than updated
+	 * @return the event of a created or saved entity
+	 */
+	public static EntityChangedEvent saved(Object entity, boolean created) {
+		return new EntityChangedEvent(entity, created ? Change.CREATED : Change.SAVED);
+	}
+
+	public static EntityChangedEvent deleted(Object entity) {
+		return new EntityChangedEvent(entity, Change.DELETED);
+	}
+
+	public Object getEntity() {
+		return entity;
+	}
+
+	public Change getChange() {
+		return change;
+	}
+
+	@Override
+	public String toString() {
+		return "EntityChangedEvent{" + "entity=" + entity + ", change=" + change + "}";
+	}
+}
@@ -1,17 +1,40 @@
 package com.github.mdaliazam.graphql.service.impl;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Publisher;
 import com.github.mdaliazam.graphql.repository.AuthorRepository;
+import com.github.mdaliazam.graphql.repository.FetchGraphRepository;
+import com.github.mdaliazam.graphql.repository.KeysetRepository;
+import com.github.mdaliazam.graphql.repository.VersionRepository;
 import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.dto.AuthorSummary;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
 
 /**
  * Service Implementation for managing {@link Author}.
@@ -23,12 +46,31 @@ import com.github.mdaliazam.graphql.service.AuthorService;
 @Transactional
 public class AuthorServiceImpl implements AuthorService {
 
+	private static final int DETACH_INTERVAL = 500;
+
 	private final Logger log = LoggerFactory.getLogger(AuthorServiceImpl.class);
 
 	private final AuthorRepository authorRepository;
 
-	public AuthorServiceImpl(AuthorRepository authorRepository) {
+	private final FetchGraphRepository fetchGraphRepository;
+
+	private final KeysetRepository keysetRepository;
+
+	private final VersionRepository versionRepository;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public AuthorServiceImpl(AuthorRepository authorRepository, FetchGraphRepository fetchGraphRepository,
+			KeysetRepository keysetRepository, VersionRepository versionRepository,
+			ApplicationEventPublisher eventPublisher) {
 		this.authorRepository = authorRepository;
+		this.fetchGraphRepository = fetchGraphRepository;
+		this.keysetRepository = keysetRepository;
+		this.versionRepository = versionRepository;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
@@ -40,7 +82,34 @@ public class AuthorServiceImpl implements AuthorService {
 	@Override
 	public Author save(Author author) {
 		log.debug("Request to save Author : {}", author);
-		return authorRepository.save(author);
+		boolean created = author.getId() == null;
+		Set<Long> publisherIds = publisherIds(findCurrent(List.of(author)));
+		Author result = authorRepository.save(author);
+		publisherIds.addAll(publisherIds(List.of(result)));
+		versionRepository.increment(Publisher.class, publisherIds);
+		eventPublisher.publishEvent(EntityChangedEvent.saved(result, created));
+		return result;
+	}
+
+	/**
+	 * Save all the given authors in one transaction, the inserts being sent in
+	 * JDBC batches.
+	 *
+	 * @param authors the entities to save.
+	 * @return the persisted entities.
+	 */
+	@Override
+	public List<Author> saveAll(Collection<Author> authors) {
+		log.debug("Request to save {} Authors", authors.size());
+		List<Boolean> created = authors.stream().map(author -> author.getId() == null).collect(Collectors.toList());
+		Set<Long> publisherIds = publisherIds(findCurrent(authors));
+		List<Author> result = authorRepository.saveAll(authors);
+		publisherIds.addAll(publisherIds(result));
+		versionRepository.increment(Publisher.class, publisherIds);
+		for (int i = 0; i < result.size(); i++) {
+			eventPublisher.publishEvent(EntityChangedEvent.saved(result.get(i), created.get(i)));
+		}
+		return result;
 	}
 
 	/**
@@ -56,6 +125,58 @@ public class AuthorServiceImpl implements AuthorService {
 		return authorRepository.findAll(pageable);
 	}
 
+	/**
+	 * Visit all the authors, read through a forward-only cursor. The persistence
+	 * context is cleared every {@value #DETACH_INTERVAL} entities, which detaches
+	 * the visited authors together with the proxies of their associations.
+	 *
+	 * @param action the action to perform on each entity.
+	 * @return the number of entities visited.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long forEach(Consumer<Author> action) {
+		log.debug("Request to stream all Authors");
+		long count = 0;
+		try (Stream<Author> authors = authorRepository.streamAll()) {
+			for (Iterator<Author> iterator = authors.iterator(); iterator.hasNext();) {
+				action.accept(iterator.next());
+				if (++count % DETACH_INTERVAL == 0) {
+					entityManager.clear();
+				}
+			}
+		}
+		entityManager.clear();
+		return count;
+	}
+
+	/**
+	 * Get a slice of the authors after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<Author> findAll(KeysetRequest request) {
+		log.debug("Request to get a slice of Authors : {}", request);
+		return keysetRepository.find(Author.class, request);
+	}
+
+	/**
+	 * Get a slice of the authors of the "publisherId" publisher after a cursor.
+	 *
+	 * @param publisherId the id of the publisher.
+	 * @param request     the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<Author> findByPublisherId(Long publisherId, KeysetRequest request) {
+		log.debug("Request to get a slice of Authors of Publisher {} : {}", publisherId, request);
+		return keysetRepository.find(Author.class, "publisher", publisherId, request);
+	}
+
 	/**
 	 * Get one author by id.
 	 *
@@ -69,6 +190,126 @@ public class AuthorServiceImpl implements AuthorService {
 		return authorRepository.findById(id);
 	}
 
+	/**
+	 * Get the version of the "id" author, without loading it.
+	 *
+	 * @param id the id of the entity.
+	 * @return the version, empty if there is no such entity.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Long> findVersion(Long id) {
+		log.debug("Request to get the version of Author : {}", id);
+		return versionRepository.findVersion(Author.class, id);
+	}
+
+	/**
+	 * Get a page of the summaries of the authors, read without loading them.
+	 *
+	 * @param pageable the pagination information.
+	 * @return the page of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Page<AuthorSummary> findAllSummaries(Pageable pageable) {
+		log.debug("Request to get a page of Author summaries");
+		return authorRepository.findAllSummaries(pageable);
+	}
+
+	/**
+	 * Get a slice of the summaries of the authors after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<AuthorSummary> findAllSummaries(KeysetRequest request) {
+		log.debug("Request to get a slice of Author summaries : {}", request);
+		return keysetRepository.findProjections(Author.class, AuthorRepository.SUMMARY, AuthorRepository::summary,
+				request);
+	}
+
+	/**
+	 * Get the summaries of the authors having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<AuthorSummary> findSummariesByIds(Collection<Long> ids) {
+		log.debug("Request to get Author summaries : {}", ids);
+		return authorRepository.findSummariesByIdIn(ids);
+	}
+
+	/**
+	 * Get the summaries of all the authors of any of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the list of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<AuthorSummary> findSummariesByPublisherIds(Collection<Long> publisherIds) {
+		log.debug("Request to get Author summaries of Publishers : {}", publisherIds);
+		return authorRepository.findSummariesByPublisherIdIn(publisherIds);
+	}
+
+	/**
+	 * Get one author by id with the given associations fetched in the same query.
+	 *
+	 * @param id         the id of the entity.
+	 * @param fetchPaths the dot separated association paths to fetch.
+	 * @return the entity.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Author> findOne(Long id, Collection<String> fetchPaths) {
+		log.debug("Request to get Author : {} fetching {}", id, fetchPaths);
+		return fetchGraphRepository.findById(Author.class, id, fetchPaths);
+	}
+
+	/**
+	 * Get all the authors having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Author> findAllById(Collection<Long> ids) {
+		log.debug("Request to get Authors : {}", ids);
+		return authorRepository.findAllById(ids);
+	}
+
+	/**
+	 * Get all the authors of any of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Author> findByPublisherIds(Collection<Long> publisherIds) {
+		log.debug("Request to get Authors of Publishers : {}", publisherIds);
+		return authorRepository.findByPublisherIdIn(publisherIds);
+	}
+
+	/**
+	 * Count the authors of each of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the number of authors by publisher id.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, Long> countByPublisherIds(Collection<Long> publisherIds) {
+		log.debug("Request to count Authors of Publishers : {}", publisherIds);
+		return authorRepository.countByPublisherIdIn(publisherIds).stream()
+				.collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+	}
+
 	/**
 	 * Delete the author by id.
 	 *
@@ -77,6 +318,45 @@ public class AuthorServiceImpl implements AuthorService {
 	@Override
 	public void delete(Long id) {
 		log.debug("Request to delete Author : {}", id);
+		Optional<Author> author = authorRepository.findById(id);
+		author.ifPresent(deleted -> eventPublisher.publishEvent(EntityChangedEvent.deleted(deleted)));
 		authorRepository.deleteById(id);
+		author.ifPresent(deleted -> versionRepository.increment(Publisher.class, publisherIds(List.of(deleted))));
+	}
+
+	/**
+	 * Get the current state of the given authors that are already persisted. Those
+	 * sent without a version, e.g. by REST clients not aware of it, are given the
+	 * current one, so that they overwrite it as before.
+	 *
+	 * @param authors the entities to save.
+	 * @return the persisted entities they update.
+	 */
+	private List<Author> findCurrent(Collection<Author> authors) {
+		Map<Long, Author> updated = authors.stream().filter(author -> author.getId() != null)
+				.collect(Collectors.toMap(Author::getId, Function.identity(), (first, second) -> first));
+		if (updated.isEmpty()) {
+			return List.of();
+		}
+		List<Author> current = authorRepository.findAllById(updated.keySet());
+		for (Author persisted : current) {
+			Author author = updated.get(persisted.getId());
+			if (author.getVersion() == null) {
+				author.setVersion(persisted.getVersion());
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Get the ids of the publishers of the given authors, whose resources embed
+	 * them and must get a new version when they change.
+	 *
+	 * @param authors the authors.
+	 * @return the ids of their publishers.
+	 */
+	private static Set<Long> publisherIds(Collection<Author> authors) {
+		return authors.stream().map(Author::getPublisher).filter(Objects::nonNull).map(Publisher::getId)
+				.collect(Collectors.toCollection(HashSet::new));
 	}
 }
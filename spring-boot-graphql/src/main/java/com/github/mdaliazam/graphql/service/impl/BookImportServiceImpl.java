@@ -0,0 +1,232 @@
+package com.github.mdaliazam.graphql.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mdaliazam.graphql.config.ImportProperties;
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Isbn;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.service.BookImportService;
+import com.github.mdaliazam.graphql.service.dto.ImportError;
+import com.github.mdaliazam.graphql.service.dto.ImportProgress;
+import com.github.mdaliazam.graphql.service.event.EntitiesChangedEvent;
+
+/**
+ * Service Implementation for importing {@link Book}.
+ * <p>
+ * Every chunk is written in its own transaction through a StatelessSession, so
+ * that neither the persistence context nor the second-level cache grow with the
+ * import, and the inserts are sent in JDBC batches. The versions of the
+ * authors and publishers of the books, and of the publishers of their authors,
+ * are incremented with every chunk, as their REST resources embed the books,
+ * and the caches holding them and their
+ * books are evicted after it.
+ * 
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Service
+@EnableConfigurationProperties(ImportProperties.class)
+public class BookImportServiceImpl implements BookImportService {
+
+	private final Logger log = LoggerFactory.getLogger(BookImportServiceImpl.class);
+
+	private final SessionFactory sessionFactory;
+
+	private final ObjectMapper objectMapper;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final ImportProperties importProperties;
+
+	public BookImportServiceImpl(EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper,
+			ApplicationEventPublisher eventPublisher, ImportProperties importProperties) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		this.objectMapper = objectMapper;
+		this.eventPublisher = eventPublisher;
+		this.importProperties = importProperties;
+	}
+
+	/**
+	 * Import the books read from the given reader, in chunks of one transaction
+	 * each.
+	 *
+	 * @param reader   the rows to import.
+	 * @param format   the format of the rows.
+	 * @param progress notified after every chunk.
+	 * @return the totals of the import.
+	 * @throws IOException if the rows cannot be read.
+	 */
+	@Override
+	public ImportProgress importBooks(Reader reader, Format format, Consumer<ImportProgress> progress)
+			throws IOException {
+		log.debug("Request to import Books as {}", format);
+		BookRowReader rows = BookRowReader.of(format, new BufferedReader(reader), objectMapper);
+		List<BookRowReader.Row> chunk = new ArrayList<>(importProperties.getChunkSize());
+		long chunks = 0;
+		long imported = 0;
+		long failed = 0;
+		for (BookRowReader.Row row = rows.next(); row != null || !chunk.isEmpty(); row = rows.next()) {
+			if (row != null) {
+				chunk.add(row);
+			}
+			if (row == null || chunk.size() >= importProperties.getChunkSize()) {
+				ImportProgress result = write(++chunks, chunk);
+				imported += result.getImported();
+				failed += result.getFailed();
+				progress.accept(result);
+				chunk.clear();
+			}
+		}
+		ImportProgress total = new ImportProgress(chunks, true);
+		total.setImported(imported);
+		total.setFailed(failed);
+		log.info("Imported {} Books in {} chunks, {} rows failed", imported, chunks, failed);
+		return total;
+	}
+
+	private ImportProgress write(long number, List<BookRowReader.Row> rows) {
+		ImportProgress result = new ImportProgress(number, false);
+		List<Book> books = new ArrayList<>(rows.size());
+		try (StatelessSession session = sessionFactory.openStatelessSession()) {
+			Transaction transaction = session.beginTransaction();
+			try {
+				Map<Long, Author> authors = find(session, Author.class, rows, BookRowReader.Row::getAuthorId,
+						Author::getId);
+				Map<Long, Publisher> publishers = find(session, Publisher.class, rows,
+						BookRowReader.Row::getPublisherId, Publisher::getId);
+				Set<Long> isbns = findIsbns(session, rows);
+				for (BookRowReader.Row row : rows) {
+					if (row.getError() != null) {
+						fail(result, row.getLine(), row.getError());
+					} else if (!authors.containsKey(row.getAuthorId())) {
+						fail(result, row.getLine(), "Unknown Author id: " + row.getAuthorId());
+					} else if (!publishers.containsKey(row.getPublisherId())) {
+						fail(result, row.getLine(), "Unknown Publisher id: " + row.getPublisherId());
+					} else if (!isUnique(Isbn.normalize(row.getIsbn()), isbns)) {
+						fail(result, row.getLine(), "Duplicate ISBN: " + row.getIsbn());
+					} else {
+						Book book = new Book(row.getTitle(), row.getIsbn()).author(authors.get(row.getAuthorId()))
+								.publisher(publishers.get(row.getPublisherId()));
+						session.insert(book);
+						books.add(book);
+					}
+				}
+				increment(session, Author.class, books.stream().map(book -> book.getAuthor().getId()));
+				increment(session, Publisher.class,
+						books.stream().flatMap(book -> Stream.of(book.getPublisher(), book.getAuthor().getPublisher()))
+								.filter(Objects::nonNull).map(Publisher::getId));
+				transaction.commit();
+			} catch (RuntimeException e) {
+				log.warn("Rolling back chunk {} of the Book import", number, e);
+				transaction.rollback();
+				result.setFailed(result.getFailed() + books.size());
+				result.getErrors().add(new ImportError(rows.get(0).getLine(),
+						"Chunk rolled back: " + Objects.toString(e.getMessage(), e.getClass().getName())));
+				books.clear();
+			}
+		}
+		result.setImported(books.size());
+		evict(books);
+		return result;
+	}
+
+	private <T> Map<Long, T> find(StatelessSession session, Class<T> type, List<BookRowReader.Row> rows,
+			Function<BookRowReader.Row, Long> reference, Function<T, Long> id) {
+		Set<Long> ids = rows.stream().map(reference).filter(Objects::nonNull).collect(Collectors.toSet());
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		return session.createQuery("select e from " + type.getName() + " e where e.id in :ids", type)
+				.setParameterList("ids", ids).list().stream().collect(Collectors.toMap(id, Function.identity()));
+	}
+
+	/**
+	 * Increments the versions of the given entities
+	 */
+	private static void increment(StatelessSession session, Class<?> type, Stream<Long> ids) {
+		Set<Long> distinct = ids.collect(Collectors.toCollection(TreeSet::new));
+		if (!distinct.isEmpty()) {
+			session.createQuery("update " + type.getName() + " e set e.version = e.version + 1 where e.id in :ids")
+					.setParameterList("ids", distinct).executeUpdate();
+		}
+	}
+
+	/**
+	 * Returns the normalized ISBNs of the given rows that are already taken
+	 */
+	private Set<Long> findIsbns(StatelessSession session, List<BookRowReader.Row> rows) {
+		Set<Long> isbns = rows.stream().map(row -> Isbn.normalize(row.getIsbn())).filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		if (isbns.isEmpty()) {
+			return isbns;
+		}
+		return new HashSet<>(session.createQuery("select b.isbn13 from Book b where b.isbn13 in :isbns", Long.class)
+				.setParameterList("isbns", isbns).list());
+	}
+
+	/**
+	 * Takes the given normalized ISBN, unless a book or a previous row of the
+	 * chunk has it
+	 */
+	private static boolean isUnique(Long isbn13, Set<Long> taken) {
+		return isbn13 == null || taken.add(isbn13);
+	}
+
+	private void fail(ImportProgress result, long line, String message) {
+		result.setFailed(result.getFailed() + 1);
+		if (result.getErrors().size() < importProperties.getMaxReportedErrors()) {
+			result.getErrors().add(new ImportError(line, message));
+		}
+	}
+
+	/**
+	 * Evicts the cached data the imported books make stale, as a stateless
+	 * session bypasses the second-level cache, and publishes their creation in
+	 * one event for the whole chunk
+	 */
+	private void evict(Collection<Book> books) {
+		if (books.isEmpty()) {
+			return;
+		}
+		Cache cache = sessionFactory.getCache();
+		books.stream().map(book -> book.getAuthor().getId()).distinct().forEach(id -> {
+			cache.evictEntityData(Author.class, id);
+			cache.evictCollectionData(Author.class.getName() + ".books", id);
+		});
+		books.stream().map(book -> book.getPublisher().getId()).distinct().forEach(id -> {
+			cache.evictEntityData(Publisher.class, id);
+			cache.evictCollectionData(Publisher.class.getName() + ".books", id);
+		});
+		cache.evictDefaultQueryRegion();
+		eventPublisher.publishEvent(EntitiesChangedEvent.created(books));
+	}
+}
@@ -0,0 +1,235 @@
+package com.github.mdaliazam.graphql.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mdaliazam.graphql.service.BookImportService.Format;
+
+/**
+ * Reads the imported books one row at a time, so that an import never holds
+ * more than the current chunk in memory
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+abstract class BookRowReader {
+
+	private static final String TITLE = "title";
+	private static final String ISBN = "isbn";
+	private static final String AUTHOR_ID = "authorid";
+	private static final String PUBLISHER_ID = "publisherid";
+
+	private final BufferedReader reader;
+
+	private long line;
+
+	BookRowReader(BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	static BookRowReader of(Format format, BufferedReader reader, ObjectMapper objectMapper) {
+		return format == Format.CSV ? new Csv(reader) : new Ndjson(reader, objectMapper);
+	}
+
+	/**
+	 * Returns the next row, or null at the end of the input
+	 */
+	Row next() throws IOException {
+		for (String text = readLine(); text != null; text = readLine()) {
+			if (!text.isBlank()) {
+				try {
+					return parse(text);
+				} catch (IllegalArgumentException | JsonProcessingException e) {
+					return new Row(line, e.getMessage());
+				}
+			}
+		}
+		return null;
+	}
+
+	String readLine() throws IOException {
+		String text = reader.readLine();
+		if (text != null) {
+			line++;
+		}
+		return text;
+	}
+
+	/**
+	 * Returns the row of the given non blank line
+	 *
+	 * @throws IllegalArgumentException If the line is not a valid row
+	 */
+	abstract Row parse(String text) throws IOException;
+
+	Row row(String title, String isbn, String authorId, String publisherId) {
+		if (title == null || title.isBlank()) {
+			throw new IllegalArgumentException("Missing title");
+		}
+		if (isbn == null || isbn.isBlank()) {
+			throw new IllegalArgumentException("Missing ISBN");
+		}
+		return new Row(line, title, isbn, id("authorId", authorId), id("publisherId", publisherId));
+	}
+
+	private static Long id(String name, String value) {
+		try {
+			return Long.valueOf(value == null ? "" : value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid " + name + ": " + value);
+		}
+	}
+
+	/**
+	 * One JSON object per line
+	 */
+	private static class Ndjson extends BookRowReader {
+
+		private final ObjectMapper objectMapper;
+
+		Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+			super(reader);
+			this.objectMapper = objectMapper;
+		}
+
+		@Override
+		Row parse(String text) throws IOException {
+			JsonNode node = objectMapper.readTree(text);
+			if (!node.isObject()) {
+				throw new IllegalArgumentException("Not a JSON object");
+			}
+			return row(node.path("title").textValue(), node.path("ISBN").textValue(),
+					node.path("authorId").asText(null), node.path("publisherId").asText(null));
+		}
+	}
+
+	/**
+	 * Comma separated values in the order given by the header line, values may
+	 * be quoted with double quotes
+	 */
+	private static class Csv extends BookRowReader {
+
+		private List<String> header;
+
+		Csv(BufferedReader reader) {
+			super(reader);
+		}
+
+		/**
+		 * @throws IllegalArgumentException If the header misses a column
+		 */
+		@Override
+		Row next() throws IOException {
+			if (header == null) {
+				String names = readLine();
+				if (names == null) {
+					return null;
+				}
+				header = new ArrayList<>();
+				split(names).forEach(name -> header.add(name.trim().toLowerCase(Locale.ROOT)));
+				for (String column : List.of(TITLE, ISBN, AUTHOR_ID, PUBLISHER_ID)) {
+					if (!header.contains(column)) {
+						throw new IllegalArgumentException("Missing column " + column + " in the CSV header");
+					}
+				}
+			}
+			return super.next();
+		}
+
+		@Override
+		Row parse(String text) {
+			List<String> values = split(text);
+			if (values.size() != header.size()) {
+				throw new IllegalArgumentException("Expected " + header.size() + " values, found " + values.size());
+			}
+			return row(values.get(header.indexOf(TITLE)), values.get(header.indexOf(ISBN)),
+					values.get(header.indexOf(AUTHOR_ID)), values.get(header.indexOf(PUBLISHER_ID)));
+		}
+
+		private static List<String> split(String text) {
+			List<String> values = new ArrayList<>();
+			StringBuilder value = new StringBuilder();
+			boolean quoted = false;
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (quoted && c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = !quoted;
+				} else if (c == ',' && !quoted) {
+					values.add(value.toString());
+					value.setLength(0);
+				} else {
+					value.append(c);
+				}
+			}
+			if (quoted) {
+				throw new IllegalArgumentException("Unterminated quoted value");
+			}
+			values.add(value.toString());
+			return values;
+		}
+	}
+
+	/**
+	 * A parsed row, or the reason it could not be parsed
+	 */
+	static class Row {
+
+		private final long line;
+		private final String title;
+		private final String isbn;
+		private final Long authorId;
+		private final Long publisherId;
+		private final String error;
+
+		Row(long line, String title, String isbn, Long authorId, Long publisherId) {
+			this.line = line;
+			this.title = title;
+			this.isbn = isbn;
+			this.authorId = authorId;
+			this.publisherId = publisherId;
+			this.error = null;
+		}
+
+		Row(long line, String error) {
+			this.line = line;
+			this.title = null;
+			this.isbn = null;
+			this.authorId = null;
+			this.publisherId = null;
+			this.error = error;
+		}
+
+		long getLine() {
+			return line;
+		}
+
+		String getTitle() {
+			return title;
+		}
+
+		String getIsbn() {
+			return isbn;
+		}
+
+		Long getAuthorId() {
+			return authorId;
+		}
+
+		Long getPublisherId() {
+			return publisherId;
+		}
+
+		String getError() {
+			return error;
+		}
+	}
+}
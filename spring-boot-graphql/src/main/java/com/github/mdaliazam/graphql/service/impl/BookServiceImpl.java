@@ -1,17 +1,43 @@
 package com.github.mdaliazam.graphql.service.impl;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.github.mdaliazam.graphql.domain.Author;
 import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.repository.AuthorRepository;
 import com.github.mdaliazam.graphql.repository.BookRepository;
+import com.github.mdaliazam.graphql.repository.FetchGraphRepository;
+import com.github.mdaliazam.graphql.repository.KeysetRepository;
+import com.github.mdaliazam.graphql.repository.VersionRepository;
 import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.dto.BookSummary;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
 
 /**
  * Service Implementation for managing {@link Book}.
@@ -23,12 +49,34 @@ import com.github.mdaliazam.graphql.service.BookService;
 @Transactional
 public class BookServiceImpl implements BookService {
 
+	private static final int DETACH_INTERVAL = 500;
+
 	private final Logger log = LoggerFactory.getLogger(BookServiceImpl.class);
 
 	private final BookRepository bookRepository;
 
-	public BookServiceImpl(BookRepository bookRepository) {
+	private final AuthorRepository authorRepository;
+
+	private final FetchGraphRepository fetchGraphRepository;
+
+	private final KeysetRepository keysetRepository;
+
+	private final VersionRepository versionRepository;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public BookServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+			FetchGraphRepository fetchGraphRepository, KeysetRepository keysetRepository,
+			VersionRepository versionRepository, ApplicationEventPublisher eventPublisher) {
 		this.bookRepository = bookRepository;
+		this.authorRepository = authorRepository;
+		this.fetchGraphRepository = fetchGraphRepository;
+		this.keysetRepository = keysetRepository;
+		this.versionRepository = versionRepository;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
@@ -40,7 +88,34 @@ public class BookServiceImpl implements BookService {
 	@Override
 	public Book save(Book book) {
 		log.debug("Request to save Book : {}", book);
-		return bookRepository.save(book);
+		boolean created = book.getId() == null;
+		Owners owners = new Owners(findCurrent(List.of(book)));
+		Book result = bookRepository.save(book);
+		owners.add(List.of(result));
+		owners.increment();
+		eventPublisher.publishEvent(EntityChangedEvent.saved(result, created));
+		return result;
+	}
+
+	/**
+	 * Save all the given books in one transaction, the inserts being sent in
+	 * JDBC batches.
+	 *
+	 * @param books the entities to save.
+	 * @return the persisted entities.
+	 */
+	@Override
+	public List<Book> saveAll(Collection<Book> books) {
+		log.debug("Request to save {} Books", books.size());
+		List<Boolean> created = books.stream().map(book -> book.getId() == null).collect(Collectors.toList());
+		Owners owners = new Owners(findCurrent(books));
+		List<Book> result = bookRepository.saveAll(books);
+		owners.add(result);
+		owners.increment();
+		for (int i = 0; i < result.size(); i++) {
+			eventPublisher.publishEvent(EntityChangedEvent.saved(result.get(i), created.get(i)));
+		}
+		return result;
 	}
 
 	/**
@@ -56,6 +131,94 @@ public class BookServiceImpl implements BookService {
 		return bookRepository.findAll(pageable);
 	}
 
+	/**
+	 * Visit all the books, read through a forward-only cursor. The persistence
+	 * context is cleared every {@value #DETACH_INTERVAL} entities, which detaches
+	 * the visited books together with the proxies of their associations.
+	 *
+	 * @param action the action to perform on each entity.
+	 * @return the number of entities visited.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long forEach(Consumer<Book> action) {
+		log.debug("Request to stream all Books");
+		long count = 0;
+		try (Stream<Book> books = bookRepository.streamAll()) {
+			for (Iterator<Book> iterator = books.iterator(); iterator.hasNext();) {
+				action.accept(iterator.next());
+				if (++count % DETACH_INTERVAL == 0) {
+					entityManager.clear();
+				}
+			}
+		}
+		entityManager.clear();
+		return count;
+	}
+
+	/**
+	 * Visit the id and the normalized ISBN of all the books having one, read
+	 * through a forward-only cursor.
+	 *
+	 * @param action the action to perform with the id and the normalized ISBN of
+	 *               each book.
+	 * @return the number of books visited.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long forEachIsbn(BiConsumer<Long, Long> action) {
+		log.debug("Request to stream the ISBNs of all Books");
+		long count = 0;
+		try (Stream<Object[]> rows = bookRepository.streamIsbns()) {
+			for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); count++) {
+				Object[] row = iterator.next();
+				action.accept((Long) row[0], (Long) row[1]);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Get a slice of the books after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<Book> findAll(KeysetRequest request) {
+		log.debug("Request to get a slice of Books : {}", request);
+		return keysetRepository.find(Book.class, request);
+	}
+
+	/**
+	 * Get a slice of the books of the "authorId" author after a cursor.
+	 *
+	 * @param authorId the id of the author.
+	 * @param request  the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<Book> findByAuthorId(Long authorId, KeysetRequest request) {
+		log.debug("Request to get a slice of Books of Author {} : {}", authorId, request);
+		return keysetRepository.find(Book.class, "author", authorId, request);
+	}
+
+	/**
+	 * Get a slice of the books of the "publisherId" publisher after a cursor.
+	 *
+	 * @param publisherId the id of the publisher.
+	 * @param request     the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<Book> findByPublisherId(Long publisherId, KeysetRequest request) {
+		log.debug("Request to get a slice of Books of Publisher {} : {}", publisherId, request);
+		return keysetRepository.find(Book.class, "publisher", publisherId, request);
+	}
+
 	/**
 	 * Get one book by id.
 	 *
@@ -69,6 +232,202 @@ public class BookServiceImpl implements BookService {
 		return bookRepository.findById(id);
 	}
 
+	/**
+	 * Get the version of the "id" book, without loading it.
+	 *
+	 * @param id the id of the entity.
+	 * @return the version, empty if there is no such entity.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Long> findVersion(Long id) {
+		log.debug("Request to get the version of Book : {}", id);
+		return versionRepository.findVersion(Book.class, id);
+	}
+
+	/**
+	 * Get a page of the summaries of the books, read without loading them.
+	 *
+	 * @param pageable the pagination information.
+	 * @return the page of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Page<BookSummary> findAllSummaries(Pageable pageable) {
+		log.debug("Request to get a page of Book summaries");
+		return bookRepository.findAllSummaries(pageable);
+	}
+
+	/**
+	 * Get a slice of the summaries of the books after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<BookSummary> findAllSummaries(KeysetRequest request) {
+		log.debug("Request to get a slice of Book summaries : {}", request);
+		return keysetRepository.findProjections(Book.class, BookRepository.SUMMARY, BookRepository::summary, request);
+	}
+
+	/**
+	 * Get the summaries of all the books of any of the given authors.
+	 *
+	 * @param authorIds the ids of the authors.
+	 * @return the list of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<BookSummary> findSummariesByAuthorIds(Collection<Long> authorIds) {
+		log.debug("Request to get Book summaries of Authors : {}", authorIds);
+		return bookRepository.findSummariesByAuthorIdIn(authorIds);
+	}
+
+	/**
+	 * Get the summaries of all the books of any of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the list of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<BookSummary> findSummariesByPublisherIds(Collection<Long> publisherIds) {
+		log.debug("Request to get Book summaries of Publishers : {}", publisherIds);
+		return bookRepository.findSummariesByPublisherIdIn(publisherIds);
+	}
+
+	/**
+	 * Get one book by id with the given associations fetched in the same query.
+	 *
+	 * @param id         the id of the entity.
+	 * @param fetchPaths the dot separated association paths to fetch.
+	 * @return the entity.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Book> findOne(Long id, Collection<String> fetchPaths) {
+		log.debug("Request to get Book : {} fetching {}", id, fetchPaths);
+		return fetchGraphRepository.findById(Book.class, id, fetchPaths);
+	}
+
+	/**
+	 * Get the id of the book with the given normalized ISBN.
+	 *
+	 * @param isbn13 the normalized ISBN.
+	 * @return the id of the entity.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Long> findIdByIsbn(Long isbn13) {
+		log.debug("Request to get the id of the Book with ISBN {}", isbn13);
+		return bookRepository.findIdByIsbn13(isbn13);
+	}
+
+	/**
+	 * Get all the books having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Book> findAllById(Collection<Long> ids) {
+		log.debug("Request to get Books : {}", ids);
+		return bookRepository.findAllById(ids);
+	}
+
+	/**
+	 * Get the first books of each of the given authors, read through the index of
+	 * their author and id.
+	 *
+	 * @param authorIds the ids of the authors.
+	 * @param size      the maximum number of books to return per author.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Book> findFirstByAuthorIds(Collection<Long> authorIds, int size) {
+		log.debug("Request to get {} Books of Authors : {}", size, authorIds);
+		return bookRepository.findFirstByAuthorIdIn(authorIds, size);
+	}
+
+	/**
+	 * Get the first books of each of the given publishers, read through the index
+	 * of their publisher and id.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @param size         the maximum number of books to return per publisher.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Book> findFirstByPublisherIds(Collection<Long> publisherIds, int size) {
+		log.debug("Request to get {} Books of Publishers : {}", size, publisherIds);
+		return bookRepository.findFirstByPublisherIdIn(publisherIds, size);
+	}
+
+	/**
+	 * Get the books of the "authorId" author following the "afterId" book, read
+	 * through the index of their author and id.
+	 *
+	 * @param authorId the id of the author.
+	 * @param afterId  the id of the last book already seen, or null.
+	 * @param size     the maximum number of books to return.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Book> findByAuthorId(Long authorId, Long afterId, int size) {
+		log.debug("Request to get {} Books of Author {} after {}", size, authorId, afterId);
+		return bookRepository.findByAuthorIdAfter(authorId, afterId == null ? 0L : afterId, PageRequest.of(0, size));
+	}
+
+	/**
+	 * Get the books of the "publisherId" publisher following the "afterId" book,
+	 * read through the index of their publisher and id.
+	 *
+	 * @param publisherId the id of the publisher.
+	 * @param afterId     the id of the last book already seen, or null.
+	 * @param size        the maximum number of books to return.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Book> findByPublisherId(Long publisherId, Long afterId, int size) {
+		log.debug("Request to get {} Books of Publisher {} after {}", size, publisherId, afterId);
+		return bookRepository.findByPublisherIdAfter(publisherId, afterId == null ? 0L : afterId,
+				PageRequest.of(0, size));
+	}
+
+	/**
+	 * Count the books of each of the given authors.
+	 *
+	 * @param authorIds the ids of the authors.
+	 * @return the number of books by author id.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, Long> countByAuthorIds(Collection<Long> authorIds) {
+		log.debug("Request to count Books of Authors : {}", authorIds);
+		return bookRepository.countByAuthorIdIn(authorIds).stream()
+				.collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+	}
+
+	/**
+	 * Count the books of each of the given publishers.
+	 *
+	 * @param publisherIds the ids of the publishers.
+	 * @return the number of books by publisher id.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, Long> countByPublisherIds(Collection<Long> publisherIds) {
+		log.debug("Request to count Books of Publishers : {}", publisherIds);
+		return bookRepository.countByPublisherIdIn(publisherIds).stream()
+				.collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+	}
+
 	/**
 	 * Delete the book by id.
 	 *
@@ -77,7 +436,69 @@ public class BookServiceImpl implements BookService {
 	@Override
 	public void delete(Long id) {
 		log.debug("Request to delete Book : {}", id);
+		Optional<Book> book = bookRepository.findById(id);
+		book.ifPresent(deleted -> eventPublisher.publishEvent(EntityChangedEvent.deleted(deleted)));
 		bookRepository.deleteById(id);
+		book.ifPresent(deleted -> new Owners(List.of(deleted)).increment());
 	}
 
+	/**
+	 * Get the current state of the given books that are already persisted. Those
+	 * sent without a version, e.g. by REST clients not aware of it, are given the
+	 * current one, so that they overwrite it as before.
+	 *
+	 * @param books the entities to save.
+	 * @return the persisted entities they update.
+	 */
+	private List<Book> findCurrent(Collection<Book> books) {
+		Map<Long, Book> updated = books.stream().filter(book -> book.getId() != null)
+				.collect(Collectors.toMap(Book::getId, Function.identity(), (first, second) -> first));
+		if (updated.isEmpty()) {
+			return List.of();
+		}
+		List<Book> current = bookRepository.findAllById(updated.keySet());
+		for (Book persisted : current) {
+			Book book = updated.get(persisted.getId());
+			if (book.getVersion() == null) {
+				book.setVersion(persisted.getVersion());
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * The authors and publishers of the books being changed, whose resources
+	 * embed them and must get a new version. The publishers of the authors
+	 * embed the books through them, so they get a new version as well.
+	 */
+	private class Owners {
+
+		private final Set<Long> authorIds = new HashSet<>();
+
+		private final Set<Long> publisherIds = new HashSet<>();
+
+		private Owners(Collection<Book> books) {
+			add(books);
+		}
+
+		private void add(Collection<Book> books) {
+			for (Book book : books) {
+				if (book.getAuthor() != null) {
+					authorIds.add(book.getAuthor().getId());
+				}
+				if (book.getPublisher() != null) {
+					publisherIds.add(book.getPublisher().getId());
+				}
+			}
+		}
+
+		private void increment() {
+			authorIds.remove(null);
+			if (!authorIds.isEmpty()) {
+				publisherIds.addAll(authorRepository.findPublisherIdsByIdIn(authorIds));
+			}
+			versionRepository.increment(Author.class, authorIds);
+			versionRepository.increment(Publisher.class, publisherIds);
+		}
+	}
 }
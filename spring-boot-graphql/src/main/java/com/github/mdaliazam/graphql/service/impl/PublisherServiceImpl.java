@@ -1,17 +1,36 @@
 package com.github.mdaliazam.graphql.service.impl;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.repository.FetchGraphRepository;
+import com.github.mdaliazam.graphql.repository.KeysetRepository;
 import com.github.mdaliazam.graphql.repository.PublisherRepository;
+import com.github.mdaliazam.graphql.repository.VersionRepository;
 import com.github.mdaliazam.graphql.service.PublisherService;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.dto.PublisherSummary;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
 
 /**
  * Service Implementation for managing {@link Publisher}.
@@ -23,12 +42,31 @@ import com.github.mdaliazam.graphql.service.PublisherService;
 @Transactional
 public class PublisherServiceImpl implements PublisherService {
 
+	private static final int DETACH_INTERVAL = 500;
+
 	private final Logger log = LoggerFactory.getLogger(PublisherServiceImpl.class);
 
 	private final PublisherRepository publisherRepository;
 
-	public PublisherServiceImpl(PublisherRepository publisherRepository) {
+	private final FetchGraphRepository fetchGraphRepository;
+
+	private final KeysetRepository keysetRepository;
+
+	private final VersionRepository versionRepository;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public PublisherServiceImpl(PublisherRepository publisherRepository, FetchGraphRepository fetchGraphRepository,
+			KeysetRepository keysetRepository, VersionRepository versionRepository,
+			ApplicationEventPublisher eventPublisher) {
 		this.publisherRepository = publisherRepository;
+		this.fetchGraphRepository = fetchGraphRepository;
+		this.keysetRepository = keysetRepository;
+		this.versionRepository = versionRepository;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
@@ -40,7 +78,30 @@ public class PublisherServiceImpl implements PublisherService {
 	@Override
 	public Publisher save(Publisher publisher) {
 		log.debug("Request to save Publisher : {}", publisher);
-		return publisherRepository.save(publisher);
+		boolean created = publisher.getId() == null;
+		findCurrent(List.of(publisher));
+		Publisher result = publisherRepository.save(publisher);
+		eventPublisher.publishEvent(EntityChangedEvent.saved(result, created));
+		return result;
+	}
+
+	/**
+	 * Save all the given publishers in one transaction, the inserts being sent in
+	 * JDBC batches.
+	 *
+	 * @param publishers the entities to save.
+	 * @return the persisted entities.
+	 */
+	@Override
+	public List<Publisher> saveAll(Collection<Publisher> publishers) {
+		log.debug("Request to save {} Publishers", publishers.size());
+		List<Boolean> created = publishers.stream().map(publisher -> publisher.getId() == null).collect(Collectors.toList());
+		findCurrent(publishers);
+		List<Publisher> result = publisherRepository.saveAll(publishers);
+		for (int i = 0; i < result.size(); i++) {
+			eventPublisher.publishEvent(EntityChangedEvent.saved(result.get(i), created.get(i)));
+		}
+		return result;
 	}
 
 	/**
@@ -56,6 +117,44 @@ public class PublisherServiceImpl implements PublisherService {
 		return publisherRepository.findAll(pageable);
 	}
 
+	/**
+	 * Visit all the publishers, read through a forward-only cursor. The persistence
+	 * context is cleared every {@value #DETACH_INTERVAL} entities, which detaches
+	 * the visited publishers together with the proxies of their associations.
+	 *
+	 * @param action the action to perform on each entity.
+	 * @return the number of entities visited.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long forEach(Consumer<Publisher> action) {
+		log.debug("Request to stream all Publishers");
+		long count = 0;
+		try (Stream<Publisher> publishers = publisherRepository.streamAll()) {
+			for (Iterator<Publisher> iterator = publishers.iterator(); iterator.hasNext();) {
+				action.accept(iterator.next());
+				if (++count % DETACH_INTERVAL == 0) {
+					entityManager.clear();
+				}
+			}
+		}
+		entityManager.clear();
+		return count;
+	}
+
+	/**
+	 * Get a slice of the publishers after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<Publisher> findAll(KeysetRequest request) {
+		log.debug("Request to get a slice of Publishers : {}", request);
+		return keysetRepository.find(Publisher.class, request);
+	}
+
 	/**
 	 * Get one publisher by id.
 	 *
@@ -69,6 +168,86 @@ public class PublisherServiceImpl implements PublisherService {
 		return publisherRepository.findById(id);
 	}
 
+	/**
+	 * Get the version of the "id" publisher, without loading it.
+	 *
+	 * @param id the id of the entity.
+	 * @return the version, empty if there is no such entity.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Long> findVersion(Long id) {
+		log.debug("Request to get the version of Publisher : {}", id);
+		return versionRepository.findVersion(Publisher.class, id);
+	}
+
+	/**
+	 * Get a page of the summaries of the publishers, read without loading them.
+	 *
+	 * @param pageable the pagination information.
+	 * @return the page of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Page<PublisherSummary> findAllSummaries(Pageable pageable) {
+		log.debug("Request to get a page of Publisher summaries");
+		return publisherRepository.findAllSummaries(pageable);
+	}
+
+	/**
+	 * Get a slice of the summaries of the publishers after a cursor.
+	 *
+	 * @param request the size, cursor and order of the slice.
+	 * @return the slice of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetSlice<PublisherSummary> findAllSummaries(KeysetRequest request) {
+		log.debug("Request to get a slice of Publisher summaries : {}", request);
+		return keysetRepository.findProjections(Publisher.class, PublisherRepository.SUMMARY,
+				PublisherRepository::summary, request);
+	}
+
+	/**
+	 * Get the summaries of the publishers having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of summaries.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<PublisherSummary> findSummariesByIds(Collection<Long> ids) {
+		log.debug("Request to get Publisher summaries : {}", ids);
+		return publisherRepository.findSummariesByIdIn(ids);
+	}
+
+	/**
+	 * Get one publisher by id with the given associations fetched in the same query.
+	 *
+	 * @param id         the id of the entity.
+	 * @param fetchPaths the dot separated association paths to fetch.
+	 * @return the entity.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Publisher> findOne(Long id, Collection<String> fetchPaths) {
+		log.debug("Request to get Publisher : {} fetching {}", id, fetchPaths);
+		return fetchGraphRepository.findById(Publisher.class, id, fetchPaths);
+	}
+
+	/**
+	 * Get all the publishers having any of the given ids.
+	 *
+	 * @param ids the ids of the entities.
+	 * @return the list of entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Publisher> findAllById(Collection<Long> ids) {
+		log.debug("Request to get Publishers : {}", ids);
+		return publisherRepository.findAllById(ids);
+	}
+
 	/**
 	 * Delete the publisher by id.
 	 *
@@ -77,6 +256,32 @@ public class PublisherServiceImpl implements PublisherService {
 	@Override
 	public void delete(Long id) {
 		log.debug("Request to delete Publisher : {}", id);
+		publisherRepository.findById(id).ifPresent(
+				publisher -> eventPublisher.publishEvent(EntityChangedEvent.deleted(publisher)));
 		publisherRepository.deleteById(id);
 	}
+
+	/**
+	 * Get the current state of the given publishers that are already persisted. Those
+	 * sent without a version, e.g. by REST clients not aware of it, are given the
+	 * current one, so that they overwrite it as before.
+	 *
+	 * @param publishers the entities to save.
+	 * @return the persisted entities they update.
+	 */
+	private List<Publisher> findCurrent(Collection<Publisher> publishers) {
+		Map<Long, Publisher> updated = publishers.stream().filter(publisher -> publisher.getId() != null)
+				.collect(Collectors.toMap(Publisher::getId, Function.identity(), (first, second) -> first));
+		if (updated.isEmpty()) {
+			return List.of();
+		}
+		List<Publisher> current = publisherRepository.findAllById(updated.keySet());
+		for (Publisher persisted : current) {
+			Publisher publisher = updated.get(persisted.getId());
+			if (publisher.getVersion() == null) {
+				publisher.setVersion(persisted.getVersion());
+			}
+		}
+		return current;
+	}
 }
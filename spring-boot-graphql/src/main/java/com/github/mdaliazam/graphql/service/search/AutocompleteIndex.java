@@ -0,0 +1,239 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.dto.Suggestion;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent.Change;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+/**
+ * Type-ahead completion of the book titles and the author names, answered from
+ * two {@link SuggestionTrie}s held in memory. Texts are matched from their
+ * start, lower-cased and stripped of their accents. The titles are ranked by
+ * the number of books having them, the author names by the number of books of
+ * the authors having them, plus one per author so that authors without books
+ * are suggested as well.
+ * <p>
+ * The tries follow the changes of the books and of the authors. Their size is
+ * published as the {@code search.autocomplete.suggestions},
+ * {@code search.autocomplete.nodes} and {@code search.autocomplete.memory}
+ * gauges, tagged with the kind of suggestion.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class AutocompleteIndex extends CatalogIndex<AutocompleteIndex.Catalog> {
+
+	public static final int MAX_LIMIT = 100;
+
+	/**
+	 * Approximate size of the entry remembering the title and the author of a
+	 * book, or the name and the number of books of an author
+	 */
+	private static final int ENTRY_BYTES = 80;
+
+	private final Logger log = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+	private final BookService bookService;
+
+	private final AuthorService authorService;
+
+	public AutocompleteIndex(BookService bookService, AuthorService authorService, MeterRegistry meterRegistry) {
+		super("autocomplete index");
+		this.bookService = bookService;
+		this.authorService = authorService;
+		for (Suggestion.Kind kind : Suggestion.Kind.values()) {
+			String tag = kind.name().toLowerCase();
+			Gauge.builder("search.autocomplete.suggestions", this,
+					index -> index.read(catalog -> catalog.trie(kind).size(), 0))
+					.description("Distinct texts that can be suggested").tag("kind", tag).register(meterRegistry);
+			Gauge.builder("search.autocomplete.nodes", this,
+					index -> index.read(catalog -> catalog.trie(kind).nodes(), 0))
+					.description("Nodes of the autocomplete trie").tag("kind", tag).register(meterRegistry);
+			Gauge.builder("search.autocomplete.memory", this, index -> index.read(catalog -> catalog.memory(kind), 0L))
+					.description("Estimated memory taken by the autocomplete trie and the entries ranking it")
+					.baseUnit(BaseUnits.BYTES).tag("kind", tag).register(meterRegistry);
+		}
+	}
+
+	/**
+	 * Ranks all the authors and books of the database
+	 */
+	@Override
+	protected Catalog build() {
+		long start = System.currentTimeMillis();
+		Catalog catalog = new Catalog();
+		authorService.forEach(author -> catalog.putAuthor(author.getId(), author.getName()));
+		bookService.forEach(book -> catalog.putBook(book.getId(), book.getTitle(),
+				book.getAuthor() == null ? null : book.getAuthor().getId()));
+		log.info("Built the autocomplete tries of {} titles and {} author names in {} ms", catalog.titles.size(),
+				catalog.names.size(), System.currentTimeMillis() - start);
+		return catalog;
+	}
+
+	/**
+	 * Ranks the saved books and authors, and forgets the deleted ones
+	 */
+	@Override
+	protected Consumer<Catalog> change(EntityChangedEvent event) {
+		Object entity = event.getEntity();
+		if (entity instanceof Book) {
+			Long id = ((Book) entity).getId();
+			if (event.getChange() == Change.DELETED) {
+				return catalog -> catalog.removeBook(id);
+			}
+			String title = ((Book) entity).getTitle();
+			Author author = ((Book) entity).getAuthor();
+			Long authorId = author == null ? null : author.getId();
+			return catalog -> catalog.putBook(id, title, authorId);
+		}
+		if (entity instanceof Author) {
+			Long id = ((Author) entity).getId();
+			if (event.getChange() == Change.DELETED) {
+				return catalog -> catalog.removeAuthor(id);
+			}
+			String name = ((Author) entity).getName();
+			return catalog -> catalog.putAuthor(id, name);
+		}
+		return null;
+	}
+
+	/**
+	 * Completes the given prefix with the most popular titles and author names
+	 * starting with it
+	 *
+	 * @param prefix The text typed so far
+	 * @param limit  The maximum number of suggestions
+	 * @return The suggestions, most popular first
+	 * @throws IllegalArgumentException if the limit is not between 1 and
+	 *                                  {@value #MAX_LIMIT}
+	 * @throws IllegalStateException    if the tries are not built yet
+	 */
+	public List<Suggestion> complete(String prefix, int limit) {
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new IllegalArgumentException("The limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+		}
+		String key = BookSearchIndex.normalize(prefix);
+		if (key.isEmpty()) {
+			return List.of();
+		}
+		if (Character.isWhitespace(prefix.charAt(prefix.length() - 1))) {
+			// a word was completed, so it is not the prefix of a longer one
+			key += " ";
+		}
+		String completed = key;
+		List<Suggestion> suggestions = read(catalog -> {
+			List<Suggestion> found = new ArrayList<>(catalog.titles.top(completed, limit));
+			found.addAll(catalog.names.top(completed, limit));
+			return found;
+		});
+		suggestions.sort(Comparator.comparingInt(Suggestion::getPopularity).reversed());
+		return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+	}
+
+	/**
+	 * The tries, with the titles and authors of the books and the names and
+	 * numbers of books of the authors needed to rank them as they change
+	 */
+	static final class Catalog {
+
+		private final SuggestionTrie titles = new SuggestionTrie(Suggestion.Kind.BOOK_TITLE);
+
+		private final SuggestionTrie names = new SuggestionTrie(Suggestion.Kind.AUTHOR_NAME);
+
+		private final Map<Long, BookEntry> books = new HashMap<>();
+
+		private final Map<Long, AuthorEntry> authors = new HashMap<>();
+
+		private SuggestionTrie trie(Suggestion.Kind kind) {
+			return kind == Suggestion.Kind.BOOK_TITLE ? titles : names;
+		}
+
+		private long memory(Suggestion.Kind kind) {
+			int entries = kind == Suggestion.Kind.BOOK_TITLE ? books.size() : authors.size();
+			return trie(kind).memory() + (long) entries * ENTRY_BYTES;
+		}
+
+		private void putBook(Long id, String title, Long authorId) {
+			removeBook(id);
+			// the entry keeps the text shown by the trie, shared by the books
+			String shown = add(titles, title, 1);
+			books.put(id, new BookEntry(shown, authorId));
+			if (authorId != null) {
+				addBooks(authorId, 1);
+			}
+		}
+
+		private void removeBook(Long id) {
+			BookEntry entry = books.remove(id);
+			if (entry != null) {
+				add(titles, entry.title, -1);
+				if (entry.authorId != null) {
+					addBooks(entry.authorId, -1);
+				}
+			}
+		}
+
+		private void putAuthor(Long id, String name) {
+			// the books of an author may be indexed before the author itself
+			AuthorEntry entry = authors.computeIfAbsent(id, key -> new AuthorEntry());
+			add(names, entry.name, -(entry.books + 1));
+			entry.name = add(names, name, entry.books + 1);
+		}
+
+		private void removeAuthor(Long id) {
+			AuthorEntry entry = authors.remove(id);
+			if (entry != null) {
+				add(names, entry.name, -(entry.books + 1));
+			}
+		}
+
+		private void addBooks(Long authorId, int delta) {
+			AuthorEntry entry = authors.computeIfAbsent(authorId, key -> new AuthorEntry());
+			add(names, entry.name, delta);
+			entry.books += delta;
+		}
+
+		private static String add(SuggestionTrie trie, String text, int delta) {
+			String key = BookSearchIndex.normalize(text);
+			return key.isEmpty() ? null : trie.add(key, text, delta);
+		}
+	}
+
+	private static final class BookEntry {
+
+		private final String title;
+
+		private final Long authorId;
+
+		private BookEntry(String title, Long authorId) {
+			this.title = title;
+			this.authorId = authorId;
+		}
+	}
+
+	private static final class AuthorEntry {
+
+		private String name;
+
+		private int books;
+	}
+}
@@ -0,0 +1,233 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent.Change;
+
+/**
+ * Full-text search over the titles and the author names of the books, answered
+ * from an {@link InvertedIndex} held in memory instead of {@code LIKE '%x%'}
+ * scans of the book table. Texts are split into words of letters and digits,
+ * lower-cased and stripped of their accents.
+ * <p>
+ * The index follows the changes of the books and of the authors, whose names
+ * are indexed with their books. The matches are found in the order of their ids
+ * and a search stops after the page it asked for.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class BookSearchIndex extends CatalogIndex<BookSearchIndex.Catalog> {
+
+	private static final String CURSOR_PROPERTY = "search";
+
+	private static final int REINDEX_BATCH_SIZE = 500;
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+	private final BookService bookService;
+
+	private final AuthorService authorService;
+
+	public BookSearchIndex(BookService bookService, AuthorService authorService) {
+		super("search index");
+		this.bookService = bookService;
+		this.authorService = authorService;
+	}
+
+	/**
+	 * Indexes all the authors and books of the database
+	 */
+	@Override
+	protected Catalog build() {
+		long start = System.currentTimeMillis();
+		Catalog catalog = new Catalog();
+		authorService.forEach(author -> catalog.authorNames.put(author.getId(), author.getName()));
+		bookService.forEach(book -> catalog.index.put(book.getId(), terms(book.getTitle(),
+				book.getAuthor() == null ? null : catalog.authorNames.get(book.getAuthor().getId()))));
+		log.info("Indexed {} books with {} terms in {} ms", catalog.index.size(), catalog.index.terms(),
+				System.currentTimeMillis() - start);
+		return catalog;
+	}
+
+	/**
+	 * Indexes the saved books, and the books of the renamed authors
+	 */
+	@Override
+	protected Consumer<Catalog> change(EntityChangedEvent event) {
+		Object entity = event.getEntity();
+		if (entity instanceof Book) {
+			Book book = (Book) entity;
+			Long id = book.getId();
+			if (event.getChange() == Change.DELETED) {
+				return catalog -> catalog.index.remove(id);
+			}
+			String title = book.getTitle();
+			Long authorId = book.getAuthor() == null ? null : book.getAuthor().getId();
+			return catalog -> catalog.index.put(id, terms(title, catalog.authorNames.get(authorId)));
+		}
+		if (entity instanceof Author) {
+			Long id = ((Author) entity).getId();
+			String name = ((Author) entity).getName();
+			if (event.getChange() == Change.DELETED) {
+				return catalog -> catalog.authorNames.remove(id);
+			}
+			boolean renamed = event.getChange() == Change.SAVED
+					&& read(catalog -> !Objects.equals(catalog.authorNames.get(id), name), true);
+			update(catalog -> catalog.authorNames.put(id, name));
+			if (renamed) {
+				reindexBooks(id, name);
+			}
+			return null;
+		}
+		return null;
+	}
+
+	/**
+	 * Indexes the books of a renamed author again, a batch after the other, so
+	 * that neither all its books are loaded at once nor the index is locked
+	 * while they are read. The books saved meanwhile are indexed with the new
+	 * name already.
+	 */
+	private void reindexBooks(Long authorId, String name) {
+		Long after = null;
+		List<Book> books;
+		do {
+			books = bookService.findByAuthorId(authorId, after, REINDEX_BATCH_SIZE);
+			List<Book> batch = books;
+			update(catalog -> batch.forEach(book -> catalog.index.put(book.getId(), terms(book.getTitle(), name))));
+			after = books.isEmpty() ? after : books.get(books.size() - 1).getId();
+		} while (books.size() == REINDEX_BATCH_SIZE);
+	}
+
+	/**
+	 * Finds the books whose title and author name contain all the words of the
+	 * given text, in the order of their ids
+	 *
+	 * @param text    The words to search for
+	 * @param request The size of the slice and the cursor to continue after
+	 * @return The books found
+	 * @throws IllegalArgumentException if the cursor was not issued by a search
+	 * @throws IllegalStateException    if the index is not built yet
+	 */
+	public KeysetSlice<Book> search(String text, KeysetRequest request) {
+		long after = request.getAfter() == null ? Long.MIN_VALUE : decode(request.getAfter());
+		Set<String> terms = tokens(text);
+		long[] ids = read(catalog -> catalog.index.find(terms, after, request.getSize() + 1));
+		Long total = request.isCount() ? read(catalog -> (long) catalog.index.count(terms)) : null;
+		boolean hasNext = ids.length > request.getSize();
+		List<Long> page = Arrays.stream(ids).limit(request.getSize()).boxed().collect(Collectors.toList());
+		Map<Long, Book> books = bookService.findAllById(page).stream()
+				.collect(Collectors.toMap(Book::getId, Function.identity()));
+		List<Book> content = new ArrayList<>();
+		List<String> cursors = new ArrayList<>();
+		for (Long id : page) {
+			// the book may have been deleted since it was found
+			if (books.containsKey(id)) {
+				content.add(books.get(id));
+				cursors.add(encode(id));
+			}
+		}
+		return new KeysetSlice<>(content, cursors, hasNext, total);
+	}
+
+	private static Set<String> terms(String title, String authorName) {
+		Set<String> terms = tokens(title);
+		terms.addAll(tokens(authorName));
+		return terms;
+	}
+
+	/**
+	 * Splits the given text into lower-case words without accents
+	 *
+	 * @param text The text, or null
+	 * @return The distinct words, in order
+	 */
+	public static Set<String> tokens(String text) {
+		Set<String> tokens = new LinkedHashSet<>();
+		String normalized = normalize(text);
+		if (!normalized.isEmpty()) {
+			tokens.addAll(Arrays.asList(normalized.split(" ")));
+		}
+		return tokens;
+	}
+
+	/**
+	 * Lower-cases the given text and strips it of its accents, its words being
+	 * separated by single spaces
+	 *
+	 * @param text The text, or null
+	 * @return The normalized text, empty if it has no words
+	 */
+	public static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+	}
+
+	private static String encode(long id) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((CURSOR_PROPERTY + ":" + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long decode(String cursor) {
+		String[] values;
+		try {
+			values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor " + cursor);
+		}
+		if (values.length != 2 || !CURSOR_PROPERTY.equals(values[0])) {
+			throw new IllegalArgumentException("The cursor " + cursor + " was not issued by a search");
+		}
+		try {
+			return Long.parseLong(values[1]);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid cursor " + cursor);
+		}
+	}
+
+	/**
+	 * The index, with the names of the authors needed to index their books
+	 */
+	static final class Catalog {
+
+		private final InvertedIndex index = new InvertedIndex();
+
+		private final Map<Long, String> authorNames = new HashMap<>();
+	}
+}
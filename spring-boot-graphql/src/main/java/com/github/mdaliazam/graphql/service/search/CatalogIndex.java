@@ -0,0 +1,197 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.mdaliazam.graphql.service.event.EntitiesChangedEvent;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+
+/**
+ * A view of the catalog held in memory. It is built from the database once the
+ * application is ready, unless {@value #INDEX_ON_STARTUP} is false, and kept
+ * up to date with the entities saved or deleted through the services once
+ * their transaction has committed. The changes committed while it is being
+ * built are applied to it afterwards.
+ *
+ * @param <S> The type of the state of the index, only accessed under its lock
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public abstract class CatalogIndex<S> {
+
+	/**
+	 * Whether to build the indexes once the application is ready, true by
+	 * default, e.g. false when it only generates a catalog
+	 */
+	public static final String INDEX_ON_STARTUP = "application.search.index-on-startup";
+
+	private final String name;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private S state;
+
+	/**
+	 * The changes committed while the index is built, null otherwise
+	 */
+	private List<Consumer<S>> pending;
+
+	/**
+	 * @param name The name of the index, for the error messages
+	 */
+	protected CatalogIndex(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Builds the index once the application is ready, web application or not,
+	 * unless {@value #INDEX_ON_STARTUP} is false
+	 *
+	 * @param event The event published when the application is ready
+	 */
+	@EventListener
+	public void onApplicationReady(ApplicationReadyEvent event) {
+		if (event.getApplicationContext().getEnvironment().getProperty(INDEX_ON_STARTUP, Boolean.class, true)) {
+			rebuild();
+		}
+	}
+
+	/**
+	 * Builds the index again from the database, the current one being used until
+	 * the new one is complete
+	 */
+	public void rebuild() {
+		lock.writeLock().lock();
+		try {
+			pending = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		S rebuilt = null;
+		try {
+			rebuilt = build();
+		} finally {
+			lock.writeLock().lock();
+			try {
+				if (rebuilt != null) {
+					S built = rebuilt;
+					pending.forEach(change -> change.accept(built));
+					state = rebuilt;
+				}
+				pending = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Applies the committed changes to the index
+	 *
+	 * @param event The change published by the services
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEntityChanged(EntityChangedEvent event) {
+		Consumer<S> change = change(event);
+		if (change != null) {
+			update(change);
+		}
+	}
+
+	/**
+	 * Applies the committed changes of many entities to the index at once
+	 *
+	 * @param event The changes published by the services
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEntitiesChanged(EntitiesChangedEvent event) {
+		List<Consumer<S>> changes = new ArrayList<>();
+		for (EntityChangedEvent entityEvent : event.events()) {
+			Consumer<S> change = change(entityEvent);
+			if (change != null) {
+				changes.add(change);
+			}
+		}
+		if (!changes.isEmpty()) {
+			update(state -> changes.forEach(change -> change.accept(state)));
+		}
+	}
+
+	/**
+	 * Applies a change to the index, after it is built if it is being built
+	 *
+	 * @param change The modification of the state
+	 */
+	protected void update(Consumer<S> change) {
+		lock.writeLock().lock();
+		try {
+			if (pending != null) {
+				pending.add(change);
+			} else if (state != null) {
+				change.accept(state);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Reads the state of the index from the database, without holding its lock
+	 *
+	 * @return The new state
+	 */
+	protected abstract S build();
+
+	/**
+	 * Returns how the given change modifies the state of the index. Called
+	 * without holding its lock, so the database can be read.
+	 *
+	 * @param event The change published by the services
+	 * @return The modification, or null if the index is not concerned
+	 */
+	protected abstract Consumer<S> change(EntityChangedEvent event);
+
+	/**
+	 * Reads the state of the index under its lock
+	 *
+	 * @param reader Reads the state
+	 * @return What was read
+	 * @throws IllegalStateException if the index is not built yet
+	 */
+	protected <R> R read(Function<S, R> reader) {
+		lock.readLock().lock();
+		try {
+			if (state == null) {
+				throw new IllegalStateException("The " + name + " is being built, please retry later");
+			}
+			return reader.apply(state);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Reads the state of the index under its lock, if it is built
+	 *
+	 * @param reader  Reads the state
+	 * @param unbuilt The value to return if the index is not built yet
+	 * @return What was read
+	 */
+	protected <R> R read(Function<S, R> reader, R unbuilt) {
+		lock.readLock().lock();
+		try {
+			return state == null ? unbuilt : reader.apply(state);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+}
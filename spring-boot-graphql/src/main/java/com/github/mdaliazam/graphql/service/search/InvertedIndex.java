@@ -0,0 +1,318 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maps terms to the entities containing them. Every entity, identified by its
+ * key, is a document numbered in the order of the keys, so that the matches
+ * are found in that order too and a search stops once it has found enough of
+ * them. An entity added after the greatest key is appended; one replacing an
+ * earlier entity, or inserted before the greatest key, is kept aside until the
+ * next compaction and checked term by term. Replacing or removing an entity
+ * only marks its document as deleted; once most documents are deleted, or many
+ * entities are kept aside, the posting lists are rewritten.
+ * <p>
+ * Not thread safe: the {@link BookSearchIndex} guards it with a lock.
+ *
+ * @see PostingList
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class InvertedIndex {
+
+	private static final int MIN_TO_COMPACT = 1024;
+
+	private static final long[] NONE = new long[0];
+
+	private final Map<String, PostingList> postings = new HashMap<>();
+
+	private final Map<Long, Integer> documents = new HashMap<>();
+
+	/**
+	 * The terms of the entities kept aside, by ascending key
+	 */
+	private final TreeMap<Long, Set<String>> unordered = new TreeMap<>();
+
+	/**
+	 * The key of every document, ascending, including the deleted ones
+	 */
+	private long[] keys = new long[1024];
+
+	private int size;
+
+	private BitSet deleted = new BitSet();
+
+	private int deletedCount;
+
+	/**
+	 * Adds or replaces the terms of an entity
+	 *
+	 * @param key   The key of the entity
+	 * @param terms Its terms
+	 */
+	void put(long key, Collection<String> terms) {
+		remove(key);
+		if (size > 0 && key <= keys[size - 1]) {
+			unordered.put(key, Set.copyOf(terms));
+			compactIfNeeded();
+			return;
+		}
+		int document = size++;
+		if (document == keys.length) {
+			keys = Arrays.copyOf(keys, keys.length * 2);
+		}
+		keys[document] = key;
+		documents.put(key, document);
+		for (String term : terms) {
+			postings.computeIfAbsent(term, t -> new PostingList()).add(document);
+		}
+	}
+
+	/**
+	 * Removes an entity, if it was indexed
+	 *
+	 * @param key The key of the entity
+	 */
+	void remove(long key) {
+		if (unordered.remove(key) != null) {
+			return;
+		}
+		Integer document = documents.remove(key);
+		if (document != null) {
+			deleted.set(document);
+			deletedCount++;
+			compactIfNeeded();
+		}
+	}
+
+	/**
+	 * @return The number of entities indexed
+	 */
+	int size() {
+		return documents.size() + unordered.size();
+	}
+
+	/**
+	 * @return The number of distinct terms
+	 */
+	int terms() {
+		return postings.size();
+	}
+
+	/**
+	 * Returns the first keys of the entities containing all the given terms
+	 *
+	 * @param terms The terms
+	 * @param after The key to continue after
+	 * @param limit The maximum number of keys to return
+	 * @return The keys greater than the given one, in ascending order
+	 */
+	long[] find(Collection<String> terms, long after, int limit) {
+		if (terms.isEmpty() || limit <= 0) {
+			return NONE;
+		}
+		long[] found = new long[Math.min(limit, size())];
+		int count = 0;
+		PostingList.Cursor[] cursors = cursors(terms);
+		int document = cursors == null ? Integer.MAX_VALUE : first(after);
+		Map.Entry<Long, Set<String>> aside = nextAside(after, terms);
+		while (count < found.length) {
+			document = cursors == null ? Integer.MAX_VALUE : match(cursors, document);
+			long key = document == Integer.MAX_VALUE ? Long.MAX_VALUE : keys[document];
+			if (aside != null && aside.getKey() < key) {
+				found[count++] = aside.getKey();
+				aside = nextAside(aside.getKey(), terms);
+			} else if (document == Integer.MAX_VALUE) {
+				break;
+			} else {
+				found[count++] = key;
+				document++;
+			}
+		}
+		return count == found.length ? found : Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Counts the entities containing all the given terms
+	 *
+	 * @param terms The terms
+	 * @return The number of entities
+	 */
+	int count(Collection<String> terms) {
+		if (terms.isEmpty()) {
+			return 0;
+		}
+		int count = 0;
+		PostingList.Cursor[] cursors = cursors(terms);
+		if (cursors != null) {
+			for (int document = match(cursors, 0); document != Integer.MAX_VALUE; document = match(cursors,
+					document + 1)) {
+				count++;
+			}
+		}
+		for (Set<String> aside : unordered.values()) {
+			if (aside.containsAll(terms)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the cursors of the posting lists of the given terms, from the
+	 * rarest one, or null if one of them is in no posting list
+	 */
+	private PostingList.Cursor[] cursors(Collection<String> terms) {
+		List<PostingList> lists = new ArrayList<>(terms.size());
+		for (String term : terms) {
+			PostingList list = postings.get(term);
+			if (list == null) {
+				return null;
+			}
+			lists.add(list);
+		}
+		// the rarest term leads, so that the others are mostly skipped
+		lists.sort(Comparator.comparingInt(PostingList::size));
+		return lists.stream().map(PostingList::cursor).toArray(PostingList.Cursor[]::new);
+	}
+
+	/**
+	 * Returns the first document of all the cursors, not deleted, from the given
+	 * one on, advancing each of them to it
+	 *
+	 * @return The document, or {@link Integer#MAX_VALUE} if there is none
+	 */
+	private int match(PostingList.Cursor[] cursors, int from) {
+		int document = from;
+		while (document != Integer.MAX_VALUE) {
+			document = cursors[0].advance(document);
+			int i = 1;
+			while (i < cursors.length && document != Integer.MAX_VALUE) {
+				int other = cursors[i].advance(document);
+				if (other == document) {
+					i++;
+				} else {
+					document = cursors[0].advance(other);
+					i = 1;
+				}
+			}
+			if (document == Integer.MAX_VALUE || !deleted.get(document)) {
+				return document;
+			}
+			document++;
+		}
+		return document;
+	}
+
+	/**
+	 * Returns the first document whose key is greater than the given one
+	 */
+	private int first(long after) {
+		int found = Arrays.binarySearch(keys, 0, size, after);
+		return found >= 0 ? found + 1 : -found - 1;
+	}
+
+	/**
+	 * Returns the first entity kept aside after the given key and containing all
+	 * the given terms
+	 */
+	private Map.Entry<Long, Set<String>> nextAside(long after, Collection<String> terms) {
+		Map.Entry<Long, Set<String>> entry = unordered.higherEntry(after);
+		while (entry != null && !entry.getValue().containsAll(terms)) {
+			entry = unordered.higherEntry(entry.getKey());
+		}
+		return entry;
+	}
+
+	private void compactIfNeeded() {
+		if (deletedCount >= MIN_TO_COMPACT && deletedCount > size / 2
+				|| unordered.size() >= MIN_TO_COMPACT && unordered.size() > size / 8) {
+			compact();
+		}
+	}
+
+	/**
+	 * Renumbers the documents left and the entities kept aside, in the order of
+	 * their keys, and rewrites the posting lists without the deleted documents
+	 */
+	private void compact() {
+		int live = documents.size() + unordered.size();
+		long[] compactedKeys = new long[Math.max(1024, live * 2)];
+		int[] renumbered = new int[size];
+		Map<String, List<Integer>> asideDocuments = new HashMap<>();
+		Map.Entry<Long, Set<String>> aside = unordered.firstEntry();
+		int count = 0;
+		for (int document = 0; document <= size; document++) {
+			// the entities kept aside take their place among the documents
+			long key = document < size ? keys[document] : Long.MAX_VALUE;
+			for (; aside != null && aside.getKey() < key; aside = unordered.higherEntry(aside.getKey())) {
+				for (String term : aside.getValue()) {
+					asideDocuments.computeIfAbsent(term, t -> new ArrayList<>()).add(count);
+				}
+				documents.put(aside.getKey(), count);
+				compactedKeys[count++] = aside.getKey();
+			}
+			if (document < size && !deleted.get(document)) {
+				renumbered[document] = count;
+				documents.put(key, count);
+				compactedKeys[count++] = key;
+			}
+		}
+		Map<String, PostingList> compacted = new HashMap<>();
+		for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+			PostingList list = merge(entry.getValue(), renumbered, asideDocuments.remove(entry.getKey()));
+			if (list.size() > 0) {
+				compacted.put(entry.getKey(), list);
+			}
+		}
+		asideDocuments.forEach((term, added) -> compacted.put(term, merge(null, renumbered, added)));
+		postings.clear();
+		postings.putAll(compacted);
+		unordered.clear();
+		keys = compactedKeys;
+		size = count;
+		deleted = new BitSet();
+		deletedCount = 0;
+	}
+
+	/**
+	 * Returns the documents of the given list that are not deleted, renumbered,
+	 * and the given documents of the entities kept aside, both ascending
+	 */
+	private PostingList merge(PostingList list, int[] renumbered, List<Integer> added) {
+		PostingList merged = new PostingList();
+		PostingList.Cursor cursor = list == null ? null : list.cursor();
+		int document = cursor == null ? Integer.MAX_VALUE : nextLive(cursor);
+		int i = 0;
+		while (document != Integer.MAX_VALUE || added != null && i < added.size()) {
+			int next = added != null && i < added.size() ? added.get(i) : Integer.MAX_VALUE;
+			if (document != Integer.MAX_VALUE && renumbered[document] < next) {
+				merged.add(renumbered[document]);
+				document = nextLive(cursor);
+			} else {
+				merged.add(next);
+				i++;
+			}
+		}
+		merged.trim();
+		return merged;
+	}
+
+	private int nextLive(PostingList.Cursor cursor) {
+		int document = cursor.next();
+		while (document != Integer.MAX_VALUE && deleted.get(document)) {
+			document = cursor.next();
+		}
+		return document;
+	}
+}
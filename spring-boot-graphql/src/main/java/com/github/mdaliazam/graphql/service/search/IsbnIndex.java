@@ -0,0 +1,127 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Isbn;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent.Change;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+/**
+ * Finds books by ISBN without going to the database: the normalized ISBNs of
+ * all the books, see {@link Isbn}, are mapped to their ids in a
+ * {@link LongLongMap}. Until the map is built, the ids are read through the
+ * unique index of the normalized ISBNs.
+ * <p>
+ * The map follows the changes of the books, so an ISBN it misses is not the
+ * one of any book: only the change events write into it, never the lookups,
+ * which would race with them. Its size is published as the
+ * {@code search.isbn.books} and {@code search.isbn.memory} gauges.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@Component
+public class IsbnIndex extends CatalogIndex<IsbnIndex.Catalog> {
+
+	private static final long MISSING = 0;
+
+	private final Logger log = LoggerFactory.getLogger(IsbnIndex.class);
+
+	private final BookService bookService;
+
+	public IsbnIndex(BookService bookService, MeterRegistry meterRegistry) {
+		super("ISBN index");
+		this.bookService = bookService;
+		Gauge.builder("search.isbn.books", this, index -> index.read(catalog -> catalog.bookIds.size(), 0))
+				.description("Books found by ISBN from memory").register(meterRegistry);
+		Gauge.builder("search.isbn.memory", this,
+				index -> index.read(catalog -> catalog.bookIds.memory() + catalog.isbns.memory(), 0L))
+				.description("Memory taken by the maps of the ISBNs").baseUnit(BaseUnits.BYTES)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Maps the normalized ISBNs of all the books of the database
+	 */
+	@Override
+	protected Catalog build() {
+		long start = System.currentTimeMillis();
+		Catalog catalog = new Catalog();
+		bookService.forEachIsbn(catalog::put);
+		log.info("Indexed the ISBNs of {} books in {} ms", catalog.bookIds.size(),
+				System.currentTimeMillis() - start);
+		return catalog;
+	}
+
+	/**
+	 * Maps the ISBNs of the saved books, and forgets the deleted ones
+	 */
+	@Override
+	protected Consumer<Catalog> change(EntityChangedEvent event) {
+		if (!(event.getEntity() instanceof Book)) {
+			return null;
+		}
+		Book book = (Book) event.getEntity();
+		Long id = book.getId();
+		Long isbn13 = book.getIsbn13();
+		if (event.getChange() == Change.DELETED || isbn13 == null) {
+			return catalog -> catalog.remove(id);
+		}
+		return catalog -> catalog.put(id, isbn13);
+	}
+
+	/**
+	 * Returns the id of the book with the given ISBN
+	 *
+	 * @param isbn The ISBN, in any of the forms accepted by {@link Isbn}
+	 * @return The id of the book, empty if the map has none or if the text is
+	 *         not an ISBN
+	 */
+	public Optional<Long> findBookId(String isbn) {
+		Long isbn13 = Isbn.normalize(isbn);
+		if (isbn13 == null) {
+			return Optional.empty();
+		}
+		Long id = read(catalog -> catalog.bookIds.get(isbn13, MISSING), null);
+		if (id == null) {
+			return bookService.findIdByIsbn(isbn13);
+		}
+		return id != MISSING ? Optional.of(id) : Optional.empty();
+	}
+
+	/**
+	 * The ids of the books by normalized ISBN, and the normalized ISBNs by book
+	 * id to forget the previous ISBN of a saved book
+	 */
+	static final class Catalog {
+
+		private final LongLongMap bookIds = new LongLongMap();
+
+		private final LongLongMap isbns = new LongLongMap();
+
+		private void put(Long id, Long isbn13) {
+			remove(id);
+			bookIds.put(isbn13, id);
+			isbns.put(id, isbn13);
+		}
+
+		private void remove(Long id) {
+			long isbn13 = isbns.get(id, MISSING);
+			if (isbn13 != MISSING) {
+				isbns.remove(id);
+				bookIds.remove(isbn13);
+			}
+		}
+	}
+}
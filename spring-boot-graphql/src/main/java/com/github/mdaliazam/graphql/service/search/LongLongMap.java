@@ -0,0 +1,130 @@
+package com.github.mdaliazam.graphql.service.search;
+
+/**
+ * A map of positive long keys to long values, stored in two arrays with open
+ * addressing and linear probing: no boxed keys or values and no entry objects,
+ * 16 bytes per slot, and a lookup hashing a long instead of a string.
+ * <p>
+ * Not thread safe: the {@link IsbnIndex} guards it with a lock.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class LongLongMap {
+
+	private static final long FREE = 0;
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+
+	private long[] values;
+
+	private int size;
+
+	LongLongMap() {
+		keys = new long[MIN_CAPACITY];
+		values = new long[MIN_CAPACITY];
+	}
+
+	/**
+	 * @param key     The key
+	 * @param missing The value to return if the key is not in the map
+	 * @return The value of the key
+	 */
+	long get(long key, long missing) {
+		if (key <= FREE) {
+			return missing;
+		}
+		int slot = find(key);
+		return keys[slot] == key ? values[slot] : missing;
+	}
+
+	/**
+	 * @param key   The key, positive
+	 * @param value The value
+	 */
+	void put(long key, long value) {
+		if (key <= FREE) {
+			throw new IllegalArgumentException("The key must be positive, was " + key);
+		}
+		int slot = find(key);
+		if (keys[slot] == FREE) {
+			keys[slot] = key;
+			size++;
+		}
+		values[slot] = value;
+		// at most three quarters full, so that the probes stay short
+		if (size > keys.length / 4 * 3) {
+			resize(keys.length * 2);
+		}
+	}
+
+	/**
+	 * Removes a key, shifting back the keys probed after it so that no
+	 * tombstone is needed
+	 *
+	 * @param key The key
+	 */
+	void remove(long key) {
+		int free = find(key);
+		if (key <= FREE || keys[free] != key) {
+			return;
+		}
+		int mask = keys.length - 1;
+		for (int slot = (free + 1) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+			int home = home(keys[slot], mask);
+			// the key stays if its home is cyclically after the freed slot
+			boolean stays = free <= slot ? free < home && home <= slot : free < home || home <= slot;
+			if (!stays) {
+				keys[free] = keys[slot];
+				values[free] = values[slot];
+				free = slot;
+			}
+		}
+		keys[free] = FREE;
+		size--;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return The bytes taken by the arrays
+	 */
+	long memory() {
+		return 2L * (16 + 8L * keys.length);
+	}
+
+	/**
+	 * Returns the slot of the given key, or the free slot ending its probe
+	 */
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = home(key, mask);
+		while (keys[slot] != key && keys[slot] != FREE) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	static int home(long key, int mask) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		long[] oldValues = values;
+		keys = new long[capacity];
+		values = new long[capacity];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE) {
+				int slot = find(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import java.util.Arrays;
+
+/**
+ * The ascending document numbers containing a term, stored as the variable
+ * length encoding of the gaps between them: a few bytes per document instead of
+ * the four of an int. Documents are always appended after the last one, which
+ * holds since the index numbers its documents in order.
+ * <p>
+ * Every {@value #SKIP_INTERVAL} documents, the document and the position of its
+ * gap are recorded, so that a {@link Cursor} advancing to a document decodes at
+ * most that many gaps instead of the whole list.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class PostingList {
+
+	static final int SKIP_INTERVAL = 64;
+
+	private byte[] bytes = new byte[4];
+
+	private int length;
+
+	private int size;
+
+	private int last = -1;
+
+	/**
+	 * The document before every {@value #SKIP_INTERVAL}th one, -1 for the
+	 * first, and the position of the gap that follows it
+	 */
+	private int[] skipDocuments = new int[1];
+
+	private int[] skipPositions = new int[1];
+
+	private int skips;
+
+	/**
+	 * Appends a document, greater than all the documents already added
+	 *
+	 * @param document The document number
+	 */
+	void add(int document) {
+		if (document <= last) {
+			throw new IllegalArgumentException("Document " + document + " is not after " + last);
+		}
+		if (length + 5 > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+		}
+		if (size % SKIP_INTERVAL == 0) {
+			if (skips == skipDocuments.length) {
+				skipDocuments = Arrays.copyOf(skipDocuments, skips * 2);
+				skipPositions = Arrays.copyOf(skipPositions, skips * 2);
+			}
+			skipDocuments[skips] = last;
+			skipPositions[skips++] = length;
+		}
+		int gap = document - last;
+		while (gap >= 0x80) {
+			bytes[length++] = (byte) (gap & 0x7f | 0x80);
+			gap >>>= 7;
+		}
+		bytes[length++] = (byte) gap;
+		last = document;
+		size++;
+	}
+
+	/**
+	 * @return The number of documents, including the deleted ones
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return The documents, in ascending order
+	 */
+	int[] toArray() {
+		int[] documents = new int[size];
+		Cursor cursor = cursor();
+		for (int i = 0; i < size; i++) {
+			documents[i] = cursor.next();
+		}
+		return documents;
+	}
+
+	/**
+	 * Releases the room left for the documents to come, once the list is
+	 * complete
+	 */
+	void trim() {
+		bytes = Arrays.copyOf(bytes, length);
+		skipDocuments = Arrays.copyOf(skipDocuments, skips);
+		skipPositions = Arrays.copyOf(skipPositions, skips);
+	}
+
+	/**
+	 * @return A cursor before the first document
+	 */
+	Cursor cursor() {
+		return new Cursor();
+	}
+
+	/**
+	 * Reads the documents of the list in ascending order, decoding their gaps
+	 * one after the other and skipping the blocks before the ones advanced to
+	 */
+	final class Cursor {
+
+		private int document = -1;
+
+		private int position;
+
+		private int index;
+
+		/**
+		 * @return The next document, or {@link Integer#MAX_VALUE} once they are
+		 *         all read
+		 */
+		int next() {
+			if (index == size) {
+				document = Integer.MAX_VALUE;
+				return document;
+			}
+			int gap = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = bytes[position++];
+				gap |= (b & 0x7f) << shift;
+				shift += 7;
+			} while (b < 0);
+			document += gap;
+			index++;
+			return document;
+		}
+
+		/**
+		 * Moves to the first document greater than or equal to the given one
+		 *
+		 * @param target The document to advance to, at least the current one
+		 * @return The document, or {@link Integer#MAX_VALUE} if there is none
+		 */
+		int advance(int target) {
+			if (document >= target) {
+				return document;
+			}
+			// the last block starting before the target, if it is ahead
+			int block = Arrays.binarySearch(skipDocuments, 0, skips, target - 1);
+			block = block >= 0 ? block : -block - 2;
+			if (block >= 0 && block * SKIP_INTERVAL > index) {
+				document = skipDocuments[block];
+				position = skipPositions[block];
+				index = block * SKIP_INTERVAL;
+			}
+			while (document < target) {
+				next();
+			}
+			return document;
+		}
+
+		/**
+		 * @return The current document, -1 before the first one
+		 */
+		int document() {
+			return document;
+		}
+	}
+}
@@ -0,0 +1,296 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.github.mdaliazam.graphql.service.dto.Suggestion;
+
+/**
+ * A radix trie of weighted keys, each shown as the text it was first added
+ * with. The chains of nodes with a single child are merged into one edge
+ * labelled with all their characters, and every node remembers the best weight
+ * below it, so that the heaviest keys starting with a prefix are found by
+ * visiting little more than the nodes leading to them.
+ * <p>
+ * Not thread safe: the {@link AutocompleteIndex} guards it with a lock.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class SuggestionTrie {
+
+	private static final Node[] LEAF = new Node[0];
+
+	/**
+	 * Approximate size of a node, its label and its reference from its parent,
+	 * with compressed references and strings of Latin-1 characters
+	 */
+	private static final int NODE_BYTES = 32 + 40 + 16 + 4;
+
+	private static final int TEXT_BYTES = 40;
+
+	private static final Comparator<Candidate> BEST_FIRST = Comparator
+			.comparingInt((Candidate candidate) -> -candidate.weight)
+			.thenComparing(candidate -> !candidate.complete);
+
+	private final Suggestion.Kind kind;
+
+	private final Node root = new Node("");
+
+	private int keys;
+
+	private int nodes = 1;
+
+	private long characters;
+
+	SuggestionTrie(Suggestion.Kind kind) {
+		this.kind = kind;
+	}
+
+	/**
+	 * Changes the weight of a key, adding it if needed and removing it once its
+	 * weight is no longer positive
+	 *
+	 * @param key   The key
+	 * @param text  The text to show for the key, if it is added
+	 * @param delta The change of its weight
+	 * @return The text shown for the key, or null if it is not in the trie
+	 *         anymore
+	 */
+	String add(String key, String text, int delta) {
+		List<Node> path = new ArrayList<>();
+		Node node = root;
+		int i = 0;
+		path.add(node);
+		while (i < key.length()) {
+			int index = indexOf(node, key.charAt(i));
+			if (index < 0) {
+				if (delta <= 0) {
+					return null;
+				}
+				Node leaf = new Node(key.substring(i));
+				characters += leaf.label.length();
+				insert(node, leaf);
+				path.add(leaf);
+				break;
+			}
+			Node child = node.children[index];
+			int common = commonPrefix(child.label, key, i);
+			if (common < child.label.length()) {
+				if (delta <= 0) {
+					return null;
+				}
+				// the key leaves the edge midway, which is split there
+				Node middle = new Node(child.label.substring(0, common));
+				child.label = child.label.substring(common);
+				middle.children = new Node[] { child };
+				middle.best = child.best;
+				node.children[index] = middle;
+				nodes++;
+				child = middle;
+			}
+			node = child;
+			i += common;
+			path.add(node);
+		}
+		Node terminal = path.get(path.size() - 1);
+		if (terminal.text == null) {
+			if (delta <= 0) {
+				return null;
+			}
+			terminal.text = text;
+			characters += text.length();
+			keys++;
+		}
+		terminal.weight += delta;
+		String shown = terminal.text;
+		if (terminal.weight <= 0) {
+			characters -= terminal.text.length();
+			terminal.text = null;
+			terminal.weight = 0;
+			shown = null;
+			keys--;
+		}
+		for (int j = path.size() - 1; j > 0; j--) {
+			prune(path.get(j - 1), path.get(j));
+		}
+		root.best = best(root);
+		return shown;
+	}
+
+	/**
+	 * Removes the given node if it is useless, merges it with its only child if
+	 * it has no key, or updates its best weight otherwise
+	 */
+	private void prune(Node parent, Node node) {
+		if (node.text == null && node.children.length == 0) {
+			int index = indexOf(parent, node.label.charAt(0));
+			Node[] children = new Node[parent.children.length - 1];
+			System.arraycopy(parent.children, 0, children, 0, index);
+			System.arraycopy(parent.children, index + 1, children, index, children.length - index);
+			parent.children = children.length == 0 ? LEAF : children;
+			characters -= node.label.length();
+			nodes--;
+		} else if (node.text == null && node.children.length == 1) {
+			Node child = node.children[0];
+			child.label = node.label + child.label;
+			parent.children[indexOf(parent, node.label.charAt(0))] = child;
+			nodes--;
+		} else {
+			node.best = best(node);
+		}
+	}
+
+	private static int best(Node node) {
+		int best = node.weight;
+		for (Node child : node.children) {
+			best = Math.max(best, child.best);
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the heaviest keys starting with the given prefix
+	 *
+	 * @param prefix The prefix
+	 * @param limit  The maximum number of keys to return
+	 * @return The suggestions, heaviest first
+	 */
+	List<Suggestion> top(String prefix, int limit) {
+		Node node = root;
+		int i = 0;
+		while (i < prefix.length()) {
+			int index = indexOf(node, prefix.charAt(i));
+			if (index < 0) {
+				return List.of();
+			}
+			node = node.children[index];
+			int common = commonPrefix(node.label, prefix, i);
+			if (i + common == prefix.length()) {
+				break;
+			}
+			if (common < node.label.length()) {
+				return List.of();
+			}
+			i += common;
+		}
+		List<Suggestion> top = new ArrayList<>(limit);
+		PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+		candidates.add(new Candidate(node, node.best, false));
+		while (!candidates.isEmpty() && top.size() < limit) {
+			Candidate candidate = candidates.poll();
+			if (candidate.complete) {
+				top.add(new Suggestion(candidate.node.text, kind, candidate.weight));
+				continue;
+			}
+			if (candidate.node.text != null) {
+				candidates.add(new Candidate(candidate.node, candidate.node.weight, true));
+			}
+			for (Node child : candidate.node.children) {
+				candidates.add(new Candidate(child, child.best, false));
+			}
+		}
+		return top;
+	}
+
+	/**
+	 * @return The number of keys
+	 */
+	int size() {
+		return keys;
+	}
+
+	int nodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return An estimate of the bytes taken by the trie
+	 */
+	long memory() {
+		return (long) nodes * NODE_BYTES + (long) keys * TEXT_BYTES + characters;
+	}
+
+	/**
+	 * Returns the index of the child whose label starts with the given character,
+	 * the children being sorted by their first character
+	 */
+	private static int indexOf(Node node, char first) {
+		int low = 0;
+		int high = node.children.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			char c = node.children[middle].label.charAt(0);
+			if (c < first) {
+				low = middle + 1;
+			} else if (c > first) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	private void insert(Node parent, Node child) {
+		int index = -(indexOf(parent, child.label.charAt(0)) + 1);
+		Node[] children = Arrays.copyOf(parent.children, parent.children.length + 1);
+		System.arraycopy(children, index, children, index + 1, parent.children.length - index);
+		children[index] = child;
+		parent.children = children;
+		nodes++;
+	}
+
+	private static int commonPrefix(String label, String key, int offset) {
+		int length = Math.min(label.length(), key.length() - offset);
+		int i = 0;
+		while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+			i++;
+		}
+		return i;
+	}
+
+	private static final class Node {
+
+		private String label;
+
+		private Node[] children = LEAF;
+
+		/**
+		 * The text of the key ending here, null if none does
+		 */
+		private String text;
+
+		private int weight;
+
+		/**
+		 * The best weight of the keys ending here or below
+		 */
+		private int best;
+
+		private Node(String label) {
+			this.label = label;
+		}
+	}
+
+	/**
+	 * A node to visit, or a key to return once no heavier one is left
+	 */
+	private static final class Candidate {
+
+		private final Node node;
+
+		private final int weight;
+
+		private final boolean complete;
+
+		private Candidate(Node node, int weight, boolean complete) {
+			this.node = node;
+			this.weight = weight;
+			this.complete = complete;
+		}
+	}
+}
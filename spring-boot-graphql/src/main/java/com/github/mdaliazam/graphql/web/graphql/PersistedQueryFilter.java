@@ -0,0 +1,269 @@
+package com.github.mdaliazam.graphql.web.graphql;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+import com.github.mdaliazam.graphql.execution.PersistedQueryStore;
+
+/**
+ * Resolves persisted queries before the request reaches the GraphQL servlet.
+ * <p>
+ * A client may send only the SHA-256 hash of a query in
+ * {@code extensions.persistedQuery.sha256Hash}; the filter then fills in the
+ * stored query, or answers {@code PersistedQueryNotFound} so that the client
+ * retries with both the hash and the query, which registers it (automatic
+ * persisted queries). When unregistered queries are not allowed only the
+ * documents registered at startup are accepted. A request whose JSON cannot be
+ * parsed is answered {@code 400 (Bad Request)} with a {@code MalformedRequest}
+ * error.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class PersistedQueryFilter extends OncePerRequestFilter {
+
+	private static final String NOT_FOUND = "PersistedQueryNotFound";
+	private static final String NOT_ALLOWED = "PersistedQueryNotAllowed";
+	private static final String HASH_MISMATCH = "PersistedQueryHashMismatch";
+	private static final String MALFORMED = "MalformedRequest";
+
+	private static final MediaType GRAPHQL = MediaType.parseMediaType("application/graphql");
+
+	private final Logger log = LoggerFactory.getLogger(PersistedQueryFilter.class);
+
+	private final PersistedQueryStore persistedQueryStore;
+
+	private final ObjectMapper objectMapper;
+
+	private final boolean allowUnregistered;
+
+	public PersistedQueryFilter(PersistedQueryStore persistedQueryStore, ObjectMapper objectMapper,
+			GraphQLProperties graphQLProperties) {
+		this.persistedQueryStore = persistedQueryStore;
+		this.objectMapper = objectMapper;
+		this.allowUnregistered = graphQLProperties.getPersistedQueries().isAllowUnregistered();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		if (HttpMethod.GET.matches(request.getMethod())) {
+			filterGet(request, response, chain);
+		} else if (HttpMethod.POST.matches(request.getMethod())) {
+			filterPost(request, response, chain);
+		} else {
+			chain.doFilter(request, response);
+		}
+	}
+
+	private void filterGet(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		ObjectNode query = objectMapper.createObjectNode();
+		query.put("query", request.getParameter("query"));
+		if (request.getParameter("extensions") != null) {
+			try {
+				query.set("extensions", objectMapper.readTree(request.getParameter("extensions")));
+			} catch (JsonProcessingException e) {
+				sendError(response, HttpServletResponse.SC_BAD_REQUEST, MALFORMED);
+				return;
+			}
+		}
+		String error = resolve(query);
+		if (error != null) {
+			sendError(response, HttpServletResponse.SC_OK, error);
+		} else {
+			chain.doFilter(new QueryParameterRequest(request, query.path("query").textValue()), response);
+		}
+	}
+
+	private void filterPost(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		MediaType contentType = request.getContentType() == null ? MediaType.APPLICATION_JSON
+				: MediaType.parseMediaType(request.getContentType());
+		if (!MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+			if (allowUnregistered) {
+				chain.doFilter(request, response);
+				return;
+			}
+			byte[] body = GRAPHQL.isCompatibleWith(contentType) ? StreamUtils.copyToByteArray(request.getInputStream())
+					: null;
+			if (body != null && persistedQueryStore.isRegistered(new String(body, StandardCharsets.UTF_8))) {
+				chain.doFilter(new BodyRequest(request, body), response);
+			} else {
+				sendError(response, HttpServletResponse.SC_OK, NOT_ALLOWED);
+			}
+			return;
+		}
+		JsonNode root;
+		try {
+			root = objectMapper.readTree(request.getInputStream());
+		} catch (JsonProcessingException e) {
+			sendError(response, HttpServletResponse.SC_BAD_REQUEST, MALFORMED);
+			return;
+		}
+		String error = null;
+		if (root != null && root.isArray()) {
+			for (JsonNode query : root) {
+				error = error != null || !query.isObject() ? error : resolve((ObjectNode) query);
+			}
+		} else if (root != null && root.isObject()) {
+			error = resolve((ObjectNode) root);
+		}
+		if (error != null) {
+			sendError(response, HttpServletResponse.SC_OK, error);
+		} else {
+			chain.doFilter(new BodyRequest(request, objectMapper.writeValueAsBytes(root)), response);
+		}
+	}
+
+	/**
+	 * Fills in the stored query of the given GraphQL request, registering the
+	 * query sent along with a hash
+	 *
+	 * @return The error to report, or null
+	 */
+	private String resolve(ObjectNode request) {
+		String query = request.path("query").textValue();
+		String hash = request.path("extensions").path("persistedQuery").path("sha256Hash").textValue();
+		if (hash != null && query == null) {
+			Optional<String> stored = persistedQueryStore.find(hash);
+			stored.ifPresent(text -> request.put("query", text));
+			return stored.isPresent() ? null : NOT_FOUND;
+		}
+		if (query != null && !allowUnregistered && !persistedQueryStore.isRegistered(query)) {
+			log.debug("Rejected unregistered query {}", PersistedQueryStore.hash(query));
+			return NOT_ALLOWED;
+		}
+		if (hash != null && !persistedQueryStore.register(hash, query)) {
+			return HASH_MISMATCH;
+		}
+		return null;
+	}
+
+	private void sendError(HttpServletResponse response, int status, String error) throws IOException {
+		Map<String, Object> body = Collections.singletonMap("errors", Collections.singletonList(
+				Map.of("message", error, "extensions", Collections.singletonMap("code", error))));
+		response.setStatus(status);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		objectMapper.writeValue(response.getOutputStream(), body);
+	}
+
+	/**
+	 * Request whose "query" parameter is replaced by the resolved query
+	 */
+	private static class QueryParameterRequest extends HttpServletRequestWrapper {
+
+		private final String query;
+
+		QueryParameterRequest(HttpServletRequest request, String query) {
+			super(request);
+			this.query = query;
+		}
+
+		@Override
+		public String getParameter(String name) {
+			return "query".equals(name) ? query : super.getParameter(name);
+		}
+
+		@Override
+		public String[] getParameterValues(String name) {
+			return "query".equals(name) ? (query == null ? null : new String[] { query })
+					: super.getParameterValues(name);
+		}
+	}
+
+	/**
+	 * Request whose body is replaced by the resolved body
+	 */
+	private static class BodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		BodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public int getContentLength() {
+			return body.length;
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return body.length;
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream in = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+
+				@Override
+				public int read() {
+					return in.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return in.read(b, off, len);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return in.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				/**
+				 * The body is in memory, so all of it can be read at once
+				 */
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					try {
+						readListener.onDataAvailable();
+						readListener.onAllDataRead();
+					} catch (IOException e) {
+						readListener.onError(e);
+					}
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.github.mdaliazam.graphql.web.limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.mdaliazam.graphql.config.LimiterProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Limits the number of requests processed at once, the limit following the
+ * latency of the requests, so that a load spike is answered by rejecting the
+ * excess requests at once rather than by queuing them until they time out.
+ * <p>
+ * The limit is estimated after every request, in the way of the gradient
+ * algorithm of Netflix's concurrency-limits: while the recent latency stays
+ * within {@code tolerance} times the baseline latency, the limit grows by its
+ * square root, and it shrinks in proportion as the latency grows beyond. It
+ * is backed off as well while requests wait for a pooled connection, read
+ * from the {@code hikaricp.connections.pending} meters, or fail. The limit
+ * only grows while it is used by half at least.
+ * <p>
+ * The limiter is monitored as the {@code limiter.limit},
+ * {@code limiter.inflight} and {@code limiter.latency} gauges, and the
+ * {@code limiter.requests} counters tagged {@code outcome=accepted} or
+ * {@code rejected}.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class AdaptiveLimiter {
+
+	private static final String PENDING_CONNECTIONS = "hikaricp.connections.pending";
+
+	/**
+	 * Number of requests over which the recent latency is averaged
+	 */
+	private static final int RECENT_WINDOW = 10;
+
+	/**
+	 * The pools, and their meters, are added as they are first used
+	 */
+	private static final long FIND_POOLS_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final double tolerance;
+
+	private final double smoothing;
+
+	private final double backoffRatio;
+
+	private final int baselineWindow;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Counter accepted;
+
+	private final Counter rejected;
+
+	private final AtomicInteger inflight = new AtomicInteger();
+
+	private volatile double limit;
+
+	private volatile Collection<Gauge> pendingConnections = List.of();
+
+	private volatile long nextFindPools = System.nanoTime();
+
+	// guarded by this, in nanoseconds
+	private double baselineLatency;
+
+	private double recentLatency;
+
+	public AdaptiveLimiter(LimiterProperties limiterProperties, MeterRegistry meterRegistry) {
+		this.minLimit = limiterProperties.getMinLimit();
+		this.maxLimit = limiterProperties.getMaxLimit();
+		this.tolerance = limiterProperties.getTolerance();
+		this.smoothing = limiterProperties.getSmoothing();
+		this.backoffRatio = limiterProperties.getBackoffRatio();
+		this.baselineWindow = limiterProperties.getBaselineWindow();
+		this.limit = Math.max(minLimit, Math.min(maxLimit, limiterProperties.getInitialLimit()));
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("limiter.limit", this, AdaptiveLimiter::getLimit)
+				.description("Requests processed at once at most").register(meterRegistry);
+		Gauge.builder("limiter.inflight", inflight, AtomicInteger::get).description("Requests being processed")
+				.register(meterRegistry);
+		TimeGauge.builder("limiter.latency", this, TimeUnit.NANOSECONDS, limiter -> limiter.latency(false))
+				.tag("window", "baseline").description("Average latency of the requests").register(meterRegistry);
+		TimeGauge.builder("limiter.latency", this, TimeUnit.NANOSECONDS, limiter -> limiter.latency(true))
+				.tag("window", "recent").description("Average latency of the requests").register(meterRegistry);
+		this.accepted = Counter.builder("limiter.requests").tag("outcome", "accepted")
+				.description("Requests accepted or rejected").register(meterRegistry);
+		this.rejected = Counter.builder("limiter.requests").tag("outcome", "rejected")
+				.description("Requests accepted or rejected").register(meterRegistry);
+	}
+
+	/**
+	 * Counts a request in, unless the limit is reached
+	 *
+	 * @return the number of requests being processed with this one, or 0 if it
+	 *         is rejected
+	 */
+	public int tryAcquire() {
+		while (true) {
+			int current = inflight.get();
+			if (current >= (int) limit) {
+				rejected.increment();
+				return 0;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				accepted.increment();
+				return current + 1;
+			}
+		}
+	}
+
+	/**
+	 * Counts a request out, and estimates the limit again
+	 *
+	 * @param concurrency the number of requests processed when it was accepted
+	 * @param latency     the time it took, in nanoseconds
+	 * @param failed      whether it failed
+	 */
+	public void release(int concurrency, long latency, boolean failed) {
+		inflight.decrementAndGet();
+		boolean waiting = failed || pendingConnections() > 0;
+		synchronized (this) {
+			recentLatency = recentLatency == 0 ? latency : recentLatency + (latency - recentLatency) / RECENT_WINDOW;
+			baselineLatency = baselineLatency == 0 ? latency
+					: baselineLatency + (latency - baselineLatency) / baselineWindow;
+			if (baselineLatency > 2 * recentLatency) {
+				// lets the baseline follow the latency back down after a spike
+				baselineLatency *= 0.95;
+			}
+			double estimate;
+			if (waiting) {
+				estimate = limit * backoffRatio;
+			} else if (concurrency < limit / 2) {
+				return;
+			} else {
+				double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineLatency / recentLatency));
+				estimate = limit * gradient + Math.sqrt(limit);
+			}
+			limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + estimate * smoothing));
+		}
+	}
+
+	public double getLimit() {
+		return limit;
+	}
+
+	public int getInflight() {
+		return inflight.get();
+	}
+
+	private synchronized double latency(boolean recent) {
+		return recent ? recentLatency : baselineLatency;
+	}
+
+	/**
+	 * @return the number of threads waiting for a connection, of all the pools
+	 */
+	private int pendingConnections() {
+		long now = System.nanoTime();
+		if (now - nextFindPools >= 0) {
+			pendingConnections = meterRegistry.find(PENDING_CONNECTIONS).gauges();
+			nextFindPools = now + FIND_POOLS_INTERVAL;
+		}
+		double pending = 0;
+		for (Gauge gauge : pendingConnections) {
+			pending += gauge.value();
+		}
+		return (int) pending;
+	}
+}
@@ -0,0 +1,71 @@
+package com.github.mdaliazam.graphql.web.limit;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.github.mdaliazam.graphql.config.LimiterProperties;
+
+/**
+ * Rejects the requests exceeding the limit of the {@link AdaptiveLimiter} with
+ * {@code 503 (Service Unavailable)} and a {@code Retry-After} header, before
+ * they take a thread of the application or a pooled connection. The latency
+ * of the other requests, and whether they failed with a server error, adapt
+ * the limit.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+	private final AdaptiveLimiter limiter;
+
+	private final String retryAfter;
+
+	private final List<String> excludedPaths;
+
+	public ConcurrencyLimitFilter(AdaptiveLimiter limiter, LimiterProperties limiterProperties) {
+		this.limiter = limiter;
+		this.retryAfter = Long.toString(Math.max(1, limiterProperties.getRetryAfter().toSeconds()));
+		this.excludedPaths = limiterProperties.getExcludedPaths();
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = urlPathHelper.getPathWithinApplication(request);
+		return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		int concurrency = limiter.tryAcquire();
+		if (concurrency == 0) {
+			response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+			return;
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			chain.doFilter(request, response);
+			failed = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+		} finally {
+			limiter.release(concurrency, System.nanoTime() - start, failed);
+		}
+	}
+}
@@ -1,13 +1,16 @@
 package com.github.mdaliazam.graphql.web.rest;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -19,10 +22,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mdaliazam.graphql.domain.Author;
 import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.PublisherService;
+import com.github.mdaliazam.graphql.service.dto.AuthorSummary;
+import com.github.mdaliazam.graphql.service.dto.BookSummary;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.dto.PublisherSummary;
 
 /**
  * REST controller for managing
@@ -39,8 +51,18 @@ public class AuthorResource {
 
 	private final AuthorService authorService;
 
-	public AuthorResource(AuthorService authorService) {
+	private final BookService bookService;
+
+	private final PublisherService publisherService;
+
+	private final ObjectMapper objectMapper;
+
+	public AuthorResource(AuthorService authorService, BookService bookService, PublisherService publisherService,
+			ObjectMapper objectMapper) {
 		this.authorService = authorService;
+		this.bookService = bookService;
+		this.publisherService = publisherService;
+		this.objectMapper = objectMapper;
 	}
 
 	/**
@@ -92,35 +114,104 @@ public class AuthorResource {
 	}
 
 	/**
-	 * {@code GET  /authors} : get all the authors.
+	 * {@code GET  /authors} : get the summaries of all the authors.
+	 * <p>
+	 * The authors are paged by offset, as by default, unless a {@code keyset=true}
+	 * or {@code after} parameter is given: they are then read after the
+	 * {@code after} cursor, without counting them unless asked to, see
+	 * {@link KeysetPagination}. Only their columns and
+	 * the ids of their associations are read, unless the associations are
+	 * expanded, see {@link Expansions}.
 	 *
 	 * @param pageable the pagination information.
+	 * @param keyset   whether to page by cursor from the first entity.
+	 * @param after    the cursor to continue after, paging by cursor.
+	 * @param count    whether to count all the authors.
+	 * @param expand   the associations to expand: {@code books}, {@code publisher}.
 	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
-	 *         of authors in body.
+	 *         of author summaries in body, or with status
+	 *         {@code 400 (Bad Request)} if the cursor, the order or the
+	 *         associations to expand are not valid.
 	 */
 	@GetMapping("/authors")
-	public ResponseEntity<List<Author>> getAllAuthors(Pageable pageable) {
-		log.debug("REST request to get a page of Authors");
-		Page<Author> page = authorService.findAll(pageable);
-		return ResponseEntity.ok().body(page.getContent());
+	public ResponseEntity<List<AuthorSummary>> getAllAuthors(Pageable pageable,
+			@RequestParam(defaultValue = "false") boolean keyset, @RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "false") boolean count, @RequestParam(required = false) String expand) {
+		try {
+			Set<String> expansions = Expansions.parse(expand, "books", "publisher");
+			if (!keyset && after == null) {
+				log.debug("REST request to get a page of Authors");
+				Page<AuthorSummary> result = authorService.findAllSummaries(pageable);
+				expand(result.getContent(), expansions);
+				return ResponseEntity.ok().cacheControl(ConditionalGet.LIST_CACHE_CONTROL).body(result.getContent());
+			}
+			log.debug("REST request to get a slice of Authors after {}", after);
+			KeysetSlice<AuthorSummary> slice = authorService
+					.findAllSummaries(KeysetPagination.request(pageable, after, count));
+			expand(slice.getContent(), expansions);
+			return KeysetPagination.response(slice);
+		} catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+			return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Expands the associations of the given author summaries
+	 */
+	private void expand(List<AuthorSummary> authors, Set<String> expansions) {
+		if (expansions.contains("books")) {
+			Expansions.many(authors, AuthorSummary::getId, bookService::findSummariesByAuthorIds,
+					BookSummary::getAuthorId, AuthorSummary::setBooks);
+		}
+		if (expansions.contains("publisher")) {
+			Expansions.one(authors, AuthorSummary::getPublisherId, publisherService::findSummariesByIds,
+					PublisherSummary::getId, AuthorSummary::setPublisher);
+		}
+	}
+
+	/**
+	 * {@code GET  /authors/export} : export all the authors as newline delimited JSON,
+	 * one line per author with its fields and the id of its publisher.
+	 * <p>
+	 * The authors are read through a database cursor and written as they are read,
+	 * so the export does not page and its memory use does not depend on the
+	 * number of authors.
+	 *
+	 * @param response the response to stream the authors to.
+	 * @throws IOException if the response cannot be written.
+	 */
+	@GetMapping(path = "/authors/export", produces = "application/x-ndjson")
+	public void exportAuthors(HttpServletResponse response) throws IOException {
+		log.debug("REST request to export Authors");
+		try (NdjsonWriter writer = new NdjsonWriter(response, objectMapper)) {
+			long count = authorService.forEach(writer.rows((generator, author) -> {
+				generator.writeNumberField("id", author.getId());
+				generator.writeStringField("name", author.getName());
+				generator.writeObjectField("publisherId",
+						author.getPublisher() == null ? null : author.getPublisher().getId());
+			}));
+			log.debug("Exported {} Authors", count);
+		}
 	}
 
 	/**
 	 * {@code GET  /authors/:id} : get the "id" author.
 	 *
-	 * @param id the id of the author to retrieve.
+	 * <p>
+	 * The author is sent with its version as ETag, and only its version is read if
+	 * the request has it already, see {@link ConditionalGet}.
+	 *
+	 * @param id      the id of the author to retrieve.
+	 * @param request the request, with its {@code If-None-Match} header.
 	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
-	 *         the author, or with status {@code 404 (Not Found)}.
+	 *         the author, with status {@code 304 (Not Modified)} if the request has
+	 *         its current version, or with status {@code 404 (Not Found)}.
 	 */
 	@GetMapping("/authors/{id}")
-	public ResponseEntity<Author> getAuthor(@PathVariable Long id) {
+	public ResponseEntity<Author> getAuthor(@PathVariable Long id, WebRequest request) {
 		log.debug("REST request to get Author : {}", id);
-		Optional<Author> author = authorService.findOne(id);
-
-		if (author.isPresent()) {
-			return new ResponseEntity<>(author.get(), HttpStatus.OK);
-		}
-		return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+		return ConditionalGet.response(request, authorService.findVersion(id), () -> authorService.findOne(id),
+				Author::getVersion);
 	}
 
 	/**
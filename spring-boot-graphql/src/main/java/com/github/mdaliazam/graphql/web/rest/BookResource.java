@@ -1,16 +1,27 @@
 package com.github.mdaliazam.graphql.web.rest;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,10 +30,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.domain.Isbn;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookImportService;
+import com.github.mdaliazam.graphql.service.BookImportService.Format;
 import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.PublisherService;
+import com.github.mdaliazam.graphql.service.dto.AuthorSummary;
+import com.github.mdaliazam.graphql.service.dto.BookSummary;
+import com.github.mdaliazam.graphql.service.dto.ImportProgress;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.dto.PublisherSummary;
+import com.github.mdaliazam.graphql.service.search.IsbnIndex;
 
 /**
  * REST controller for managing
@@ -37,10 +62,28 @@ public class BookResource {
 
 	private final Logger log = LoggerFactory.getLogger(BookResource.class);
 
+	private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
 	private final BookService bookService;
 
-	public BookResource(BookService bookService) {
+	private final AuthorService authorService;
+
+	private final PublisherService publisherService;
+
+	private final BookImportService bookImportService;
+
+	private final IsbnIndex isbnIndex;
+
+	private final ObjectMapper objectMapper;
+
+	public BookResource(BookService bookService, AuthorService authorService, PublisherService publisherService,
+			BookImportService bookImportService, IsbnIndex isbnIndex, ObjectMapper objectMapper) {
 		this.bookService = bookService;
+		this.authorService = authorService;
+		this.publisherService = publisherService;
+		this.bookImportService = bookImportService;
+		this.isbnIndex = isbnIndex;
+		this.objectMapper = objectMapper;
 	}
 
 	/**
@@ -69,6 +112,51 @@ public class BookResource {
 
 	}
 
+	/**
+	 * {@code POST  /books/import} : Import books from an NDJSON or CSV body.
+	 * <p>
+	 * The body is read as a stream and written in chunks, one transaction each.
+	 * The response streams one NDJSON line per chunk with the rows imported and
+	 * the rows failed, and a last line with the totals.
+	 *
+	 * @param request  the request whose body holds the books.
+	 * @param response the response to stream the progress to.
+	 * @throws IOException if the body cannot be read or the progress written.
+	 */
+	@PostMapping(path = "/books/import", consumes = { "application/x-ndjson", "text/csv" })
+	public void importBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		log.debug("REST request to import Books");
+		MediaType contentType = MediaType.parseMediaType(request.getContentType());
+		Charset charset = contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+		response.setContentType(NdjsonWriter.NDJSON.toString());
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		OutputStream out = response.getOutputStream();
+		try {
+			ImportProgress total = bookImportService.importBooks(
+					new InputStreamReader(request.getInputStream(), charset),
+					CSV.isCompatibleWith(contentType) ? Format.CSV : Format.NDJSON, progress -> {
+						try {
+							writeLine(out, progress);
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					});
+			writeLine(out, total);
+		} catch (IllegalArgumentException e) {
+			if (response.isCommitted()) {
+				throw e;
+			}
+			response.reset();
+			response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+		}
+	}
+
+	private void writeLine(OutputStream out, Object value) throws IOException {
+		out.write(objectMapper.writeValueAsBytes(value));
+		out.write('\n');
+		out.flush();
+	}
+
 	/**
 	 * {@code PUT  /books} : Updates an existing book.
 	 *
@@ -96,38 +184,132 @@ public class BookResource {
 	}
 	
 	/**
-	 * {@code GET  /books} : get all the books.
+	 * {@code GET  /books} : get the summaries of all the books.
+	 * <p>
+	 * The books are paged by offset, as by default, unless a {@code keyset=true}
+	 * or {@code after} parameter is given: they are then read after the
+	 * {@code after} cursor, without counting them unless asked to, see
+	 * {@link KeysetPagination}. Only their columns and
+	 * the ids of their associations are read, unless the associations are
+	 * expanded, see {@link Expansions}.
 	 *
 	 * @param pageable the pagination information.
+	 * @param keyset   whether to page by cursor from the first entity.
+	 * @param after    the cursor to continue after, paging by cursor.
+	 * @param count    whether to count all the books.
+	 * @param expand   the associations to expand: {@code author}, {@code publisher}.
 	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
-	 *         of books in body.
+	 *         of book summaries in body, or with status
+	 *         {@code 400 (Bad Request)} if the cursor, the order or the
+	 *         associations to expand are not valid.
 	 */
 	@GetMapping("/books")
-	public ResponseEntity<List<Book>> getAllBooks(Pageable pageable) {
-		log.debug("REST request to get a page of Books");
-		Page<Book> page = bookService.findAll(pageable);
-		return ResponseEntity.ok().body(page.getContent());
+	public ResponseEntity<List<BookSummary>> getAllBooks(Pageable pageable,
+			@RequestParam(defaultValue = "false") boolean keyset, @RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "false") boolean count, @RequestParam(required = false) String expand) {
+		try {
+			Set<String> expansions = Expansions.parse(expand, "author", "publisher");
+			if (!keyset && after == null) {
+				log.debug("REST request to get a page of Books");
+				Page<BookSummary> result = bookService.findAllSummaries(pageable);
+				expand(result.getContent(), expansions);
+				return ResponseEntity.ok().cacheControl(ConditionalGet.LIST_CACHE_CONTROL).body(result.getContent());
+			}
+			log.debug("REST request to get a slice of Books after {}", after);
+			KeysetSlice<BookSummary> slice = bookService
+					.findAllSummaries(KeysetPagination.request(pageable, after, count));
+			expand(slice.getContent(), expansions);
+			return KeysetPagination.response(slice);
+		} catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+			return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Expands the associations of the given book summaries
+	 */
+	private void expand(List<BookSummary> books, Set<String> expansions) {
+		if (expansions.contains("author")) {
+			Expansions.one(books, BookSummary::getAuthorId, authorService::findSummariesByIds, AuthorSummary::getId,
+					BookSummary::setAuthor);
+		}
+		if (expansions.contains("publisher")) {
+			Expansions.one(books, BookSummary::getPublisherId, publisherService::findSummariesByIds,
+					PublisherSummary::getId, BookSummary::setPublisher);
+		}
+	}
+
+	/**
+	 * {@code GET  /books/export} : export all the books as newline delimited JSON,
+	 * one line per book with the ids of its author and publisher, the format
+	 * accepted by {@code POST  /books/import}.
+	 * <p>
+	 * The books are read through a database cursor and written as they are read,
+	 * so the export does not page and its memory use does not depend on the
+	 * number of books.
+	 *
+	 * @param response the response to stream the books to.
+	 * @throws IOException if the response cannot be written.
+	 */
+	@GetMapping(path = "/books/export", produces = "application/x-ndjson")
+	public void exportBooks(HttpServletResponse response) throws IOException {
+		log.debug("REST request to export Books");
+		try (NdjsonWriter writer = new NdjsonWriter(response, objectMapper)) {
+			long count = bookService.forEach(writer.rows((generator, book) -> {
+				generator.writeNumberField("id", book.getId());
+				generator.writeStringField("title", book.getTitle());
+				generator.writeStringField("ISBN", book.getiSBN());
+				generator.writeObjectField("authorId", book.getAuthor() == null ? null : book.getAuthor().getId());
+				generator.writeObjectField("publisherId",
+						book.getPublisher() == null ? null : book.getPublisher().getId());
+			}));
+			log.debug("Exported {} Books", count);
+		}
 	}
 
 
 	/**
 	 * {@code GET  /books/:id} : get the "id" book.
 	 *
-	 * @param id the id of the book to retrieve.
+	 * <p>
+	 * The book is sent with its version as ETag, and only its version is read if
+	 * the request has it already, see {@link ConditionalGet}.
+	 *
+	 * @param id      the id of the book to retrieve.
+	 * @param request the request, with its {@code If-None-Match} header.
 	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
-	 *         the book, or with status {@code 404 (Not Found)}.
+	 *         the book, with status {@code 304 (Not Modified)} if the request has
+	 *         its current version, or with status {@code 404 (Not Found)}.
 	 */
 	@GetMapping("/books/{id}")
-	public ResponseEntity<Book> getBook(@PathVariable Long id) {
+	public ResponseEntity<Book> getBook(@PathVariable Long id, WebRequest request) {
 		log.debug("REST request to get Book : {}", id);
-		Optional<Book> book = bookService.findOne(id);
-		if (book.isPresent()) {
-			return new ResponseEntity<>(book.get(), HttpStatus.OK);
-		} else {
-			return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
-		}
+		return ConditionalGet.response(request, bookService.findVersion(id), () -> bookService.findOne(id),
+				Book::getVersion);
 	}
 	
+	/**
+	 * {@code GET  /books/isbn/:isbn} : get the book with the given ISBN.
+	 *
+	 * <p>
+	 * Revalidated like {@code GET  /books/:id}.
+	 *
+	 * @param isbn    the ISBN-10 or ISBN-13 of the book to retrieve, with or
+	 *                without hyphens.
+	 * @param request the request, with its {@code If-None-Match} header.
+	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
+	 *         the book, with status {@code 304 (Not Modified)} if the request has
+	 *         its current version, or with status {@code 404 (Not Found)}.
+	 */
+	@GetMapping("/books/isbn/{isbn}")
+	public ResponseEntity<Book> getBookByIsbn(@PathVariable String isbn, WebRequest request) {
+		log.debug("REST request to get Book by ISBN : {}", isbn);
+		Optional<Long> id = isbnIndex.findBookId(isbn);
+		return ConditionalGet.response(request, id.flatMap(bookService::findVersion),
+				() -> id.flatMap(bookService::findOne).filter(book -> Isbn.normalize(isbn).equals(book.getIsbn13())),
+				Book::getVersion);
+	}
+
 	/**
 	 * {@code DELETE  /book/:id} : delete the "id" book.
 	 *
@@ -0,0 +1,95 @@
+package com.github.mdaliazam.graphql.web.rest;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers the GET requests of single entities and lists with the headers
+ * letting caches and clients revalidate them.
+ * <p>
+ * An entity is sent with a strong ETag made of its version, see
+ * {@link com.github.mdaliazam.graphql.repository.VersionRepository}, and
+ * {@code Cache-Control: no-cache}: it may be stored, but is revalidated at every
+ * use. A request whose {@code If-None-Match} header holds the current ETag is
+ * answered {@code 304 (Not Modified)} after reading the version alone, without
+ * loading the entity and its collections or serializing it.
+ * <p>
+ * Lists have no version, so they may be reused for {@link #LIST_MAX_AGE} only.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class ConditionalGet {
+
+	static final Duration LIST_MAX_AGE = Duration.ofSeconds(10);
+
+	static final CacheControl ENTITY_CACHE_CONTROL = CacheControl.noCache();
+
+	static final CacheControl LIST_CACHE_CONTROL = CacheControl.maxAge(LIST_MAX_AGE).mustRevalidate();
+
+	private ConditionalGet() {
+	}
+
+	/**
+	 * Returns the entity of the given version, unless the client has it already
+	 *
+	 * @param request   the request, with its {@code If-None-Match} header
+	 * @param version   the current version of the entity, empty if there is none
+	 * @param entity    loads the entity
+	 * @param versionOf the version of the loaded entity
+	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+	 *         entity in body, with status {@code 304 (Not Modified)} if the
+	 *         client has its current version, or with status
+	 *         {@code 404 (Not Found)}
+	 */
+	static <T> ResponseEntity<T> response(WebRequest request, Optional<Long> version, Supplier<Optional<T>> entity,
+			Function<T, Long> versionOf) {
+		if (!version.isPresent()) {
+			return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+		}
+		String etag = etag(version.get());
+		if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ENTITY_CACHE_CONTROL)
+					.build();
+		}
+		// the entity may have changed since its version was read
+		return entity.get().map(found -> ResponseEntity.ok().eTag(etag(versionOf.apply(found)))
+				.cacheControl(ENTITY_CACHE_CONTROL).body(found))
+				.orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+	}
+
+	/**
+	 * Returns the ETag of the given version
+	 */
+	static String etag(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	/**
+	 * Compares the ETags of an {@code If-None-Match} header with the given one,
+	 * ignoring their weakness as RFC 7232 requires for this header
+	 */
+	private static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String tag : ifNoneMatch.split(",")) {
+			tag = tag.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
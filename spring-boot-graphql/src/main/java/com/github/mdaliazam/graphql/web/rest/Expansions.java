@@ -0,0 +1,95 @@
+package com.github.mdaliazam.graphql.web.rest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Expands the associations of the summaries returned by the list endpoints.
+ * <p>
+ * The lists hold the columns and foreign key ids of the entities only. The
+ * associations named by the {@code expand} parameter, e.g.
+ * {@code ?expand=authors,books}, are read with one query per association for
+ * the whole list, and are not expanded any further.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class Expansions {
+
+	private Expansions() {
+	}
+
+	/**
+	 * Returns the associations to expand
+	 *
+	 * @param expand  the comma separated associations, or null
+	 * @param allowed the associations that can be expanded
+	 * @return the associations
+	 * @throws IllegalArgumentException if an association cannot be expanded
+	 */
+	static Set<String> parse(String expand, String... allowed) {
+		Set<String> expansions = new LinkedHashSet<>();
+		if (expand == null) {
+			return expansions;
+		}
+		for (String association : expand.split(",")) {
+			association = association.trim();
+			if (association.isEmpty()) {
+				continue;
+			}
+			if (!Arrays.asList(allowed).contains(association)) {
+				throw new IllegalArgumentException(
+						"Cannot expand " + association + ", only " + String.join(", ", allowed));
+			}
+			expansions.add(association);
+		}
+		return expansions;
+	}
+
+	/**
+	 * Sets the children of the given parents, read at once
+	 *
+	 * @param parents  the summaries to expand
+	 * @param id       the id of a parent
+	 * @param finder   reads the children of the parents with the given ids
+	 * @param parentId the id of the parent of a child
+	 * @param setter   sets the children of a parent
+	 */
+	static <P, C> void many(List<P> parents, Function<P, Long> id, Function<Collection<Long>, List<C>> finder,
+			Function<C, Long> parentId, BiConsumer<P, List<C>> setter) {
+		Set<Long> ids = parents.stream().map(id).collect(Collectors.toSet());
+		Map<Long, List<C>> children = ids.isEmpty() ? Map.of()
+				: finder.apply(ids).stream().collect(Collectors.groupingBy(parentId));
+		parents.forEach(parent -> setter.accept(parent, children.getOrDefault(id.apply(parent), List.of())));
+	}
+
+	/**
+	 * Sets the referenced summary of the given ones, read at once
+	 *
+	 * @param summaries the summaries to expand
+	 * @param reference the id of the summary referenced, possibly null
+	 * @param finder    reads the referenced summaries with the given ids
+	 * @param id        the id of a referenced summary
+	 * @param setter    sets the referenced summary
+	 */
+	static <S, R> void one(List<S> summaries, Function<S, Long> reference, Function<Collection<Long>, List<R>> finder,
+			Function<R, Long> id, BiConsumer<S, R> setter) {
+		Set<Long> ids = summaries.stream().map(reference).filter(Objects::nonNull).collect(Collectors.toSet());
+		Map<Long, R> referenced = ids.isEmpty() ? Map.of()
+				: finder.apply(ids).stream().collect(Collectors.toMap(id, Function.identity()));
+		summaries.forEach(summary -> {
+			Long key = reference.apply(summary);
+			if (key != null) {
+				setter.accept(summary, referenced.get(key));
+			}
+		});
+	}
+}
@@ -0,0 +1,77 @@
+package com.github.mdaliazam.graphql.web.rest;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+
+/**
+ * Maps the paging parameters of the list endpoints to keyset requests.
+ * <p>
+ * The lists are paged by offset unless a {@code keyset=true} or {@code after}
+ * parameter is given: they are then read after the {@code after} cursor,
+ * {@code size} entities at a time, in the order of the {@code sort} parameter
+ * (one property, then the id). The cursor of the next slice is sent
+ * in a {@code Link} header with {@code rel="next"}, and the total count in
+ * {@code X-Total-Count} only if {@code count=true} was asked for.
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+final class KeysetPagination {
+
+	static final String TOTAL_COUNT = "X-Total-Count";
+
+	private KeysetPagination() {
+	}
+
+	/**
+	 * Returns the keyset request of the given paging parameters
+	 *
+	 * @param pageable the size and order requested
+	 * @param after    the cursor to continue after, or null
+	 * @param count    whether to count all the entities
+	 * @return the request
+	 * @throws IllegalArgumentException if the list is sorted by more than one
+	 *                                  property besides the id
+	 */
+	static KeysetRequest request(Pageable pageable, String after, boolean count) {
+		Iterator<Sort.Order> orders = pageable.getSort().filter(order -> !"id".equals(order.getProperty()))
+				.iterator();
+		Sort.Order order = orders.hasNext() ? orders.next()
+				: pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+		if (orders.hasNext()) {
+			throw new IllegalArgumentException("Cursors follow only one sort property besides the id");
+		}
+		return new KeysetRequest(pageable.getPageSize(), after, "id".equals(order.getProperty()) ? null
+				: order.getProperty(), order.isDescending(), count);
+	}
+
+	/**
+	 * Returns the content of the given slice, with the link to the next slice, the
+	 * total count and the cache control of the lists in the headers
+	 *
+	 * @param slice the slice read
+	 * @return the {@link ResponseEntity} with status {@code 200 (OK)}
+	 */
+	static <T> ResponseEntity<List<T>> response(KeysetSlice<T> slice) {
+		HttpHeaders headers = new HttpHeaders();
+		if (slice.hasNext()) {
+			String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", slice.getEndCursor())
+					.toUriString();
+			headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+		}
+		if (slice.getTotalCount() != null) {
+			headers.add(TOTAL_COUNT, slice.getTotalCount().toString());
+		}
+		return ResponseEntity.ok().headers(headers).cacheControl(ConditionalGet.LIST_CACHE_CONTROL)
+				.body(slice.getContent());
+	}
+}
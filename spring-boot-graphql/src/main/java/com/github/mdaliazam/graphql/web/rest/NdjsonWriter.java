@@ -0,0 +1,69 @@
+package com.github.mdaliazam.graphql.web.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a response as newline delimited JSON, one flat object per line,
+ * through a streaming generator so that only the current row is held in
+ * memory
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class NdjsonWriter implements Closeable {
+
+	static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private final JsonGenerator generator;
+
+	NdjsonWriter(HttpServletResponse response, ObjectMapper objectMapper) throws IOException {
+		response.setContentType(NDJSON.toString());
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		this.generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+		this.generator.setRootValueSeparator(null);
+	}
+
+	/**
+	 * Returns a consumer writing every value it accepts as one line
+	 *
+	 * @param row writes the fields of a value
+	 * @return the consumer
+	 */
+	<T> Consumer<T> rows(Row<T> row) {
+		return value -> {
+			try {
+				generator.writeStartObject();
+				row.write(generator, value);
+				generator.writeEndObject();
+				generator.writeRaw('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+
+	/**
+	 * Writes the fields of one value
+	 */
+	@FunctionalInterface
+	interface Row<T> {
+
+		void write(JsonGenerator generator, T value) throws IOException;
+	}
+}
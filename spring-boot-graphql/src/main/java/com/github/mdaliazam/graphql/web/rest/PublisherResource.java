@@ -1,13 +1,16 @@
 package com.github.mdaliazam.graphql.web.rest;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -19,10 +22,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mdaliazam.graphql.domain.Publisher;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
 import com.github.mdaliazam.graphql.service.PublisherService;
+import com.github.mdaliazam.graphql.service.dto.AuthorSummary;
+import com.github.mdaliazam.graphql.service.dto.BookSummary;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+import com.github.mdaliazam.graphql.service.dto.PublisherSummary;
 
 /**
  * REST controller for managing
@@ -39,8 +51,18 @@ public class PublisherResource {
 
 	private final PublisherService publisherService;
 
-	public PublisherResource(PublisherService publisherService) {
+	private final AuthorService authorService;
+
+	private final BookService bookService;
+
+	private final ObjectMapper objectMapper;
+
+	public PublisherResource(PublisherService publisherService, AuthorService authorService, BookService bookService,
+			ObjectMapper objectMapper) {
 		this.publisherService = publisherService;
+		this.authorService = authorService;
+		this.bookService = bookService;
+		this.objectMapper = objectMapper;
 	}
 
 	/**
@@ -96,35 +118,102 @@ public class PublisherResource {
 	}
 
 	/**
-	 * {@code GET  /publishers} : get all the publishers.
+	 * {@code GET  /publishers} : get the summaries of all the publishers.
+	 * <p>
+	 * The publishers are paged by offset, as by default, unless a {@code keyset=true}
+	 * or {@code after} parameter is given: they are then read after the
+	 * {@code after} cursor, without counting them unless asked to, see
+	 * {@link KeysetPagination}. Only their columns and
+	 * the ids of their associations are read, unless the associations are
+	 * expanded, see {@link Expansions}.
 	 *
 	 * @param pageable the pagination information.
+	 * @param keyset   whether to page by cursor from the first entity.
+	 * @param after    the cursor to continue after, paging by cursor.
+	 * @param count    whether to count all the publishers.
+	 * @param expand   the associations to expand: {@code authors}, {@code books}.
 	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
-	 *         of publishers in body.
+	 *         of publisher summaries in body, or with status
+	 *         {@code 400 (Bad Request)} if the cursor, the order or the
+	 *         associations to expand are not valid.
 	 */
 	@GetMapping("/publishers")
-	public ResponseEntity<List<Publisher>> getAllPublishers(Pageable pageable) {
-		log.debug("REST request to get a page of Publishers");
-		Page<Publisher> page = publisherService.findAll(pageable);
-		return ResponseEntity.ok().body(page.getContent());
+	public ResponseEntity<List<PublisherSummary>> getAllPublishers(Pageable pageable,
+			@RequestParam(defaultValue = "false") boolean keyset, @RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "false") boolean count, @RequestParam(required = false) String expand) {
+		try {
+			Set<String> expansions = Expansions.parse(expand, "authors", "books");
+			if (!keyset && after == null) {
+				log.debug("REST request to get a page of Publishers");
+				Page<PublisherSummary> result = publisherService.findAllSummaries(pageable);
+				expand(result.getContent(), expansions);
+				return ResponseEntity.ok().cacheControl(ConditionalGet.LIST_CACHE_CONTROL).body(result.getContent());
+			}
+			log.debug("REST request to get a slice of Publishers after {}", after);
+			KeysetSlice<PublisherSummary> slice = publisherService
+					.findAllSummaries(KeysetPagination.request(pageable, after, count));
+			expand(slice.getContent(), expansions);
+			return KeysetPagination.response(slice);
+		} catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+			return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Expands the associations of the given publisher summaries
+	 */
+	private void expand(List<PublisherSummary> publishers, Set<String> expansions) {
+		if (expansions.contains("authors")) {
+			Expansions.many(publishers, PublisherSummary::getId, authorService::findSummariesByPublisherIds,
+					AuthorSummary::getPublisherId, PublisherSummary::setAuthors);
+		}
+		if (expansions.contains("books")) {
+			Expansions.many(publishers, PublisherSummary::getId, bookService::findSummariesByPublisherIds,
+					BookSummary::getPublisherId, PublisherSummary::setBooks);
+		}
+	}
+
+	/**
+	 * {@code GET  /publishers/export} : export all the publishers as newline delimited JSON,
+	 * one line per publisher with its id and name.
+	 * <p>
+	 * The publishers are read through a database cursor and written as they are read,
+	 * so the export does not page and its memory use does not depend on the
+	 * number of publishers.
+	 *
+	 * @param response the response to stream the publishers to.
+	 * @throws IOException if the response cannot be written.
+	 */
+	@GetMapping(path = "/publishers/export", produces = "application/x-ndjson")
+	public void exportPublishers(HttpServletResponse response) throws IOException {
+		log.debug("REST request to export Publishers");
+		try (NdjsonWriter writer = new NdjsonWriter(response, objectMapper)) {
+			long count = publisherService.forEach(writer.rows((generator, publisher) -> {
+				generator.writeNumberField("id", publisher.getId());
+				generator.writeStringField("name", publisher.getName());
+			}));
+			log.debug("Exported {} Publishers", count);
+		}
 	}
 
 	/**
 	 * {@code GET  /publishers/:id} : get the "id" publisher.
 	 *
-	 * @param id the id of the publisher to retrieve.
+	 * <p>
+	 * The publisher is sent with its version as ETag, and only its version is read if
+	 * the request has it already, see {@link ConditionalGet}.
+	 *
+	 * @param id      the id of the publisher to retrieve.
+	 * @param request the request, with its {@code If-None-Match} header.
 	 * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
-	 *         the publisher, or with status {@code 404 (Not Found)}.
+	 *         the publisher, with status {@code 304 (Not Modified)} if the request has
+	 *         its current version, or with status {@code 404 (Not Found)}.
 	 */
 	@GetMapping("/publishers/{id}")
-	public ResponseEntity<Publisher> getPublisher(@PathVariable Long id) {
+	public ResponseEntity<Publisher> getPublisher(@PathVariable Long id, WebRequest request) {
 		log.debug("REST request to get Publisher : {}", id);
-		Optional<Publisher> publisher = publisherService.findOne(id);
-
-		if (publisher.isPresent()) {
-			return new ResponseEntity<>(publisher.get(), HttpStatus.OK);
-		}
-		return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+		return ConditionalGet.response(request, publisherService.findVersion(id), () -> publisherService.findOne(id),
+				Publisher::getVersion);
 	}
 
 	/**
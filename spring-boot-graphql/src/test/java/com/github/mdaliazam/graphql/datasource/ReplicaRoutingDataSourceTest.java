@@ -0,0 +1,134 @@
+package com.github.mdaliazam.graphql.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.mdaliazam.graphql.config.ReplicaProperties;
+import com.github.mdaliazam.graphql.datasource.ReplicaPinning.Client;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Routes the transactions between two in-memory H2 databases, each telling its
+ * name from its {@code marker} table
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class ReplicaRoutingDataSourceTest {
+
+	private static final String MARKER = "select name from marker";
+
+	private ReplicaRoutingDataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate readWrite;
+
+	private TransactionTemplate readOnly;
+
+	private final AtomicInteger firstWrites = new AtomicInteger();
+
+	private Client client;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new ReplicaRoutingDataSource(pool("primary"), List.of(pool("replica")), new ReplicaProperties());
+		dataSource.afterPropertiesSet();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		client = new Client(false, firstWrites::incrementAndGet);
+		ReplicaPinning.bind(client);
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReplicaPinning.restore(null);
+		dataSource.close();
+	}
+
+	@Test
+	void readsReplicaInReadOnlyTransaction() {
+		assertThat(marker(readOnly)).isEqualTo("replica");
+		assertThat(client.isPinned()).isFalse();
+	}
+
+	@Test
+	void writesPrimaryInReadWriteTransaction() {
+		Integer updated = readWrite.execute(status -> jdbcTemplate.update("update marker set name = 'written'"));
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(marker(readWrite)).isEqualTo("written");
+	}
+
+	@Test
+	void pinsClientToPrimaryAfterWrite() {
+		readWrite.executeWithoutResult(status -> jdbcTemplate.update("update marker set name = 'written'"));
+
+		assertThat(client.isPinned()).isTrue();
+		assertThat(firstWrites).hasValue(1);
+		assertThat(marker(readOnly)).isEqualTo("written");
+	}
+
+	@Test
+	void doesNotPinClientAfterRollback() {
+		readWrite.executeWithoutResult(status -> {
+			jdbcTemplate.update("update marker set name = 'written'");
+			status.setRollbackOnly();
+		});
+
+		assertThat(client.isPinned()).isFalse();
+		assertThat(marker(readOnly)).isEqualTo("replica");
+	}
+
+	@Test
+	void connectsToPrimaryWithItsCredentials() throws SQLException {
+		try (Connection connection = dataSource.getConnection("sa", "")) {
+			assertThat(marker(connection)).isEqualTo("primary");
+		}
+		try (Connection connection = dataSource.getConnection("intruder", "")) {
+			assertThatThrownBy(() -> marker(connection)).isInstanceOf(SQLException.class);
+		}
+	}
+
+	private String marker(TransactionTemplate transaction) {
+		return transaction.execute(status -> jdbcTemplate.queryForObject(MARKER, String.class));
+	}
+
+	private static String marker(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(MARKER)) {
+			resultSet.next();
+			return resultSet.getString(1);
+		}
+	}
+
+	private static HikariDataSource pool(String name) {
+		HikariDataSource pool = new HikariDataSource();
+		pool.setPoolName(name);
+		pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID());
+		pool.setUsername("sa");
+		pool.setPassword("");
+		pool.setMaximumPoolSize(2);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+		jdbcTemplate.execute("create table marker (name varchar(20))");
+		jdbcTemplate.update("insert into marker (name) values (?)", name);
+		return pool;
+	}
+}
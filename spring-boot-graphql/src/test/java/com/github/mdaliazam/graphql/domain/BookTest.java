@@ -0,0 +1,88 @@
+package com.github.mdaliazam.graphql.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Holds books and authors in the sets of their parents while their other
+ * properties change
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class BookTest {
+
+	@Test
+	void findsBookAfterIsbnChange() {
+		Author author = new Author("author");
+		Book book = book(1L, "9780306406157");
+		author.addBooks(book);
+
+		book.setiSBN("0-306-40615-2");
+		book.setTitle("Another title");
+
+		assertThat(author.getBooks()).contains(book);
+		author.removeBooks(book);
+		assertThat(author.getBooks()).isEmpty();
+	}
+
+	@Test
+	void findsCopyWithAnotherIsbn() {
+		Publisher publisher = new Publisher("publisher");
+		publisher.addBooks(book(1L, "9780306406157"));
+		Book copy = book(1L, "9781861972712");
+
+		assertThat(copy).isEqualTo(book(1L, null)).hasSameHashCodeAs(book(1L, "not an isbn"));
+		assertThat(publisher.getBooks()).contains(copy);
+		publisher.removeBooks(copy);
+		assertThat(publisher.getBooks()).isEmpty();
+	}
+
+	@Test
+	void spreadsBooksWithoutIsbn() {
+		Set<Integer> hashes = new HashSet<>();
+		for (long id = 1; id <= 100; id++) {
+			hashes.add(book(id, null).hashCode());
+		}
+
+		assertThat(hashes).hasSize(100);
+	}
+
+	@Test
+	void equalsNewBookOnlyItself() {
+		Book book = new Book("title", "9780306406157");
+		Book twin = new Book("title", "9780306406157");
+
+		assertThat(book).isEqualTo(book).isNotEqualTo(twin);
+		Set<Book> books = new HashSet<>();
+		books.add(book);
+		books.add(twin);
+		assertThat(books).hasSize(2);
+	}
+
+	@Test
+	void findsAuthorAfterRename() {
+		Publisher publisher = new Publisher("publisher");
+		Author author = new Author("author");
+		author.setId(1L);
+		publisher.addAuthors(author);
+
+		author.setName("renamed");
+		Author copy = new Author("author");
+		copy.setId(1L);
+
+		assertThat(publisher.getAuthors()).contains(author, copy);
+		publisher.removeAuthors(copy);
+		assertThat(publisher.getAuthors()).isEmpty();
+	}
+
+	private static Book book(Long id, String isbn) {
+		Book book = new Book("title " + id, isbn);
+		book.setId(id);
+		return book;
+	}
+}
@@ -0,0 +1,49 @@
+package com.github.mdaliazam.graphql.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Normalizes the ISBN-10 and ISBN-13 forms of the same books to the same
+ * number, and rejects what is not shaped like an ISBN
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class IsbnTest {
+
+	@Test
+	void keepsDigitsOfIsbn13() {
+		assertThat(Isbn.normalize("9780306406157")).isEqualTo(9780306406157L);
+		assertThat(Isbn.normalize("978-0-306-40615-7")).isEqualTo(9780306406157L);
+		assertThat(Isbn.normalize("978 0 306 40615 7")).isEqualTo(9780306406157L);
+	}
+
+	@Test
+	void convertsIsbn10WithNewCheckDigit() {
+		assertThat(Isbn.normalize("0306406152")).isEqualTo(9780306406157L);
+		assertThat(Isbn.normalize("0-306-40615-2")).isEqualTo(9780306406157L);
+		assertThat(Isbn.normalize("1-86197-271-7")).isEqualTo(9781861972712L);
+	}
+
+	@Test
+	void convertsIsbn10WithCheckX() {
+		assertThat(Isbn.normalize("080442957X")).isEqualTo(9780804429573L);
+		assertThat(Isbn.normalize("0-8044-2957-x")).isEqualTo(9780804429573L);
+	}
+
+	@Test
+	void rejectsTextNotShapedLikeIsbn() {
+		assertThat(Isbn.normalize(null)).isNull();
+		assertThat(Isbn.normalize("")).isNull();
+		assertThat(Isbn.normalize("---")).isNull();
+		assertThat(Isbn.normalize("030640615")).isNull();
+		assertThat(Isbn.normalize("97803064061570")).isNull();
+		assertThat(Isbn.normalize("978030640615X")).isNull();
+		assertThat(Isbn.normalize("0306X40615")).isNull();
+		assertThat(Isbn.normalize("080442957XX")).isNull();
+		assertThat(Isbn.normalize("ISBN 0306406152")).isNull();
+		assertThat(Isbn.normalize("0306406152.")).isNull();
+	}
+}
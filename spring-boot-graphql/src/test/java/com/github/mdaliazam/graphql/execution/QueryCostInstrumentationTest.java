@@ -0,0 +1,150 @@
+package com.github.mdaliazam.graphql.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.FieldWiringEnvironment;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.WiringFactory;
+
+/**
+ * Runs the operations of the application schema whose cost used to go
+ * negative or overflow, with data fetchers recording the fields resolved
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class QueryCostInstrumentationTest {
+
+	private static final String NEGATIVE_FIRST = "{ x: booksConnection(first: -100000000) { edges { node { id } } } "
+			+ "publishersConnection(first: 100) { edges { node { authors { books { title } } } } } }";
+
+	private static final String NESTED_FIRST = "{ publishersConnection(first: 2000000000) { edges { node { "
+			+ "authorsConnection(first: 2000000000) { edges { node { "
+			+ "booksConnection(first: 2000000000) { edges { node { title } } } } } } } } } }";
+
+	private final List<String> fetched = new CopyOnWriteArrayList<>();
+
+	private GraphQLProperties graphQLProperties;
+
+	@BeforeEach
+	void setUp() {
+		graphQLProperties = new GraphQLProperties();
+		graphQLProperties.getCost().getListSizes().put("Publisher.authors", 20);
+	}
+
+	@Test
+	void rejectsNegativeFirstBesideExpensiveField() throws IOException {
+		ExecutionResult result = execute(NEGATIVE_FIRST);
+
+		assertRejected(result);
+		assertThat(cost(result)).isGreaterThan(graphQLProperties.getCost().getMaxCost());
+		assertThat(fetched).isEmpty();
+	}
+
+	@Test
+	void rejectsNestedLargeFirst() throws IOException {
+		ExecutionResult result = execute(NESTED_FIRST);
+
+		assertRejected(result);
+		int max = graphQLProperties.getPagination().getMaxPageSize();
+		assertThat(cost(result)).isGreaterThanOrEqualTo((long) max * max * max);
+		assertThat(fetched).isEmpty();
+	}
+
+	@Test
+	void rejectsOverflowingCostWithoutBudget() throws IOException {
+		graphQLProperties.getCost().setMaxCost(0);
+		graphQLProperties.getCost().setMaxDepth(0);
+		graphQLProperties.getPagination().setMaxPageSize(Integer.MAX_VALUE);
+
+		ExecutionResult result = execute(NESTED_FIRST);
+
+		assertRejected(result);
+		assertThat(cost(result)).isEqualTo(Long.MAX_VALUE);
+		assertThat(fetched).isEmpty();
+	}
+
+	@Test
+	void executesQueryWithinBudget() throws IOException {
+		ExecutionResult result = execute("{ publisherById(id: 1) { books(first: 5) { title } } }");
+
+		assertThat(result.getErrors()).isEmpty();
+		assertThat(fetched).containsExactly("publisherById");
+	}
+
+	@Test
+	void pricesBooksWithoutFirstAsDefaultPage() throws IOException {
+		ExecutionResult result = execute("{ publisherById(id: 1) { books { author { name } } } }");
+
+		int pageSize = graphQLProperties.getPagination().getDefaultPageSize();
+		assertThat(result.getErrors()).isEmpty();
+		assertThat(cost(result.getExtensions())).isEqualTo(2L + pageSize);
+	}
+
+	private ExecutionResult execute(String query) throws IOException {
+		GraphQL graphQL = GraphQL.newGraphQL(schema())
+				.instrumentation(new QueryCostInstrumentation(graphQLProperties)).build();
+		return graphQL.execute(query);
+	}
+
+	private GraphQLSchema schema() throws IOException {
+		DataFetcher<Object> recorder = environment -> {
+			fetched.add(environment.getField().getName());
+			return null;
+		};
+		WiringFactory wiringFactory = new WiringFactory() {
+
+			@Override
+			public boolean providesDataFetcher(FieldWiringEnvironment environment) {
+				return true;
+			}
+
+			@Override
+			public DataFetcher<?> getDataFetcher(FieldWiringEnvironment environment) {
+				return recorder;
+			}
+		};
+		try (Reader schema = new InputStreamReader(getClass().getResourceAsStream("/schema.graphqls"),
+				StandardCharsets.UTF_8)) {
+			return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(schema),
+					RuntimeWiring.newRuntimeWiring().wiringFactory(wiringFactory).build());
+		}
+	}
+
+	private static void assertRejected(ExecutionResult result) {
+		assertThat(result.getErrors()).hasSize(1);
+		GraphQLError error = result.getErrors().get(0);
+		assertThat(error.getExtensions()).containsEntry("code", "QUERY_TOO_EXPENSIVE");
+		assertThat(result.<Object>getData()).isNull();
+	}
+
+	private static long cost(ExecutionResult result) {
+		return cost(result.getErrors().get(0).getExtensions());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static long cost(Map<?, Object> extensions) {
+		Map<String, Object> cost = (Map<String, Object>) extensions.get("cost");
+		return (Long) cost.get("requested");
+	}
+}
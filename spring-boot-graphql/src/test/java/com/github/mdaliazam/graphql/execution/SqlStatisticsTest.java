@@ -0,0 +1,30 @@
+package com.github.mdaliazam.graphql.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reduces statements to the shape under which their repetitions are counted
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class SqlStatisticsTest {
+
+	@Test
+	void collapsesParameterLists() {
+		assertThat(SqlStatistics.shape("/* load */ select b.id from book b\n where b.author_id in (?, ?,?)"))
+				.isEqualTo("select b.id from book b where b.author_id in (?)");
+	}
+
+	@Test
+	void collapsesLongParameterList() {
+		String parameters = String.join(", ", Collections.nCopies(50_000, "?"));
+
+		assertThat(SqlStatistics.shape("select * from book where id in (" + parameters + ")"))
+				.isEqualTo("select * from book where id in (?)");
+	}
+}
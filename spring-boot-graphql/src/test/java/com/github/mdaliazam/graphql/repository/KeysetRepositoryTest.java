@@ -0,0 +1,105 @@
+package com.github.mdaliazam.graphql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.service.dto.KeysetRequest;
+import com.github.mdaliazam.graphql.service.dto.KeysetSlice;
+
+/**
+ * Reads authors slice after slice by the cursors of the previous slices, from
+ * an embedded database, in the order of their ids or of their names
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+@DataJpaTest
+@Import(KeysetRepository.class)
+class KeysetRepositoryTest {
+
+	@Autowired
+	private KeysetRepository keysetRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private final List<Author> authors = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		for (String name : List.of("Brown", "Adams", "Brown", "Clark", "Brown", "Adams")) {
+			authors.add(entityManager.persist(new Author(name)));
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void followsCursorsInOrderOfIds() {
+		List<Long> ids = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		String after = null;
+		KeysetSlice<Author> slice;
+		do {
+			slice = keysetRepository.find(Author.class, new KeysetRequest(4, after, null, false, false));
+			slice.getContent().forEach(author -> ids.add(author.getId()));
+			sizes.add(slice.getContent().size());
+			after = slice.getEndCursor();
+		} while (slice.hasNext());
+
+		assertThat(sizes).containsExactly(4, 2);
+		assertThat(ids).isEqualTo(authors.stream().map(Author::getId).sorted().collect(Collectors.toList()));
+		assertThat(slice.getTotalCount()).isNull();
+	}
+
+	@Test
+	void breaksTiesOfDescendingNamesByIds() {
+		List<Author> read = new ArrayList<>();
+		String after = null;
+		KeysetSlice<Author> slice;
+		do {
+			slice = keysetRepository.find(Author.class, new KeysetRequest(2, after, "name", true, true));
+			read.addAll(slice.getContent());
+			after = slice.getEndCursor();
+			assertThat(slice.getTotalCount()).isEqualTo(6);
+		} while (slice.hasNext());
+
+		assertThat(read).extracting(Author::getName).containsExactly("Clark", "Brown", "Brown", "Brown", "Adams",
+				"Adams");
+		assertThat(read).extracting(Author::getId).containsExactly(authors.get(3).getId(), authors.get(4).getId(),
+				authors.get(2).getId(), authors.get(0).getId(), authors.get(5).getId(), authors.get(1).getId());
+	}
+
+	@Test
+	void rejectsCursorOfAnotherOrder() {
+		String byId = keysetRepository.find(Author.class, new KeysetRequest(1, null, null, false, false))
+				.getEndCursor();
+		String byName = keysetRepository.find(Author.class, new KeysetRequest(1, null, "name", false, false))
+				.getEndCursor();
+
+		assertThatThrownBy(() -> keysetRepository.find(Author.class, new KeysetRequest(1, byId, "name", false, false)))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("name");
+		assertThatThrownBy(() -> keysetRepository.find(Author.class, new KeysetRequest(1, byName, null, false, false)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> keysetRepository.find(Author.class, new KeysetRequest(1, "%%", null, false, false)))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Invalid cursor");
+	}
+
+	@Test
+	void rejectsOrderByPropertyNotString() {
+		assertThatThrownBy(() -> keysetRepository.find(Author.class, new KeysetRequest(1, null, "version", false,
+				false))).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,106 @@
+package com.github.mdaliazam.graphql.resolver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.mdaliazam.graphql.config.CacheProperties;
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Caches the results unless the entities they embed changed while they were
+ * loaded, the changes being published from within the loaders
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class QueryResultCacheTest {
+
+	private static final Set<String> AUTHOR = Set.of("author");
+
+	private final QueryResultCache cache = new QueryResultCache(new CacheProperties(), new SimpleMeterRegistry());
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void cachesResultWhileOtherBookChanges() {
+		Book book = book(1L, 10L);
+
+		get(book, () -> cache.onEntityChanged(EntityChangedEvent.saved(book(2L, 20L))));
+		get(book, null);
+
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void skipsResultWhileItChanges() {
+		Book book = book(1L, 10L);
+
+		get(book, () -> cache.onEntityChanged(EntityChangedEvent.saved(book(1L, 10L))));
+		get(book, null);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void skipsResultWhileEmbeddedAuthorChanges() {
+		Book book = book(1L, 10L);
+
+		get(book, () -> cache.onEntityChanged(EntityChangedEvent.saved(book.getAuthor())));
+		get(book, null);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void dropsResultOnceEmbeddedAuthorChanged() {
+		Book book = book(1L, 10L);
+		get(book, null);
+
+		cache.onEntityChanged(EntityChangedEvent.saved(book.getAuthor()));
+		get(book, null);
+		get(book, null);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void cachesResultsAfterManyChanges() {
+		for (long id = 2; id < 1000; id++) {
+			cache.onEntityChanged(EntityChangedEvent.saved(book(id, id)));
+		}
+		Book book = book(1L, 1L);
+
+		get(book, null);
+		get(book, null);
+
+		assertThat(loads).hasValue(1);
+	}
+
+	private void get(Book book, Runnable whileLoading) {
+		Optional<Book> result = cache.get(Book.class, book.getId(), AUTHOR, () -> {
+			loads.incrementAndGet();
+			if (whileLoading != null) {
+				whileLoading.run();
+			}
+			return Optional.of(book);
+		});
+		assertThat(result).containsSame(book);
+	}
+
+	private static Book book(Long id, Long authorId) {
+		Author author = new Author("author " + authorId);
+		author.setId(authorId);
+		Book book = new Book("title " + id, null).author(author);
+		book.setId(id);
+		return book;
+	}
+}
@@ -0,0 +1,202 @@
+package com.github.mdaliazam.graphql.resolver.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.github.mdaliazam.graphql.config.GraphQLProperties.Subscriptions.Overflow;
+
+/**
+ * Hands the events to recording subscribers as they request them, on an
+ * executor running the tasks when told to
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class BufferedBroadcastTest {
+
+	private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+	private final Executor executor = tasks::add;
+
+	@Test
+	void sendsOnlyRequestedEvents() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(10, Overflow.DROP, executor);
+		Recorder recorder = subscribe(broadcast, event -> true);
+
+		recorder.subscription.request(2);
+		publish(broadcast, 1, 2, 3, 4);
+		runTasks();
+		assertThat(recorder.events).containsExactly(1, 2);
+
+		recorder.subscription.request(5);
+		runTasks();
+		assertThat(recorder.events).containsExactly(1, 2, 3, 4);
+		publish(broadcast, 5, 6, 7, 8);
+		runTasks();
+		assertThat(recorder.events).containsExactly(1, 2, 3, 4, 5, 6, 7);
+		assertThat(broadcast.getDroppedCount()).isZero();
+	}
+
+	@Test
+	void dropsNewestEventsOfFullBuffer() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(2, Overflow.DROP, executor);
+		Recorder recorder = subscribe(broadcast, event -> true);
+
+		publish(broadcast, 1, 2, 3, 4);
+		recorder.subscription.request(10);
+		runTasks();
+
+		assertThat(recorder.events).containsExactly(1, 2);
+		assertThat(broadcast.getDroppedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void dropsOldestEventsOfFullBufferForLatest() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(2, Overflow.LATEST, executor);
+		Recorder recorder = subscribe(broadcast, event -> true);
+
+		publish(broadcast, 1, 2, 3, 4);
+		recorder.subscription.request(10);
+		runTasks();
+
+		assertThat(recorder.events).containsExactly(3, 4);
+		assertThat(broadcast.getDroppedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void buffersEachSubscriberOnItsOwn() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(2, Overflow.DROP, executor);
+		Recorder fast = subscribe(broadcast, event -> true);
+		Recorder even = subscribe(broadcast, event -> event % 2 == 0);
+		fast.subscription.request(Long.MAX_VALUE);
+		fast.subscription.request(Long.MAX_VALUE);
+
+		for (int event = 1; event <= 6; event++) {
+			broadcast.publish(event);
+			runTasks();
+		}
+		even.subscription.request(10);
+		runTasks();
+
+		assertThat(fast.events).containsExactly(1, 2, 3, 4, 5, 6);
+		assertThat(even.events).containsExactly(2, 4);
+		assertThat(broadcast.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void schedulesOneTaskPerSubscriberAtTime() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(10, Overflow.DROP, executor);
+		Recorder recorder = subscribe(broadcast, event -> true);
+
+		recorder.subscription.request(10);
+		publish(broadcast, 1, 2, 3);
+
+		assertThat(tasks).hasSize(1);
+		runTasks();
+		assertThat(recorder.events).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void stopsSendingOnceCancelled() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(10, Overflow.DROP, executor);
+		Recorder recorder = subscribe(broadcast, event -> true);
+		publish(broadcast, 1, 2);
+
+		recorder.subscription.cancel();
+		recorder.subscription.request(10);
+		publish(broadcast, 3);
+		runTasks();
+
+		assertThat(recorder.events).isEmpty();
+		assertThat(broadcast.hasSubscribers()).isFalse();
+	}
+
+	@Test
+	void cancelsOnRequestNotPositive() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(10, Overflow.DROP, executor);
+		Recorder recorder = subscribe(broadcast, event -> true);
+
+		recorder.subscription.request(0);
+
+		assertThat(recorder.error).isInstanceOf(IllegalArgumentException.class);
+		assertThat(broadcast.getSubscriberCount()).isZero();
+	}
+
+	@Test
+	void cancelsSubscriberFailingOnEvent() {
+		BufferedBroadcast<Integer> broadcast = new BufferedBroadcast<>(10, Overflow.DROP, executor);
+		Recorder recorder = subscribe(broadcast, event -> true);
+		recorder.failOn = 2;
+
+		recorder.subscription.request(10);
+		publish(broadcast, 1, 2, 3);
+		runTasks();
+
+		assertThat(recorder.events).containsExactly(1);
+		assertThat(broadcast.hasSubscribers()).isFalse();
+	}
+
+	private static Recorder subscribe(BufferedBroadcast<Integer> broadcast, Predicate<Integer> filter) {
+		Recorder recorder = new Recorder();
+		broadcast.subscribe(filter).subscribe(recorder);
+		return recorder;
+	}
+
+	private static void publish(BufferedBroadcast<Integer> broadcast, Integer... events) {
+		for (Integer event : events) {
+			broadcast.publish(event);
+		}
+	}
+
+	private void runTasks() {
+		for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+			task.run();
+		}
+	}
+
+	/**
+	 * Records the events received, failing on the given one if any
+	 */
+	private static final class Recorder implements Subscriber<Integer> {
+
+		private final List<Integer> events = new ArrayList<>();
+
+		private Subscription subscription;
+
+		private Throwable error;
+
+		private Integer failOn;
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(Integer event) {
+			if (event.equals(failOn)) {
+				throw new IllegalStateException("Failing on " + event);
+			}
+			events.add(event);
+		}
+
+		@Override
+		public void onError(Throwable error) {
+			this.error = error;
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.mdaliazam.graphql.domain.Author;
+import com.github.mdaliazam.graphql.domain.Book;
+import com.github.mdaliazam.graphql.service.AuthorService;
+import com.github.mdaliazam.graphql.service.BookService;
+import com.github.mdaliazam.graphql.service.dto.Suggestion;
+import com.github.mdaliazam.graphql.service.event.EntityChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Completes titles and author names from a catalog built from stubbed
+ * services, then follows the books and authors changed and deleted
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class AutocompleteIndexTest {
+
+	private final Author lee = author(1L, "Ann Lee");
+
+	private final Author bell = author(2L, "Anna Bell");
+
+	private final List<Book> books = List.of(book(1L, "The Wild Harbor", lee), book(2L, "The Wild Harbor", lee),
+			book(3L, "The Wild River", bell));
+
+	private AutocompleteIndex index;
+
+	@BeforeEach
+	void setUp() {
+		BookService bookService = mock(BookService.class);
+		AuthorService authorService = mock(AuthorService.class);
+		when(bookService.forEach(any())).thenAnswer(invocation -> {
+			books.forEach(invocation.<Consumer<Book>>getArgument(0));
+			return (long) books.size();
+		});
+		when(authorService.forEach(any())).thenAnswer(invocation -> {
+			List.of(lee, bell).forEach(invocation.<Consumer<Author>>getArgument(0));
+			return 2L;
+		});
+		index = new AutocompleteIndex(bookService, authorService, new SimpleMeterRegistry());
+		index.rebuild();
+	}
+
+	@Test
+	void ranksTitlesByBooksAndNamesByBooksAndAuthors() {
+		assertThat(index.complete("the wild", 10)).extracting(Suggestion::getText, Suggestion::getPopularity)
+				.containsExactly(tuple("The Wild Harbor", 2), tuple("The Wild River", 1));
+		assertThat(index.complete("ANN", 10)).extracting(Suggestion::getText, Suggestion::getPopularity)
+				.containsExactly(tuple("Ann Lee", 3), tuple("Anna Bell", 2));
+		assertThat(index.complete("ann ", 10)).extracting(Suggestion::getText).containsExactly("Ann Lee");
+		assertThat(index.complete("the wild", 1)).extracting(Suggestion::getText).containsExactly("The Wild Harbor");
+		assertThat(index.complete(" - ", 10)).isEmpty();
+	}
+
+	@Test
+	void followsDeletedAndRetitledBooks() {
+		index.onEntityChanged(EntityChangedEvent.deleted(books.get(0)));
+		index.onEntityChanged(EntityChangedEvent.saved(book(2L, "Ännä's Harbor", lee)));
+
+		assertThat(index.complete("the wild", 10)).extracting(Suggestion::getText).containsExactly("The Wild River");
+		assertThat(index.complete("anna", 10)).extracting(Suggestion::getText, Suggestion::getPopularity)
+				.containsExactly(tuple("Anna Bell", 2), tuple("Ännä's Harbor", 1));
+		assertThat(index.complete("ann lee", 10)).extracting(Suggestion::getPopularity).containsExactly(2);
+	}
+
+	@Test
+	void followsRenamedAndDeletedAuthors() {
+		index.onEntityChanged(EntityChangedEvent.saved(author(1L, "Ada Lee")));
+		index.onEntityChanged(EntityChangedEvent.deleted(bell));
+
+		assertThat(index.complete("an", 10)).isEmpty();
+		assertThat(index.complete("ada", 10)).extracting(Suggestion::getText, Suggestion::getPopularity)
+				.containsExactly(tuple("Ada Lee", 3));
+	}
+
+	@Test
+	void rejectsLimitOutOfRange() {
+		assertThatThrownBy(() -> index.complete("the", 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> index.complete("the", AutocompleteIndex.MAX_LIMIT + 1))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Author author(Long id, String name) {
+		Author author = new Author(name);
+		author.setId(id);
+		return author;
+	}
+
+	private static Book book(Long id, String title, Author author) {
+		Book book = new Book(title, null).author(author);
+		book.setId(id);
+		return book;
+	}
+}
@@ -0,0 +1,129 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Finds the entities containing all the terms, in the order of their keys,
+ * while they are replaced, removed and compacted
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class InvertedIndexTest {
+
+	@Test
+	void intersectsTermsInOrderOfKeys() {
+		InvertedIndex index = new InvertedIndex();
+		index.put(1, Set.of("wild", "harbor"));
+		index.put(2, Set.of("wild", "river"));
+		index.put(3, Set.of("quiet", "harbor"));
+		index.put(4, Set.of("wild", "harbor", "night"));
+
+		assertThat(index.find(Set.of("wild", "harbor"), Long.MIN_VALUE, 10)).containsExactly(1, 4);
+		assertThat(index.find(Set.of("harbor"), Long.MIN_VALUE, 10)).containsExactly(1, 3, 4);
+		assertThat(index.find(Set.of("wild", "missing"), Long.MIN_VALUE, 10)).isEmpty();
+		assertThat(index.find(Set.of(), Long.MIN_VALUE, 10)).isEmpty();
+		assertThat(index.count(Set.of("wild"))).isEqualTo(3);
+	}
+
+	@Test
+	void stopsAfterLimitAboveCursor() {
+		InvertedIndex index = new InvertedIndex();
+		for (long key = 1; key <= 1000; key++) {
+			index.put(key, key % 2 == 0 ? Set.of("even", "book") : Set.of("odd", "book"));
+		}
+
+		assertThat(index.find(Set.of("even", "book"), Long.MIN_VALUE, 3)).containsExactly(2, 4, 6);
+		assertThat(index.find(Set.of("even", "book"), 6, 3)).containsExactly(8, 10, 12);
+		assertThat(index.find(Set.of("odd"), 995, 3)).containsExactly(997, 999);
+		assertThat(index.count(Set.of("even", "book"))).isEqualTo(500);
+	}
+
+	@Test
+	void findsReplacedEntityByItsNewTerms() {
+		InvertedIndex index = new InvertedIndex();
+		index.put(1, Set.of("old", "title"));
+		index.put(2, Set.of("old", "title"));
+		index.put(3, Set.of("old", "title"));
+
+		index.put(2, Set.of("new", "title"));
+		index.remove(3);
+
+		assertThat(index.find(Set.of("old"), Long.MIN_VALUE, 10)).containsExactly(1);
+		assertThat(index.find(Set.of("title"), Long.MIN_VALUE, 10)).containsExactly(1, 2);
+		assertThat(index.find(Set.of("title"), 1, 1)).containsExactly(2);
+		assertThat(index.count(Set.of("title"))).isEqualTo(2);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void keepsFindingAfterCompaction() {
+		InvertedIndex index = new InvertedIndex();
+		for (long key = 1; key <= 3000; key++) {
+			index.put(key, Set.of("book", "k" + key % 7));
+		}
+		// deleting most of the documents, then replacing many, compacts the lists
+		for (long key = 1; key <= 2000; key++) {
+			index.remove(key);
+		}
+		for (long key = 2001; key <= 3000; key += 2) {
+			index.put(key, Set.of("book", "replaced"));
+		}
+
+		assertThat(index.size()).isEqualTo(1000);
+		assertThat(index.count(Set.of("book"))).isEqualTo(1000);
+		assertThat(index.count(Set.of("replaced"))).isEqualTo(500);
+		assertThat(index.find(Set.of("book", "replaced"), 2900, 3)).containsExactly(2901, 2903, 2905);
+		assertThat(index.find(Set.of("k3"), Long.MIN_VALUE, 1000))
+				.containsExactly(LongStream.rangeClosed(2001, 3000).filter(key -> key % 14 == 10).toArray());
+	}
+
+	@Test
+	void agreesWithScanOfTerms() {
+		Random random = new Random(11);
+		InvertedIndex index = new InvertedIndex();
+		Map<Long, Set<String>> expected = new HashMap<>();
+		for (int i = 0; i < 50_000; i++) {
+			long key = 1 + random.nextInt(5_000);
+			if (random.nextInt(4) == 0) {
+				index.remove(key);
+				expected.remove(key);
+			} else {
+				Set<String> terms = Set.of("t" + random.nextInt(3), "u" + random.nextInt(5));
+				index.put(key, terms);
+				expected.put(key, terms);
+			}
+		}
+
+		for (Set<String> terms : List.of(Set.of("t0"), Set.of("t1", "u2"), Set.of("u4", "t2"))) {
+			List<Long> matches = new ArrayList<>();
+			expected.forEach((key, indexed) -> {
+				if (indexed.containsAll(terms)) {
+					matches.add(key);
+				}
+			});
+			matches.sort(null);
+			assertThat(index.count(terms)).isEqualTo(matches.size());
+			List<Long> found = new ArrayList<>();
+			long after = Long.MIN_VALUE;
+			for (long[] page = index.find(terms, after, 37); page.length > 0; page = index.find(terms, after,
+					37)) {
+				for (long key : page) {
+					found.add(key);
+				}
+				after = page[page.length - 1];
+			}
+			assertThat(found).isEqualTo(matches);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Puts, finds and removes keys probed after one another, the removals shifting
+ * back the keys after them
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class LongLongMapTest {
+
+	/**
+	 * Mask of the 16 slots of a new map
+	 */
+	private static final int MASK = 15;
+
+	@Test
+	void findsCollidingKeysAfterRemoval() {
+		LongLongMap map = new LongLongMap();
+		List<Long> keys = keysAtHome(3, 5);
+		keys.forEach(key -> map.put(key, -key));
+
+		map.remove(keys.get(1));
+		map.remove(keys.get(0));
+
+		assertThat(map.size()).isEqualTo(3);
+		assertThat(map.get(keys.get(0), 0)).isZero();
+		assertThat(map.get(keys.get(1), 0)).isZero();
+		for (long key : keys.subList(2, 5)) {
+			assertThat(map.get(key, 0)).isEqualTo(-key);
+		}
+	}
+
+	@Test
+	void shiftsBackKeysWrappingAroundEnd() {
+		LongLongMap map = new LongLongMap();
+		// probed from the last slot over the first ones, where keys of home 0
+		// and 1 follow them
+		List<Long> last = keysAtHome(MASK, 3);
+		List<Long> first = keysAtHome(0, 1);
+		List<Long> second = keysAtHome(1, 1);
+		last.forEach(key -> map.put(key, key));
+		first.forEach(key -> map.put(key, key));
+		second.forEach(key -> map.put(key, key));
+
+		map.remove(last.get(0));
+
+		assertThat(map.get(last.get(0), 0)).isZero();
+		for (long key : List.of(last.get(1), last.get(2), first.get(0), second.get(0))) {
+			assertThat(map.get(key, 0)).isEqualTo(key);
+		}
+		map.remove(first.get(0));
+		assertThat(map.get(second.get(0), 0)).isEqualTo(second.get(0));
+		assertThat(map.size()).isEqualTo(3);
+	}
+
+	@Test
+	void ignoresMissingAndNonPositiveKeys() {
+		LongLongMap map = new LongLongMap();
+		map.put(7, 70);
+
+		map.remove(8);
+		map.remove(0);
+
+		assertThat(map.size()).isEqualTo(1);
+		assertThat(map.get(0, -1)).isEqualTo(-1);
+		assertThat(map.get(-7, -1)).isEqualTo(-1);
+		assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void agreesWithHashMap() {
+		LongLongMap map = new LongLongMap();
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			// few keys, so that the map keeps colliding, growing and emptying
+			long key = 1 + random.nextInt(200);
+			if (random.nextInt(3) == 0) {
+				map.remove(key);
+				expected.remove(key);
+			} else {
+				map.put(key, i);
+				expected.put(key, (long) i);
+			}
+		}
+
+		assertThat(map.size()).isEqualTo(expected.size());
+		for (long key = 1; key <= 200; key++) {
+			assertThat(map.get(key, -1)).isEqualTo(expected.getOrDefault(key, -1L));
+		}
+	}
+
+	private static List<Long> keysAtHome(int home, int count) {
+		List<Long> keys = new ArrayList<>();
+		for (long key = 1; keys.size() < count; key++) {
+			if (LongLongMap.home(key, MASK) == home) {
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+}
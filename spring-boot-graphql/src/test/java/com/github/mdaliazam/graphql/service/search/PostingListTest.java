@@ -0,0 +1,84 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Encodes the gaps between the documents on one to five bytes, and advances
+ * over them through the skip entries
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class PostingListTest {
+
+	@Test
+	void decodesGapsOfEveryLength() {
+		int[] documents = { 0, 1, 127, 128, 16_511, 16_512, 2_113_663, 2_113_664, Integer.MAX_VALUE - 1 };
+		PostingList list = new PostingList();
+		for (int document : documents) {
+			list.add(document);
+		}
+
+		assertThat(list.size()).isEqualTo(documents.length);
+		assertThat(list.toArray()).containsExactly(documents);
+	}
+
+	@Test
+	void rejectsDocumentsOutOfOrder() {
+		PostingList list = new PostingList();
+		list.add(5);
+
+		assertThatThrownBy(() -> list.add(5)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> list.add(3)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void advancesToFirstDocumentNotBefore() {
+		PostingList list = new PostingList();
+		for (int document = 0; document < 10_000; document += 3) {
+			list.add(document);
+		}
+		PostingList.Cursor cursor = list.cursor();
+
+		assertThat(cursor.advance(0)).isZero();
+		assertThat(cursor.advance(1)).isEqualTo(3);
+		assertThat(cursor.advance(3)).isEqualTo(3);
+		assertThat(cursor.advance(5_000)).isEqualTo(5_001);
+		assertThat(cursor.next()).isEqualTo(5_004);
+		assertThat(cursor.advance(9_999)).isEqualTo(9_999);
+		assertThat(cursor.advance(10_000)).isEqualTo(Integer.MAX_VALUE);
+		assertThat(cursor.next()).isEqualTo(Integer.MAX_VALUE);
+	}
+
+	@Test
+	void advancesLikeLinearScan() {
+		Random random = new Random(7);
+		PostingList list = new PostingList();
+		int last = -1;
+		for (int i = 0; i < 5_000; i++) {
+			last += 1 + random.nextInt(random.nextBoolean() ? 3 : 50_000);
+			list.add(last);
+		}
+		int[] documents = list.toArray();
+		list.trim();
+		PostingList.Cursor cursor = list.cursor();
+		int target = 0;
+		int index = 0;
+		while (index < documents.length) {
+			while (documents[index] < target) {
+				index++;
+			}
+			assertThat(cursor.advance(target)).isEqualTo(documents[index]);
+			target = documents[index] + 1 + random.nextInt(random.nextBoolean() ? 10 : 1_000_000);
+			while (index < documents.length && documents[index] < target) {
+				index++;
+			}
+		}
+		assertThat(cursor.advance(target)).isEqualTo(Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,88 @@
+package com.github.mdaliazam.graphql.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.mdaliazam.graphql.service.dto.Suggestion;
+
+/**
+ * Ranks the keys starting with a prefix by weight, while edges are split by
+ * the keys added and merged back as they are removed
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class SuggestionTrieTest {
+
+	private final SuggestionTrie trie = new SuggestionTrie(Suggestion.Kind.BOOK_TITLE);
+
+	@Test
+	void returnsHeaviestKeysFirst() {
+		trie.add("the wild harbor", "The Wild Harbor", 3);
+		trie.add("the wild", "The Wild", 1);
+		trie.add("the quiet kingdom", "The Quiet Kingdom", 5);
+		trie.add("the wild river", "The Wild River", 4);
+		trie.add("a wild harbor", "A Wild Harbor", 9);
+
+		assertThat(trie.top("the", 3)).extracting(Suggestion::getText).containsExactly("The Quiet Kingdom",
+				"The Wild River", "The Wild Harbor");
+		assertThat(trie.top("the wi", 10)).extracting(Suggestion::getPopularity).containsExactly(4, 3, 1);
+		assertThat(trie.top("", 1)).extracting(Suggestion::getText).containsExactly("A Wild Harbor");
+		assertThat(trie.top("the wild harbor", 10)).extracting(Suggestion::getText)
+				.containsExactly("The Wild Harbor");
+	}
+
+	@Test
+	void findsPrefixEndingMidEdge() {
+		trie.add("wild harbor", "Wild Harbor", 1);
+
+		assertThat(trie.top("wild h", 10)).hasSize(1);
+		assertThat(trie.top("wild x", 10)).isEmpty();
+		assertThat(trie.top("wild harbors", 10)).isEmpty();
+		assertThat(trie.top("x", 10)).isEmpty();
+	}
+
+	@Test
+	void keepsFirstTextOfKey() {
+		assertThat(trie.add("wild harbor", "Wild Harbor", 1)).isEqualTo("Wild Harbor");
+		assertThat(trie.add("wild harbor", "WILD HARBOR", 1)).isEqualTo("Wild Harbor");
+
+		assertThat(trie.size()).isEqualTo(1);
+		assertThat(trie.top("wild", 10)).extracting(Suggestion::getPopularity).containsExactly(2);
+	}
+
+	@Test
+	void removesKeyOnceWeightIsGone() {
+		trie.add("harbor", "Harbor", 2);
+
+		assertThat(trie.add("harbor", "Harbor", -1)).isEqualTo("Harbor");
+		assertThat(trie.add("harbor", "Harbor", -1)).isNull();
+		assertThat(trie.add("harbor", "Harbor", -1)).isNull();
+		assertThat(trie.add("unknown", "Unknown", -1)).isNull();
+
+		assertThat(trie.size()).isZero();
+		assertThat(trie.nodes()).isEqualTo(1);
+		assertThat(trie.top("", 10)).isEmpty();
+	}
+
+	@Test
+	void mergesEdgesBackAfterRemoval() {
+		trie.add("harbor", "Harbor", 1);
+		trie.add("hare", "Hare", 2);
+		int nodes = trie.nodes();
+		long memory = trie.memory();
+
+		trie.add("harbour", "Harbour", 5);
+		assertThat(trie.top("harb", 10)).extracting(Suggestion::getText).containsExactly("Harbour", "Harbor");
+		trie.add("harbour", "Harbour", -5);
+
+		assertThat(trie.nodes()).isEqualTo(nodes);
+		assertThat(trie.memory()).isEqualTo(memory);
+		assertThat(trie.top("har", 10)).extracting(Suggestion::getText).containsExactly("Hare", "Harbor");
+		// the best weight below the shared edge drops with the heaviest key
+		trie.add("hare", "Hare", -2);
+		assertThat(trie.top("ha", 10)).extracting(Suggestion::getText).containsExactly("Harbor");
+		assertThat(trie.nodes()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,115 @@
+package com.github.mdaliazam.graphql.web.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.mdaliazam.graphql.config.LimiterProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Moves the limit with the latency, the failures and the connections waited
+ * for of the requests released
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class AdaptiveLimiterTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AtomicInteger pending = new AtomicInteger();
+
+	private final LimiterProperties limiterProperties = new LimiterProperties();
+
+	@Test
+	void rejectsRequestsOverLimit() {
+		limiterProperties.setMinLimit(1);
+		limiterProperties.setInitialLimit(2);
+		AdaptiveLimiter limiter = limiter();
+
+		assertThat(limiter.tryAcquire()).isEqualTo(1);
+		assertThat(limiter.tryAcquire()).isEqualTo(2);
+		assertThat(limiter.tryAcquire()).isZero();
+		assertThat(limiter.getInflight()).isEqualTo(2);
+		assertThat(meterRegistry.get("limiter.requests").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void growsWhileLatencyStaysLow() {
+		AdaptiveLimiter limiter = limiter();
+
+		releaseFull(limiter, FAST, 20);
+
+		assertThat(limiter.getLimit()).isGreaterThan(20);
+	}
+
+	@Test
+	void keepsLimitWhileMostlyUnused() {
+		AdaptiveLimiter limiter = limiter();
+
+		for (int i = 0; i < 20; i++) {
+			limiter.release(limiter.tryAcquire(), FAST, false);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void shrinksWhenLatencyRises() {
+		AdaptiveLimiter limiter = limiter();
+		releaseFull(limiter, FAST, 20);
+		double warmed = limiter.getLimit();
+
+		releaseFull(limiter, SLOW, 40);
+
+		assertThat(limiter.getLimit()).isLessThan(warmed);
+	}
+
+	@Test
+	void shrinksWhileConnectionsAreWaitedFor() {
+		AdaptiveLimiter limiter = limiter();
+		pending.set(3);
+
+		releaseFull(limiter, FAST, 20);
+
+		assertThat(limiter.getLimit()).isLessThan(20);
+	}
+
+	@Test
+	void shrinksOnFailuresDownToMinimum() {
+		AdaptiveLimiter limiter = limiter();
+
+		for (int i = 0; i < 200; i++) {
+			limiter.release(limiter.tryAcquire(), FAST, true);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(limiterProperties.getMinLimit());
+	}
+
+	private AdaptiveLimiter limiter() {
+		Gauge.builder("hikaricp.connections.pending", pending, AtomicInteger::get).tag("pool", "test")
+				.register(meterRegistry);
+		return new AdaptiveLimiter(limiterProperties, meterRegistry);
+	}
+
+	/**
+	 * Releases requests taking the given time, each as if the limit was reached
+	 */
+	private static void releaseFull(AdaptiveLimiter limiter, long latency, int requests) {
+		for (int i = 0; i < requests; i++) {
+			limiter.tryAcquire();
+			limiter.release((int) limiter.getLimit(), latency, false);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.github.mdaliazam.graphql.web.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.github.mdaliazam.graphql.config.LimiterProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Lets the requests within the limit through, and rejects the others
+ *
+ * @author <a href="mailto:softx.it@gmail.com">Mohammad Ali Azam</a>
+ *
+ */
+class ConcurrencyLimitFilterTest {
+
+	private final LimiterProperties limiterProperties = new LimiterProperties();
+
+	private AdaptiveLimiter limiter;
+
+	private ConcurrencyLimitFilter filter;
+
+	@Test
+	void rejectsRequestOverLimitWithRetryAfter() throws Exception {
+		limit(1);
+		limiter.tryAcquire();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("POST", "/graphql"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void passesRequestWithinLimitAndReleasesIt() throws Exception {
+		limit(1);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("POST", "/graphql"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(limiter.getInflight()).isZero();
+	}
+
+	@Test
+	void passesExcludedPathOverLimit() throws Exception {
+		limit(1);
+		limiter.tryAcquire();
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/books/import");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(chain.getRequest()).isSameAs(request);
+	}
+
+	@Test
+	void backsOffOnServerError() throws Exception {
+		limit(20);
+		FilterChain failing = (request, response) -> ((HttpServletResponse) response)
+				.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+
+		filter.doFilter(new MockHttpServletRequest("POST", "/graphql"), new MockHttpServletResponse(), failing);
+
+		assertThat(limiter.getLimit()).isLessThan(20);
+		assertThat(limiter.getInflight()).isZero();
+	}
+
+	private void limit(int limit) {
+		limiterProperties.setMinLimit(1);
+		limiterProperties.setInitialLimit(limit);
+		limiterProperties.setRetryAfter(Duration.ofSeconds(5));
+		limiterProperties.setExcludedPaths(List.of("/api/*/import"));
+		limiter = new AdaptiveLimiter(limiterProperties, new SimpleMeterRegistry());
+		filter = new ConcurrencyLimitFilter(limiter, limiterProperties);
+	}
+}